@@ -19,6 +19,9 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.6.0")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     runtimeOnly("com.h2database:h2")
     testCompileOnly("org.projectlombok:lombok:1.18.34")
     testAnnotationProcessor("org.projectlombok:lombok:1.18.34")
@@ -32,3 +35,12 @@ dependencies {
 tasks.test {
     useJUnitPlatform()
 }
+
+// ./gradlew :backend:bootRun -PvirtualThreads runs the virtual-threads profile on a Java 21 runtime;
+// the code itself still compiles for Java 17.
+if (project.hasProperty("virtualThreads")) {
+    tasks.named<org.springframework.boot.gradle.tasks.run.BootRun>("bootRun") {
+        javaLauncher.set(javaToolchains.launcherFor { languageVersion.set(JavaLanguageVersion.of(21)) })
+        systemProperty("spring.profiles.active", "virtual-threads")
+    }
+}
@@ -2,8 +2,10 @@ package com.gic.cinemas.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CinemaApplication {
   public static void main(String[] args) {
     SpringApplication.run(CinemaApplication.class, args);
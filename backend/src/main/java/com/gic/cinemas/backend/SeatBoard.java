@@ -0,0 +1,118 @@
+package com.gic.cinemas.backend;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Seat occupancy for one seating config that many threads update at once: the {@link SeatMap} row
+ * masks held in an {@link AtomicLongArray}. Every change is a compare-and-set on one row, so claims
+ * on different rows never wait for each other and claims on the same row retry instead of blocking.
+ * There is no lock, and no multi-row atomicity: a {@link #snapshot} may show one row of a
+ * concurrent change but not the next.
+ */
+public final class SeatBoard {
+
+  private final int rowCount;
+  private final int seatsPerRow;
+  private final AtomicLongArray rows;
+
+  private SeatBoard(int rowCount, int seatsPerRow, AtomicLongArray rows) {
+    this.rowCount = rowCount;
+    this.seatsPerRow = seatsPerRow;
+    this.rows = rows;
+  }
+
+  /** A board starting from the seats taken in {@code seatMap}. */
+  public static SeatBoard of(SeatMap seatMap) {
+    long[] masks = new long[seatMap.rowCount()];
+    for (int r = 0; r < masks.length; r++) {
+      masks[r] = seatMap.row(r);
+    }
+    return new SeatBoard(seatMap.rowCount(), seatMap.seatsPerRow(), new AtomicLongArray(masks));
+  }
+
+  public int rowCount() {
+    return rowCount;
+  }
+
+  public int seatsPerRow() {
+    return seatsPerRow;
+  }
+
+  public long row(int row) {
+    return rows.get(row);
+  }
+
+  /** Takes the seats in {@code claimed} if {@code row} still reads {@code expected}. */
+  public boolean claimRow(int row, long expected, long claimed) {
+    return rows.compareAndSet(row, expected, expected | claimed);
+  }
+
+  /** Frees the seats in {@code released}; they must be held by the caller. */
+  public void releaseRow(int row, long released) {
+    rows.getAndUpdate(row, mask -> mask & ~released);
+  }
+
+  /**
+   * Takes every seat in {@code seats}, or none of them if any is already taken.
+   *
+   * @return whether the seats were taken
+   */
+  public boolean tryClaim(SeatMap seats) {
+    for (int r = 0; r < rowCount; r++) {
+      long wanted = seats.row(r);
+      if (wanted == 0) continue;
+      long mask;
+      do {
+        mask = rows.get(r);
+        if ((mask & wanted) != 0) {
+          release(seats, r);
+          return false;
+        }
+      } while (!rows.compareAndSet(r, mask, mask | wanted));
+    }
+    return true;
+  }
+
+  /** Frees every seat in {@code seats}. */
+  public void release(SeatMap seats) {
+    release(seats, rowCount);
+  }
+
+  /**
+   * Applies a committed change: frees {@code released}, then takes {@code claimed}, atomically per
+   * row so a seat that is in both is never seen free.
+   */
+  public void apply(SeatMap released, SeatMap claimed) {
+    for (int r = 0; r < rowCount; r++) {
+      long free = released.row(r);
+      long take = claimed.row(r);
+      if (free != 0 || take != 0) {
+        rows.getAndUpdate(r, mask -> (mask & ~free) | take);
+      }
+    }
+  }
+
+  public int freeCount() {
+    int taken = 0;
+    for (int r = 0; r < rowCount; r++) {
+      taken += Long.bitCount(rows.get(r));
+    }
+    return rowCount * seatsPerRow - taken;
+  }
+
+  /** A private copy, read row by row. */
+  public SeatMap snapshot() {
+    long[] masks = new long[rowCount];
+    for (int r = 0; r < rowCount; r++) {
+      masks[r] = rows.get(r);
+    }
+    return SeatMap.of(rowCount, seatsPerRow, masks);
+  }
+
+  /** Frees the seats of {@code seats} in the rows before {@code endRow}. */
+  private void release(SeatMap seats, int endRow) {
+    for (int r = 0; r < endRow; r++) {
+      if (seats.row(r) != 0) releaseRow(r, seats.row(r));
+    }
+  }
+}
@@ -0,0 +1,192 @@
+package com.gic.cinemas.backend;
+
+import com.gic.cinemas.common.dto.SeatBitmapCodec;
+import com.gic.cinemas.common.dto.SeatDto;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Seat occupancy for one seating config, stored as one {@code long} bitmask per row. Bit {@code c}
+ * of row {@code r} is seat {@code c + 1} of row {@code toRowLabel(r)}.
+ *
+ * <p>Individual seats are addressed by a packed seat index ({@code row << 6 | col}) so the
+ * allocator can work on plain {@code int}s; {@link SeatDto}s are only created at the API boundary.
+ */
+public final class SeatMap {
+
+  /** A row must fit in a single {@code long}. */
+  public static final int MAX_SEATS_PER_ROW = Long.SIZE;
+
+  private static final int COL_BITS = 6;
+  private static final int COL_MASK = (1 << COL_BITS) - 1;
+
+  private final int rowCount;
+  private final int seatsPerRow;
+  private final long[] rows;
+
+  public SeatMap(int rowCount, int seatsPerRow) {
+    this(rowCount, seatsPerRow, new long[rowCount]);
+  }
+
+  private SeatMap(int rowCount, int seatsPerRow, long[] rows) {
+    if (seatsPerRow > MAX_SEATS_PER_ROW) {
+      throw new IllegalArgumentException("seatsPerRow must not exceed " + MAX_SEATS_PER_ROW);
+    }
+    this.rowCount = rowCount;
+    this.seatsPerRow = seatsPerRow;
+    this.rows = rows;
+  }
+
+  /** Wraps a copy of the given row masks. */
+  public static SeatMap of(int rowCount, int seatsPerRow, long[] rows) {
+    return new SeatMap(rowCount, seatsPerRow, Arrays.copyOf(rows, rowCount));
+  }
+
+  // ---------------------------------------
+  // Packed seat index
+  // ---------------------------------------
+
+  public static int seatIndex(int row, int col) {
+    return (row << COL_BITS) | col;
+  }
+
+  public static int rowOf(int seatIndex) {
+    return seatIndex >>> COL_BITS;
+  }
+
+  public static int colOf(int seatIndex) {
+    return seatIndex & COL_MASK;
+  }
+
+  // ---------------------------------------
+  // Accessors
+  // ---------------------------------------
+
+  public int rowCount() {
+    return rowCount;
+  }
+
+  public int seatsPerRow() {
+    return seatsPerRow;
+  }
+
+  public long row(int row) {
+    return rows[row];
+  }
+
+  public void setRow(int row, long mask) {
+    rows[row] = mask;
+  }
+
+  /** Mask with one bit set for every seat that exists in a row. */
+  public long fullRowMask() {
+    return seatsPerRow == Long.SIZE ? -1L : (1L << seatsPerRow) - 1;
+  }
+
+  public boolean isTaken(int row, int col) {
+    return (rows[row] & (1L << col)) != 0;
+  }
+
+  public void take(int row, int col) {
+    rows[row] |= 1L << col;
+  }
+
+  public void release(int row, int col) {
+    rows[row] &= ~(1L << col);
+  }
+
+  public void take(int seatIndex) {
+    take(rowOf(seatIndex), colOf(seatIndex));
+  }
+
+  public void take(SeatDto seat) {
+    take(SeatMapBuilder.toRowIndex(seat.rowLabel(), rowCount), seat.seatNumber() - 1);
+  }
+
+  /** Marks every seat taken in {@code other} as taken here. */
+  public void takeAll(SeatMap other) {
+    for (int r = 0; r < rowCount; r++) {
+      rows[r] |= other.rows[r];
+    }
+  }
+
+  /** Marks every seat taken in {@code other} as free here. */
+  public void releaseAll(SeatMap other) {
+    for (int r = 0; r < rowCount; r++) {
+      rows[r] &= ~other.rows[r];
+    }
+  }
+
+  public int takenCount() {
+    int taken = 0;
+    for (long row : rows) {
+      taken += Long.bitCount(row);
+    }
+    return taken;
+  }
+
+  public int freeCount() {
+    return rowCount * seatsPerRow - takenCount();
+  }
+
+  public boolean isEmpty() {
+    for (long row : rows) {
+      if (row != 0) return false;
+    }
+    return true;
+  }
+
+  public SeatMap copy() {
+    return new SeatMap(rowCount, seatsPerRow, rows.clone());
+  }
+
+  // ---------------------------------------
+  // API boundary
+  // ---------------------------------------
+
+  /** Taken seats as DTOs, row A first and left to right within a row. */
+  public List<SeatDto> toSeatDtos() {
+    List<SeatDto> seats = new ArrayList<>(takenCount());
+    for (int r = 0; r < rowCount; r++) {
+      String rowLabel = SeatMapBuilder.toRowLabel(r, rowCount);
+      for (long mask = rows[r]; mask != 0; mask &= mask - 1) {
+        seats.add(new SeatDto(rowLabel, Long.numberOfTrailingZeros(mask) + 1));
+      }
+    }
+    return seats;
+  }
+
+  /** Taken seats in the compact {@link SeatBitmapCodec} wire format. */
+  public String toBitmap() {
+    return SeatBitmapCodec.encode(rows);
+  }
+
+  /** Converts the first {@code count} packed seat indices to DTOs. */
+  public static List<SeatDto> toSeatDtos(int[] seatIndices, int count, int rowCount) {
+    List<SeatDto> seats = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int seat = seatIndices[i];
+      seats.add(new SeatDto(SeatMapBuilder.toRowLabel(rowOf(seat), rowCount), colOf(seat) + 1));
+    }
+    return seats;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof SeatMap other
+        && rowCount == other.rowCount
+        && seatsPerRow == other.seatsPerRow
+        && Arrays.equals(rows, other.rows);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * rowCount + seatsPerRow) + Arrays.hashCode(rows);
+  }
+
+  @Override
+  public String toString() {
+    return "SeatMap" + toSeatDtos();
+  }
+}
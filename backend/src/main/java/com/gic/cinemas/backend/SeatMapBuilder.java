@@ -2,20 +2,23 @@ package com.gic.cinemas.backend;
 
 import com.gic.cinemas.backend.exception.InvalidStartSeatException;
 import com.gic.cinemas.common.dto.SeatDto;
-import java.util.BitSet;
 import java.util.List;
 
 public class SeatMapBuilder {
 
-  public static BitSet[] buildSeatMap(int rowCount, int seatsPerRow, List<SeatDto> bookedSeats) {
-    BitSet[] seatMap = new BitSet[rowCount];
-    for (int r = 0; r < rowCount; r++) {
-      seatMap[r] = new BitSet(seatsPerRow);
+  // Row labels are interned once so hot paths never build a new String per seat.
+  private static final String[] ROW_LABELS = new String[26];
+
+  static {
+    for (int r = 0; r < ROW_LABELS.length; r++) {
+      ROW_LABELS[r] = String.valueOf((char) ('A' + r));
     }
+  }
+
+  public static SeatMap buildSeatMap(int rowCount, int seatsPerRow, List<SeatDto> bookedSeats) {
+    SeatMap seatMap = new SeatMap(rowCount, seatsPerRow);
     for (SeatDto seat : bookedSeats) {
-      int rowIndex = toRowIndex(seat.rowLabel(), rowCount);
-      int colIndex = seat.seatNumber();
-      seatMap[rowIndex].set(colIndex - 1);
+      seatMap.take(seat);
     }
 
     return seatMap;
@@ -39,6 +42,8 @@ public class SeatMapBuilder {
     if (rowIndex < 0 || rowIndex >= rowCount) {
       throw new IllegalArgumentException("Row index out of bounds: " + rowIndex);
     }
-    return String.valueOf((char) ('A' + rowIndex));
+    return rowIndex < ROW_LABELS.length
+        ? ROW_LABELS[rowIndex]
+        : String.valueOf((char) ('A' + rowIndex));
   }
 }
@@ -1,53 +1,188 @@
 package com.gic.cinemas.backend.controller;
 
+import com.gic.cinemas.backend.service.BatchReservation;
 import com.gic.cinemas.backend.service.BookingService;
+import com.gic.cinemas.backend.service.IdempotencyStore;
+import com.gic.cinemas.backend.service.SeatingConfigVersions;
+import com.gic.cinemas.common.dto.SeatFormat;
 import com.gic.cinemas.common.dto.request.ChangeSeatsRequest;
+import com.gic.cinemas.common.dto.request.ReserveSeatsBatchRequest;
 import com.gic.cinemas.common.dto.request.ReserveSeatsRequest;
+import com.gic.cinemas.common.dto.response.BatchReservationResult;
+import com.gic.cinemas.common.dto.response.BookingCancelledResponse;
 import com.gic.cinemas.common.dto.response.BookingConfirmedResponse;
 import com.gic.cinemas.common.dto.response.CheckBookingResponse;
+import com.gic.cinemas.common.dto.response.ReserveSeatsBatchResponse;
 import com.gic.cinemas.common.dto.response.ReservedSeatsResponse;
+import jakarta.validation.Valid;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/booking")
 public class BookingController {
 
   private final BookingService service;
+  private final SeatingConfigVersions seatingConfigVersions;
+  private final IdempotencyStore idempotencyStore;
 
-  public BookingController(BookingService service) {
+  public BookingController(
+      BookingService service,
+      SeatingConfigVersions seatingConfigVersions,
+      IdempotencyStore idempotencyStore) {
     this.service = service;
+    this.seatingConfigVersions = seatingConfigVersions;
+    this.idempotencyStore = idempotencyStore;
   }
 
+  // Write endpoints accept an Idempotency-Key header: a retry with the same key and request
+  // replays the first response instead of booking again.
+
   @PostMapping("/reserve")
   public ResponseEntity<ReservedSeatsResponse> reserveDefault(
-      @RequestBody ReserveSeatsRequest request) {
-    ReservedSeatsResponse response =
-        service.reserveSeats(
-            request.movieTitle(),
-            request.rowCount(),
-            request.seatsPerRow(),
-            request.numberOfTickets());
-    return ResponseEntity.ok(response);
+      @RequestBody ReserveSeatsRequest request,
+      @RequestParam(name = SeatFormat.PARAMETER, required = false) String seatFormat,
+      @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+      @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+    SeatFormat format = resolveSeatFormat(seatFormat, accept);
+    return replayable(
+        idempotencyStore.execute(
+            "reserve",
+            idempotencyKey,
+            List.of(request, format),
+            () ->
+                service.reserveSeats(
+                    request.movieTitle(),
+                    request.rowCount(),
+                    request.seatsPerRow(),
+                    request.numberOfTickets(),
+                    format)));
+  }
+
+  /** Reserves for several parties in one request; failures are reported per item. */
+  @PostMapping("/reserve-batch")
+  public ResponseEntity<ReserveSeatsBatchResponse> reserveBatch(
+      @Valid @RequestBody ReserveSeatsBatchRequest request,
+      @RequestParam(name = SeatFormat.PARAMETER, required = false) String seatFormat,
+      @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+      @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+    SeatFormat format = resolveSeatFormat(seatFormat, accept);
+    return replayable(
+        idempotencyStore.execute(
+            "reserve-batch",
+            idempotencyKey,
+            List.of(request, format),
+            () -> toBatchResponse(service.reserveSeatsBatch(request.reservations(), format))));
   }
 
   @PostMapping("/change-booking")
   public ResponseEntity<ReservedSeatsResponse> changeBooking(
-      @RequestBody ChangeSeatsRequest request) {
-    ReservedSeatsResponse response =
-        service.changeBooking(request.bookingId(), request.startSeat());
-    return ResponseEntity.ok(response);
+      @RequestBody ChangeSeatsRequest request,
+      @RequestParam(name = SeatFormat.PARAMETER, required = false) String seatFormat,
+      @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+      @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+    SeatFormat format = resolveSeatFormat(seatFormat, accept);
+    return replayable(
+        idempotencyStore.execute(
+            "change-booking",
+            idempotencyKey,
+            List.of(request, format),
+            () -> service.changeBooking(request.bookingId(), request.startSeat(), format)));
   }
 
   @PostMapping("/confirm/{bookingId}")
-  public ResponseEntity<BookingConfirmedResponse> confirmBooking(@PathVariable String bookingId) {
-    BookingConfirmedResponse response = service.confirmBooking(bookingId);
-    return ResponseEntity.ok(response);
+  public ResponseEntity<BookingConfirmedResponse> confirmBooking(
+      @PathVariable String bookingId,
+      @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+    return replayable(
+        idempotencyStore.execute(
+            "confirm", idempotencyKey, bookingId, () -> service.confirmBooking(bookingId)));
   }
 
+  /** Drops a hold or a confirmed booking and releases its seats immediately. */
+  @PostMapping("/cancel/{bookingId}")
+  public ResponseEntity<BookingCancelledResponse> cancelBooking(
+      @PathVariable String bookingId,
+      @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+    return replayable(
+        idempotencyStore.execute(
+            "cancel", idempotencyKey, bookingId, () -> service.cancelBooking(bookingId)));
+  }
+
+  /**
+   * Conditional GET: the ETag is the version of the booking's seating config, so a matching {@code
+   * If-None-Match} is answered 304 before the seat query runs.
+   */
   @GetMapping("/check/{bookingId}")
-  public ResponseEntity<CheckBookingResponse> checkBookings(@PathVariable String bookingId) {
-    CheckBookingResponse response = service.checkBookings(bookingId);
-    return ResponseEntity.ok(response);
+  public ResponseEntity<CheckBookingResponse> checkBookings(
+      @PathVariable String bookingId,
+      @RequestParam(name = SeatFormat.PARAMETER, required = false) String seatFormat,
+      @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+      WebRequest webRequest) {
+    SeatFormat format = resolveSeatFormat(seatFormat, accept);
+    String etag =
+        service
+            .findSeatingConfigId(bookingId)
+            .map(seatingConfigId -> seatingConfigVersions.etag(seatingConfigId, format.value()))
+            .orElse(null);
+    if (etag != null && webRequest.checkNotModified(etag)) {
+      return null;
+    }
+
+    CheckBookingResponse response = service.checkBookings(bookingId, format);
+    return ResponseEntity.ok()
+        .eTag(etag)
+        .cacheControl(CacheControl.noCache())
+        .varyBy(HttpHeaders.ACCEPT)
+        .body(response);
+  }
+
+  private static ReserveSeatsBatchResponse toBatchResponse(List<BatchReservation> outcomes) {
+    List<BatchReservationResult> results = new ArrayList<>(outcomes.size());
+    for (int i = 0; i < outcomes.size(); i++) {
+      BatchReservation outcome = outcomes.get(i);
+      results.add(
+          new BatchReservationResult(
+              i,
+              outcome.reservation(),
+              outcome.failure() != null
+                  ? GlobalExceptionHandler.toErrorResponse(outcome.failure())
+                  : null));
+    }
+    return new ReserveSeatsBatchResponse(results);
+  }
+
+  private static <T> ResponseEntity<T> replayable(IdempotencyStore.Result<T> result) {
+    ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+    if (result.replayed()) ok.header(IdempotencyStore.REPLAYED_HEADER, "true");
+    return ok.body(result.response());
+  }
+
+  /**
+   * The {@code seatFormat} query parameter wins over a {@code seat-format} parameter on the {@code
+   * Accept} header; anything unrecognised falls back to the list format.
+   */
+  private static SeatFormat resolveSeatFormat(String seatFormatParam, String accept) {
+    SeatFormat seatFormat = SeatFormat.fromValue(seatFormatParam);
+    if (seatFormat != null) return seatFormat;
+    if (accept != null) {
+      try {
+        for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+          seatFormat =
+              SeatFormat.fromValue(mediaType.getParameter(SeatFormat.MEDIA_TYPE_PARAMETER));
+          if (seatFormat != null) return seatFormat;
+        }
+      } catch (InvalidMediaTypeException e) {
+        // content negotiation reports a malformed Accept header on its own
+      }
+    }
+    return SeatFormat.LIST;
   }
 }
@@ -1,11 +1,16 @@
 package com.gic.cinemas.backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gic.cinemas.backend.exception.BookingExpiredException;
 import com.gic.cinemas.backend.exception.BookingNotFoundException;
+import com.gic.cinemas.backend.exception.BookingNotPendingException;
+import com.gic.cinemas.backend.exception.IdempotencyKeyReusedException;
 import com.gic.cinemas.backend.exception.InvalidStartSeatException;
 import com.gic.cinemas.backend.exception.NoAvailableSeatsException;
 import com.gic.cinemas.backend.exception.SeatJustTakenException;
+import com.gic.cinemas.backend.exception.SeatingConfigBusyException;
 import com.gic.cinemas.common.dto.response.ErrorResponse;
+import java.util.Map;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -20,37 +25,67 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
   private final ObjectMapper mapper = new ObjectMapper();
 
+  /** The status and error title each domain exception is reported with. */
+  record ErrorMapping(HttpStatus status, String error) {}
+
+  private static final ErrorMapping INTERNAL_ERROR =
+      new ErrorMapping(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error");
+
+  static final Map<Class<? extends RuntimeException>, ErrorMapping> ERRORS =
+      Map.of(
+          NoAvailableSeatsException.class,
+          new ErrorMapping(HttpStatus.BAD_REQUEST, "No Available Seats"),
+          SeatJustTakenException.class,
+          new ErrorMapping(HttpStatus.CONFLICT, "Seat Just Taken"),
+          SeatingConfigBusyException.class,
+          new ErrorMapping(HttpStatus.SERVICE_UNAVAILABLE, "Seating Config Busy"),
+          BookingNotFoundException.class,
+          new ErrorMapping(HttpStatus.NOT_FOUND, "Booking Not Found"),
+          BookingNotPendingException.class,
+          new ErrorMapping(HttpStatus.CONFLICT, "Booking Not Pending"),
+          BookingExpiredException.class,
+          new ErrorMapping(HttpStatus.CONFLICT, "Booking Expired"),
+          InvalidStartSeatException.class,
+          new ErrorMapping(HttpStatus.BAD_REQUEST, "Invalid Start Seat"),
+          IdempotencyKeyReusedException.class,
+          new ErrorMapping(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency Key Reused"));
+
   // ---------------------------------------
   // Exception handlers
   // ---------------------------------------
 
-  @ExceptionHandler(NoAvailableSeatsException.class)
-  public ResponseEntity<String> handleNoAvailableSeats(
-      NoAvailableSeatsException e, WebRequest request) {
-    return buildJsonResponse(HttpStatus.BAD_REQUEST, "No Available Seats", e.getMessage());
+  @ExceptionHandler({
+    NoAvailableSeatsException.class,
+    SeatJustTakenException.class,
+    SeatingConfigBusyException.class,
+    BookingNotFoundException.class,
+    BookingNotPendingException.class,
+    BookingExpiredException.class,
+    InvalidStartSeatException.class,
+    IdempotencyKeyReusedException.class
+  })
+  public ResponseEntity<String> handleDomainException(RuntimeException e, WebRequest request) {
+    ErrorMapping mapping = resolve(e);
+    return buildJsonResponse(mapping.status(), mapping.error(), e.getMessage());
   }
 
-  @ExceptionHandler(SeatJustTakenException.class)
-  public ResponseEntity<String> handleSeatJustTaken(SeatJustTakenException e, WebRequest request) {
-    return buildJsonResponse(HttpStatus.CONFLICT, "Seat Just Taken", e.getMessage());
-  }
+  // ---------------------------------------
+  // Utility
+  // ---------------------------------------
 
-  @ExceptionHandler(BookingNotFoundException.class)
-  public ResponseEntity<String> handleBookingNotFound(
-      BookingNotFoundException e, WebRequest request) {
-    return buildJsonResponse(HttpStatus.NOT_FOUND, "Booking Not Found", e.getMessage());
+  /**
+   * The error body the handler above sends for {@code e}, for endpoints that report failures per
+   * item instead of failing the whole request.
+   */
+  static ErrorResponse toErrorResponse(RuntimeException e) {
+    ErrorMapping mapping = resolve(e);
+    return new ErrorResponse(mapping.status().value(), mapping.error(), e.getMessage());
   }
 
-  @ExceptionHandler(InvalidStartSeatException.class)
-  public ResponseEntity<String> handleInvalidStartSeat(
-      InvalidStartSeatException e, WebRequest request) {
-    return buildJsonResponse(HttpStatus.BAD_REQUEST, "Invalid Start Seat", e.getMessage());
+  private static ErrorMapping resolve(RuntimeException e) {
+    return ERRORS.getOrDefault(e.getClass(), INTERNAL_ERROR);
   }
 
-  // ---------------------------------------
-  // Utility
-  // ---------------------------------------
-
   /**
    * Forces JSON response serialization by returning a raw JSON string body. This bypasses Jackson’s
    * ambiguity between Object vs record serialization under certain slices.
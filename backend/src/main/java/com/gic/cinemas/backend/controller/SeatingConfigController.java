@@ -1,21 +1,34 @@
 package com.gic.cinemas.backend.controller;
 
+import com.gic.cinemas.backend.service.SeatAvailabilityStream;
 import com.gic.cinemas.backend.service.SeatingConfigService;
+import com.gic.cinemas.backend.service.SeatingConfigVersions;
 import com.gic.cinemas.common.dto.request.SeatingConfigRequest;
 import com.gic.cinemas.common.dto.response.SeatingAvailabilityResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/seating-config")
 public class SeatingConfigController {
 
   private final SeatingConfigService seatingConfigService;
+  private final SeatAvailabilityStream seatAvailabilityStream;
+  private final SeatingConfigVersions seatingConfigVersions;
 
-  public SeatingConfigController(SeatingConfigService seatingConfigService) {
+  public SeatingConfigController(
+      SeatingConfigService seatingConfigService,
+      SeatAvailabilityStream seatAvailabilityStream,
+      SeatingConfigVersions seatingConfigVersions) {
     this.seatingConfigService = seatingConfigService;
+    this.seatAvailabilityStream = seatAvailabilityStream;
+    this.seatingConfigVersions = seatingConfigVersions;
   }
 
   @PostMapping
@@ -27,11 +40,34 @@ public class SeatingConfigController {
     return ResponseEntity.status(HttpStatus.OK).body(responseBody);
   }
 
+  /** Conditional GET: a matching {@code If-None-Match} is answered 304 before the count is read. */
   @GetMapping
   public ResponseEntity<SeatingAvailabilityResponse> getSeatingAvailability(
-      @RequestParam String movieTitle, @RequestParam int rowCount, @RequestParam int seatsPerRow) {
+      @RequestParam String movieTitle,
+      @RequestParam int rowCount,
+      @RequestParam int seatsPerRow,
+      WebRequest webRequest) {
+    String etag =
+        seatingConfigService
+            .findSeatingConfigId(movieTitle, rowCount, seatsPerRow)
+            .map(seatingConfigId -> seatingConfigVersions.etag(seatingConfigId, null))
+            .orElse(null);
+    if (etag != null && webRequest.checkNotModified(etag)) {
+      return null;
+    }
+
     SeatingAvailabilityResponse responseBody =
         seatingConfigService.getSeatingAvailability(movieTitle, rowCount, seatsPerRow);
-    return ResponseEntity.status(HttpStatus.OK).body(responseBody);
+    return ResponseEntity.status(HttpStatus.OK)
+        .eTag(etag)
+        .cacheControl(CacheControl.noCache())
+        .body(responseBody);
+  }
+
+  /** Server-Sent Events: the current availability, then a delta whenever bookings commit. */
+  @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamSeatingAvailability(
+      @RequestParam String movieTitle, @RequestParam int rowCount, @RequestParam int seatsPerRow) {
+    return seatAvailabilityStream.subscribe(movieTitle, rowCount, seatsPerRow);
   }
 }
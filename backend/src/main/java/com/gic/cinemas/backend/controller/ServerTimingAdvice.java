@@ -0,0 +1,39 @@
+package com.gic.cinemas.backend.controller;
+
+import com.gic.cinemas.backend.service.PhaseTimings;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the request's phase timings as a {@code Server-Timing} header just before the body is
+ * written. Requests without a collector (see {@link ServerTimingFilter}) are left alone.
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+  @Override
+  public boolean supports(
+      MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(
+      Object body,
+      MethodParameter returnType,
+      MediaType selectedContentType,
+      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request,
+      ServerHttpResponse response) {
+    PhaseTimings timings = PhaseTimings.current();
+    if (timings.isEnabled()) {
+      response.getHeaders().set(PhaseTimings.HEADER, timings.toServerTiming());
+    }
+    return body;
+  }
+}
@@ -0,0 +1,58 @@
+package com.gic.cinemas.backend.controller;
+
+import com.gic.cinemas.backend.service.PhaseTimings;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Binds a {@link PhaseTimings} collector to each booking API request and logs the requests that
+ * take longer than {@code cinemas.booking.timing.slow-threshold}, with their phase breakdown. The
+ * {@code Server-Timing} header itself is written by {@link ServerTimingAdvice}, before the body
+ * commits the response.
+ */
+@Slf4j
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+  private final long slowThresholdNanos;
+
+  public ServerTimingFilter(
+      @Value("${cinemas.booking.timing.slow-threshold:250ms}") Duration slowThreshold) {
+    this.slowThresholdNanos = slowThreshold.toNanos();
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !request.getServletPath().startsWith("/api/booking");
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    PhaseTimings timings = PhaseTimings.begin();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      PhaseTimings.end();
+      long elapsed = timings.elapsedNanos();
+      if (elapsed >= slowThresholdNanos) {
+        log.warn(
+            "Slow request method={} uri={} status={} totalMs={} {}",
+            request.getMethod(),
+            request.getRequestURI(),
+            response.getStatus(),
+            Duration.ofNanos(elapsed).toMillis(),
+            timings.toLogString());
+      }
+    }
+  }
+}
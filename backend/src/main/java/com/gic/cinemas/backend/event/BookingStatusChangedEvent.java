@@ -0,0 +1,10 @@
+package com.gic.cinemas.backend.event;
+
+import com.gic.cinemas.common.dto.BookingStatus;
+
+/**
+ * Published inside a booking transaction when a booking changes status without its seats changing
+ * (a confirmation, for example). Seat changes are covered by {@link SeatOccupancyChangedEvent}.
+ */
+public record BookingStatusChangedEvent(
+    long seatingConfigId, String bookingId, BookingStatus status) {}
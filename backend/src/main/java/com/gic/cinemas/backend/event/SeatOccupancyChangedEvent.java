@@ -0,0 +1,23 @@
+package com.gic.cinemas.backend.event;
+
+import com.gic.cinemas.backend.SeatMap;
+
+/**
+ * Published inside a booking transaction whenever seats of a seating config are claimed or
+ * released. Listeners that mirror committed state should react after commit.
+ *
+ * @param released seats freed by the transaction, applied before {@code claimed}
+ * @param claimed seats taken by the transaction
+ */
+public record SeatOccupancyChangedEvent(long seatingConfigId, SeatMap released, SeatMap claimed) {
+
+  public static SeatOccupancyChangedEvent claimed(long seatingConfigId, SeatMap claimed) {
+    return new SeatOccupancyChangedEvent(
+        seatingConfigId, new SeatMap(claimed.rowCount(), claimed.seatsPerRow()), claimed);
+  }
+
+  public static SeatOccupancyChangedEvent released(long seatingConfigId, SeatMap released) {
+    return new SeatOccupancyChangedEvent(
+        seatingConfigId, released, new SeatMap(released.rowCount(), released.seatsPerRow()));
+  }
+}
@@ -0,0 +1,9 @@
+package com.gic.cinemas.backend.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+  public IdempotencyKeyReusedException(String idempotencyKey) {
+    super(
+        "Idempotency-Key '%s' was already used for a different request.".formatted(idempotencyKey));
+  }
+}
@@ -0,0 +1,8 @@
+package com.gic.cinemas.backend.exception;
+
+public class SeatingConfigBusyException extends RuntimeException {
+
+  public SeatingConfigBusyException(Throwable cause) {
+    super("This show is very busy right now. Please try again in a moment.", cause);
+  }
+}
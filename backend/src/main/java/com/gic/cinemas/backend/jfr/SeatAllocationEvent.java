@@ -0,0 +1,40 @@
+package com.gic.cinemas.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One run of the seat allocator; its duration is the time spent planning seats. */
+@Name("com.gic.cinemas.SeatAllocation")
+@Label("Seat Allocation")
+@Category({"GIC Cinemas", "Booking"})
+@Description("Seats planned on a seat map by the SeatAllocator")
+@StackTrace(false)
+public class SeatAllocationEvent extends Event {
+
+  /** Seating config id, or 0 when the caller did not say. */
+  @Label("Seating Config Id")
+  public long seatingConfigId;
+
+  @Label("Strategy")
+  @Description("default (center-out from row A) or from-start-seat")
+  public String strategy;
+
+  @Label("Tickets")
+  public int tickets;
+
+  @Label("Rows Scanned")
+  public int rowsScanned;
+
+  @Label("Row Retries")
+  @Description(
+      "Rows planned again because a concurrent claim changed them (seat board claims only)")
+  public int rowRetries;
+
+  @Label("Seats Allocated")
+  @Description("Equal to tickets on success, 0 when the allocation failed")
+  public int seatsAllocated;
+}
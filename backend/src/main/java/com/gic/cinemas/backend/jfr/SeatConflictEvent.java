@@ -0,0 +1,26 @@
+package com.gic.cinemas.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** A seat claim that lost the race for one of its seats; the claim is retried or answered 409. */
+@Name("com.gic.cinemas.SeatConflict")
+@Label("Seat Conflict")
+@Category({"GIC Cinemas", "Booking"})
+@Description("Seat claim rejected because another booking took a seat first")
+@StackTrace(false)
+public class SeatConflictEvent extends Event {
+
+  @Label("Seating Config Id")
+  public long seatingConfigId;
+
+  @Label("Booking Id")
+  public String bookingId;
+
+  @Label("Seats Requested")
+  public int seats;
+}
@@ -0,0 +1,31 @@
+package com.gic.cinemas.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Writing a booking's claimed seats to the seat store, flush included. */
+@Name("com.gic.cinemas.SeatFlush")
+@Label("Seat Flush")
+@Category({"GIC Cinemas", "Booking"})
+@Description("Seat claim of one booking written and flushed to the database")
+@StackTrace(false)
+public class SeatFlushEvent extends Event {
+
+  @Label("Seating Config Id")
+  public long seatingConfigId;
+
+  @Label("Booking Id")
+  public String bookingId;
+
+  @Label("Seats Claimed")
+  @Description("Seats newly taken by the write; a change does not count the seats it keeps")
+  public int inserts;
+
+  @Label("Claimed")
+  @Description("False when another booking held one of the seats first")
+  public boolean claimed;
+}
@@ -16,7 +16,11 @@ import lombok.Setter;
 public class BookedSeatEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booked_seat_seq")
+  @SequenceGenerator(
+      name = "booked_seat_seq",
+      sequenceName = "booked_seat_seq",
+      allocationSize = 50)
   private Long id;
 
   @ManyToOne(optional = false, fetch = FetchType.LAZY)
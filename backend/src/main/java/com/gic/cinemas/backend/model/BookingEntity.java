@@ -15,7 +15,8 @@ import lombok.Setter;
 public class BookingEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+  @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false, unique = true, length = 16)
@@ -0,0 +1,44 @@
+package com.gic.cinemas.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Seats one booking holds in one row, as a bitmask. Used by the {@code row-mask} seat storage
+ * layout to know which bits of {@link SeatRowMaskEntity} belong to a booking.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(
+    name = "booking_row_mask",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"booking_id", "row_index"}))
+public class BookingRowMaskEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_row_mask_seq")
+  @SequenceGenerator(
+      name = "booking_row_mask_seq",
+      sequenceName = "booking_row_mask_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @ManyToOne(optional = false, fetch = FetchType.LAZY)
+  @JoinColumn(name = "booking_id", nullable = false)
+  private BookingEntity booking;
+
+  @Column(name = "row_index", nullable = false)
+  private int rowIndex;
+
+  @Column(nullable = false)
+  private long mask;
+
+  public BookingRowMaskEntity(BookingEntity booking, int rowIndex, long mask) {
+    this.booking = booking;
+    this.rowIndex = rowIndex;
+    this.mask = mask;
+  }
+}
@@ -0,0 +1,44 @@
+package com.gic.cinemas.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Occupancy of one row of a seating config as a bitmask: bit {@code c} set means seat {@code c + 1}
+ * is held. Used by the {@code row-mask} seat storage layout.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(
+    name = "seat_row_mask",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"seating_config_id", "row_index"}))
+public class SeatRowMaskEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seat_row_mask_seq")
+  @SequenceGenerator(
+      name = "seat_row_mask_seq",
+      sequenceName = "seat_row_mask_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @ManyToOne(optional = false, fetch = FetchType.LAZY)
+  @JoinColumn(name = "seating_config_id", nullable = false)
+  private SeatingConfigEntity seatingConfig;
+
+  @Column(name = "row_index", nullable = false)
+  private int rowIndex;
+
+  @Column(nullable = false)
+  private long mask;
+
+  public SeatRowMaskEntity(SeatingConfigEntity seatingConfig, int rowIndex, long mask) {
+    this.seatingConfig = seatingConfig;
+    this.rowIndex = rowIndex;
+    this.mask = mask;
+  }
+}
@@ -14,7 +14,11 @@ import lombok.*;
 public class SeatingConfigEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seating_config_seq")
+  @SequenceGenerator(
+      name = "seating_config_seq",
+      sequenceName = "seating_config_seq",
+      allocationSize = 50)
   private Long id;
 
   @Column(name = "movie_title", nullable = false)
@@ -26,9 +30,17 @@ public class SeatingConfigEntity {
   @Column(name = "seats_per_row", nullable = false)
   private int seatsPerRow;
 
+  /**
+   * Seats not held by any booking. Maintained with bulk updates in the same transaction as each
+   * claim or release, so read it with a query rather than from a possibly stale managed entity.
+   */
+  @Column(name = "available_seats", nullable = false)
+  private long availableSeats;
+
   public SeatingConfigEntity(String movieTitle, int rowCount, int seatsPerRow) {
     this.movieTitle = movieTitle;
     this.rowCount = rowCount;
     this.seatsPerRow = seatsPerRow;
+    this.availableSeats = (long) rowCount * seatsPerRow;
   }
 }
@@ -1,28 +1,15 @@
 package com.gic.cinemas.backend.repository;
 
 import com.gic.cinemas.backend.model.BookedSeatEntity;
-import com.gic.cinemas.common.dto.BookingStatus;
 import com.gic.cinemas.common.dto.SeatDto;
 import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.transaction.annotation.Transactional;
 
 public interface BookedSeatRepository extends JpaRepository<BookedSeatEntity, Long> {
 
-  @Query(
-      """
-    SELECT (sc.rowCount * sc.seatsPerRow) - COUNT(bs)
-    FROM SeatingConfigEntity sc
-    LEFT JOIN BookedSeatEntity bs
-      ON bs.seatingConfig.id = sc.id
-    WHERE sc.id = :seatingConfigId
-    GROUP BY sc.rowCount, sc.seatsPerRow
-  """)
-  Optional<Long> countAvailableSeatsByConfigId(Long seatingConfigId);
-
   @Query(
       """
   select new com.gic.cinemas.common.dto.SeatDto(bs.rowLabel, bs.seatNumber)
@@ -35,19 +22,40 @@ public interface BookedSeatRepository extends JpaRepository<BookedSeatEntity, Lo
 """)
   List<SeatDto> findBookedSeats(Long seatConfigId);
 
-  // Seats taken for a config by PENDING or CONFIRMED bookings
-  List<SeatDto> findBySeatingConfigIdAndBookingStatusIn(
-      Long seatingConfigId, Collection<BookingStatus> statuses);
+  @Query(
+      """
+  select new com.gic.cinemas.common.dto.SeatDto(bs.rowLabel, bs.seatNumber)
+  from BookedSeatEntity bs
+  where bs.booking.id = :bookingId
+""")
+  List<SeatDto> findSeatsByBookingId(Long bookingId);
 
-  // Same as above, but exclude a specific booking (for changeBooking on existing booking)
-  List<SeatDto> findBySeatingConfigIdAndBookingIdNotAndBookingStatusIn(
-      Long seatingConfigId, Long bookingId, Collection<BookingStatus> statuses);
+  @Query(
+      """
+  select new com.gic.cinemas.common.dto.SeatDto(bs.rowLabel, bs.seatNumber)
+  from BookedSeatEntity bs
+  where bs.booking.id in :bookingIds
+""")
+  List<SeatDto> findSeatsByBookingIds(Collection<Long> bookingIds);
+
+  @Modifying(flushAutomatically = true)
+  @Query("delete from BookedSeatEntity bs where bs.booking.id in :bookingIds")
+  int deleteAllByBookingIds(Collection<Long> bookingIds);
+
+  @Query(
+      """
+  select new com.gic.cinemas.backend.repository.SeatOwnerRow(
+      bs.rowLabel, bs.seatNumber, b.bookingId, b.status)
+  from BookedSeatEntity bs
+  join bs.booking b
+  where bs.seatingConfig.id = :seatingConfigId
+""")
+  List<SeatOwnerRow> findSeatOwners(Long seatingConfigId);
+
+  long countBySeatingConfig_Id(Long seatingConfigId);
 
   // Count how many seats belong to a booking using its public string ID
   int countByBooking_BookingId(String bookingId);
 
-  @Transactional
-  void deleteAllByBooking_BookingId(String bookingId);
-
-  List<BookedSeatEntity> findAllByBooking_SeatingConfig_Id(Long seatingConfigId);
+  List<BookedSeatEntity> findAllByBooking_Id(Long bookingId);
 }
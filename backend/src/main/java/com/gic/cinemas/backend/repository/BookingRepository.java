@@ -1,14 +1,122 @@
 package com.gic.cinemas.backend.repository;
 
 import com.gic.cinemas.backend.model.BookingEntity;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 public interface BookingRepository extends JpaRepository<BookingEntity, Long> {
 
-  @Query("SELECT COALESCE(MAX(b.id), 0) FROM BookingEntity b")
-  Long findMaxId();
+  /** Reserves the next block of booking code numbers; see {@code BookingIdAllocator}. */
+  @Query(value = "SELECT NEXT VALUE FOR booking_code_seq", nativeQuery = true)
+  long nextBookingCodeBlock();
 
   Optional<BookingEntity> findByBookingId(String bookingId);
+
+  @Query(
+      """
+  select new com.gic.cinemas.backend.repository.BookingSummary(
+      b.bookingId, b.status, sc.id, sc.rowCount, sc.seatsPerRow)
+  from BookingEntity b
+  join b.seatingConfig sc
+  where b.bookingId = :bookingId
+""")
+  Optional<BookingSummary> findSummaryByBookingId(String bookingId);
+
+  @Query("select b.seatingConfig.id from BookingEntity b where b.bookingId = :bookingId")
+  Optional<Long> findSeatingConfigIdByBookingId(String bookingId);
+
+  @Query(
+      """
+  select distinct b.seatingConfig.id
+  from BookingEntity b
+  where b.status = com.gic.cinemas.common.dto.BookingStatus.PENDING
+    and b.reservedUntil < :now
+""")
+  List<Long> findSeatingConfigIdsWithExpiredHolds(LocalDateTime now);
+
+  /**
+   * Locks the expired holds it returns ({@code select ... for update}), so nothing confirms,
+   * changes or cancels them before the reaper's transaction ends.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+      """
+  select b.id
+  from BookingEntity b
+  where b.seatingConfig.id = :seatingConfigId
+    and b.status = com.gic.cinemas.common.dto.BookingStatus.PENDING
+    and b.reservedUntil < :now
+  order by b.id
+""")
+  List<Long> findExpiredHoldIds(Long seatingConfigId, LocalDateTime now, Limit limit);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      """
+  update BookingEntity b
+  set b.status = com.gic.cinemas.common.dto.BookingStatus.EXPIRED
+  where b.id in :bookingIds
+    and b.status = com.gic.cinemas.common.dto.BookingStatus.PENDING
+    and b.reservedUntil < :now
+""")
+  int markExpired(Collection<Long> bookingIds, LocalDateTime now);
+
+  @Query(
+      """
+  select b.id
+  from BookingEntity b
+  where b.id in :bookingIds
+    and b.status = com.gic.cinemas.common.dto.BookingStatus.EXPIRED
+""")
+  List<Long> findExpiredIds(Collection<Long> bookingIds);
+
+  /**
+   * Rolls a live PENDING hold forward to {@code reservedUntil}; 0 if the booking has meanwhile been
+   * confirmed, cancelled or expired, so such a status is never written back over.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      """
+  update BookingEntity b
+  set b.reservedUntil = :reservedUntil
+  where b.id = :id
+    and b.status = com.gic.cinemas.common.dto.BookingStatus.PENDING
+    and b.reservedUntil >= :now
+""")
+  int extendHold(Long id, LocalDateTime now, LocalDateTime reservedUntil);
+
+  /**
+   * Confirms a live PENDING hold; 0 if it has meanwhile been cancelled, expired or confirmed, so a
+   * confirm never writes over a status another transaction committed first.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      """
+  update BookingEntity b
+  set b.status = com.gic.cinemas.common.dto.BookingStatus.CONFIRMED
+  where b.id = :id
+    and b.status = com.gic.cinemas.common.dto.BookingStatus.PENDING
+    and b.reservedUntil >= :now
+""")
+  int markConfirmed(Long id, LocalDateTime now);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      """
+  update BookingEntity b
+  set b.status = com.gic.cinemas.common.dto.BookingStatus.CANCELLED
+  where b.id = :id
+    and b.status in (
+        com.gic.cinemas.common.dto.BookingStatus.PENDING,
+        com.gic.cinemas.common.dto.BookingStatus.CONFIRMED)
+""")
+  int markCancelled(Long id);
 }
@@ -0,0 +1,7 @@
+package com.gic.cinemas.backend.repository;
+
+import com.gic.cinemas.common.dto.BookingStatus;
+
+/** One (booking, row) mask with its owning booking, read as plain values. */
+public record BookingRowMaskOwnerRow(
+    int rowIndex, long mask, String bookingId, BookingStatus status) {}
@@ -0,0 +1,43 @@
+package com.gic.cinemas.backend.repository;
+
+import com.gic.cinemas.backend.model.BookingRowMaskEntity;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface BookingRowMaskRepository extends JpaRepository<BookingRowMaskEntity, Long> {
+
+  @Query(
+      """
+  select new com.gic.cinemas.backend.repository.RowMask(m.rowIndex, m.mask)
+  from BookingRowMaskEntity m
+  where m.booking.id = :bookingId
+""")
+  List<RowMask> findMasksByBookingId(Long bookingId);
+
+  List<BookingRowMaskEntity> findAllByBooking_Id(Long bookingId);
+
+  @Query(
+      """
+  select new com.gic.cinemas.backend.repository.RowMask(m.rowIndex, m.mask)
+  from BookingRowMaskEntity m
+  where m.booking.id in :bookingIds
+""")
+  List<RowMask> findMasksByBookingIds(Collection<Long> bookingIds);
+
+  @Query(
+      """
+  select new com.gic.cinemas.backend.repository.BookingRowMaskOwnerRow(
+      m.rowIndex, m.mask, b.bookingId, b.status)
+  from BookingRowMaskEntity m
+  join m.booking b
+  where b.seatingConfig.id = :seatingConfigId
+""")
+  List<BookingRowMaskOwnerRow> findMaskOwners(Long seatingConfigId);
+
+  @Modifying(flushAutomatically = true)
+  @Query("delete from BookingRowMaskEntity m where m.booking.id in :bookingIds")
+  int deleteAllByBookingIds(Collection<Long> bookingIds);
+}
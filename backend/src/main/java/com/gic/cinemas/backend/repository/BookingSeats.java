@@ -0,0 +1,7 @@
+package com.gic.cinemas.backend.repository;
+
+import com.gic.cinemas.backend.SeatMap;
+import com.gic.cinemas.common.dto.BookingStatus;
+
+/** Seats one booking holds in a seating config, with the booking's public id and status. */
+public record BookingSeats(String bookingId, BookingStatus status, SeatMap seats) {}
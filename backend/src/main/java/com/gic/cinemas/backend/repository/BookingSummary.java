@@ -0,0 +1,7 @@
+package com.gic.cinemas.backend.repository;
+
+import com.gic.cinemas.common.dto.BookingStatus;
+
+/** A booking with the layout of its seating config, read as plain values. */
+public record BookingSummary(
+    String bookingId, BookingStatus status, long seatingConfigId, int rowCount, int seatsPerRow) {}
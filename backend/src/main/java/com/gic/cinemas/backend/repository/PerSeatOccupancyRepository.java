@@ -0,0 +1,139 @@
+package com.gic.cinemas.backend.repository;
+
+import com.gic.cinemas.backend.SeatMap;
+import com.gic.cinemas.backend.SeatMapBuilder;
+import com.gic.cinemas.backend.model.BookedSeatEntity;
+import com.gic.cinemas.backend.model.BookingEntity;
+import com.gic.cinemas.backend.model.SeatingConfigEntity;
+import com.gic.cinemas.common.dto.SeatDto;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+
+/** {@link SeatOccupancyRepository} over {@code booked_seat}, one row per held seat. */
+@Repository
+@ConditionalOnProperty(
+    name = "cinemas.seat-storage",
+    havingValue = "per-seat",
+    matchIfMissing = true)
+@RequiredArgsConstructor
+public class PerSeatOccupancyRepository implements SeatOccupancyRepository {
+
+  private final BookedSeatRepository bookedSeatRepository;
+
+  @Override
+  public SeatMap findTakenSeats(long seatingConfigId, int rowCount, int seatsPerRow) {
+    return SeatMapBuilder.buildSeatMap(
+        rowCount, seatsPerRow, bookedSeatRepository.findBookedSeats(seatingConfigId));
+  }
+
+  @Override
+  public SeatMap findBookingSeats(BookingEntity booking) {
+    SeatingConfigEntity seatingConfig = booking.getSeatingConfig();
+    return SeatMapBuilder.buildSeatMap(
+        seatingConfig.getRowCount(),
+        seatingConfig.getSeatsPerRow(),
+        bookedSeatRepository.findSeatsByBookingId(booking.getId()));
+  }
+
+  @Override
+  public List<BookingSeats> findSeatsByBooking(
+      long seatingConfigId, int rowCount, int seatsPerRow) {
+    Map<String, BookingSeats> byBooking = new LinkedHashMap<>();
+    for (SeatOwnerRow seat : bookedSeatRepository.findSeatOwners(seatingConfigId)) {
+      byBooking
+          .computeIfAbsent(
+              seat.bookingId(),
+              bookingId ->
+                  new BookingSeats(bookingId, seat.status(), new SeatMap(rowCount, seatsPerRow)))
+          .seats()
+          .take(SeatMapBuilder.toRowIndex(seat.rowLabel(), rowCount), seat.seatNumber() - 1);
+    }
+    return new ArrayList<>(byBooking.values());
+  }
+
+  @Override
+  public long countTakenSeats(long seatingConfigId) {
+    return bookedSeatRepository.countBySeatingConfig_Id(seatingConfigId);
+  }
+
+  @Override
+  public boolean claimSeats(BookingEntity booking, SeatMap seats) {
+    List<SeatDto> seatDtos = seats.toSeatDtos();
+    List<BookedSeatEntity> bookedSeats = new ArrayList<>(seatDtos.size());
+    for (SeatDto seat : seatDtos) {
+      bookedSeats.add(
+          new BookedSeatEntity(
+              booking, booking.getSeatingConfig(), seat.rowLabel(), seat.seatNumber()));
+    }
+
+    // ids come from the pooled sequence, so the whole reservation flushes as one batch
+    try {
+      bookedSeatRepository.saveAll(bookedSeats);
+      bookedSeatRepository.flush();
+      return true;
+    } catch (DataIntegrityViolationException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Rows of dropped seats are re-pointed at added seats (UPDATE); only a surplus is deleted or
+   * inserted. Everything goes out in one flush, batched per statement type.
+   */
+  @Override
+  public boolean moveSeats(BookingEntity booking, SeatMap from, SeatMap to) {
+    SeatMap dropped = from.copy();
+    dropped.releaseAll(to);
+    SeatMap added = to.copy();
+    added.releaseAll(from);
+    if (dropped.isEmpty() && added.isEmpty()) return true;
+
+    List<BookedSeatEntity> freed = new ArrayList<>();
+    if (!dropped.isEmpty()) {
+      for (BookedSeatEntity seat : bookedSeatRepository.findAllByBooking_Id(booking.getId())) {
+        int row = SeatMapBuilder.toRowIndex(seat.getRowLabel(), from.rowCount());
+        if (dropped.isTaken(row, seat.getSeatNumber() - 1)) freed.add(seat);
+      }
+    }
+
+    List<BookedSeatEntity> inserted = new ArrayList<>();
+    int moved = 0;
+    for (SeatDto seat : added.toSeatDtos()) {
+      if (moved < freed.size()) {
+        BookedSeatEntity reused = freed.get(moved++);
+        reused.setRowLabel(seat.rowLabel());
+        reused.setSeatNumber(seat.seatNumber());
+      } else {
+        inserted.add(
+            new BookedSeatEntity(
+                booking, booking.getSeatingConfig(), seat.rowLabel(), seat.seatNumber()));
+      }
+    }
+
+    try {
+      bookedSeatRepository.saveAll(inserted);
+      bookedSeatRepository.deleteAll(freed.subList(moved, freed.size()));
+      bookedSeatRepository.flush();
+      return true;
+    } catch (DataIntegrityViolationException e) {
+      return false;
+    }
+  }
+
+  @Override
+  public SeatMap releaseAllSeats(
+      long seatingConfigId, int rowCount, int seatsPerRow, Collection<Long> bookingIds) {
+    SeatMap released =
+        SeatMapBuilder.buildSeatMap(
+            rowCount, seatsPerRow, bookedSeatRepository.findSeatsByBookingIds(bookingIds));
+    bookedSeatRepository.deleteAllByBookingIds(bookingIds);
+    return released;
+  }
+}
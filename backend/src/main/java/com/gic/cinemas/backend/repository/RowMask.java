@@ -0,0 +1,7 @@
+package com.gic.cinemas.backend.repository;
+
+/**
+ * One row of a row-mask table read as plain values. Masks are changed by native UPDATEs, so they
+ * are read as scalars rather than through entities that may be stale in the persistence context.
+ */
+public record RowMask(int rowIndex, long mask) {}
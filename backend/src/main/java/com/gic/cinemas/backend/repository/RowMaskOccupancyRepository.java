@@ -0,0 +1,170 @@
+package com.gic.cinemas.backend.repository;
+
+import com.gic.cinemas.backend.SeatMap;
+import com.gic.cinemas.backend.model.BookingEntity;
+import com.gic.cinemas.backend.model.BookingRowMaskEntity;
+import com.gic.cinemas.backend.model.SeatRowMaskEntity;
+import com.gic.cinemas.backend.model.SeatingConfigEntity;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link SeatOccupancyRepository} over {@code seat_row_mask} and {@code booking_row_mask}: at most
+ * one small row per hall row for loading and claiming. Each claimed row is a compare-and-set UPDATE
+ * that only succeeds if none of its bits are held; a config row is inserted on its first claim, and
+ * the unique (config, row) constraint settles a race between two first claims.
+ */
+@Repository
+@ConditionalOnProperty(name = "cinemas.seat-storage", havingValue = "row-mask")
+@RequiredArgsConstructor
+public class RowMaskOccupancyRepository implements SeatOccupancyRepository {
+
+  private final SeatRowMaskRepository seatRowMaskRepository;
+  private final BookingRowMaskRepository bookingRowMaskRepository;
+
+  @Override
+  public SeatMap findTakenSeats(long seatingConfigId, int rowCount, int seatsPerRow) {
+    SeatMap taken = new SeatMap(rowCount, seatsPerRow);
+    for (RowMask row : seatRowMaskRepository.findMasksBySeatingConfigId(seatingConfigId)) {
+      taken.setRow(row.rowIndex(), row.mask());
+    }
+    return taken;
+  }
+
+  @Override
+  public SeatMap findBookingSeats(BookingEntity booking) {
+    SeatingConfigEntity seatingConfig = booking.getSeatingConfig();
+    SeatMap seats = new SeatMap(seatingConfig.getRowCount(), seatingConfig.getSeatsPerRow());
+    for (RowMask row : bookingRowMaskRepository.findMasksByBookingId(booking.getId())) {
+      seats.setRow(row.rowIndex(), row.mask());
+    }
+    return seats;
+  }
+
+  @Override
+  public List<BookingSeats> findSeatsByBooking(
+      long seatingConfigId, int rowCount, int seatsPerRow) {
+    Map<String, BookingSeats> byBooking = new LinkedHashMap<>();
+    for (BookingRowMaskOwnerRow row : bookingRowMaskRepository.findMaskOwners(seatingConfigId)) {
+      SeatMap seats =
+          byBooking
+              .computeIfAbsent(
+                  row.bookingId(),
+                  bookingId ->
+                      new BookingSeats(bookingId, row.status(), new SeatMap(rowCount, seatsPerRow)))
+              .seats();
+      seats.setRow(row.rowIndex(), seats.row(row.rowIndex()) | row.mask());
+    }
+    return new ArrayList<>(byBooking.values());
+  }
+
+  @Override
+  public long countTakenSeats(long seatingConfigId) {
+    long taken = 0;
+    for (RowMask row : seatRowMaskRepository.findMasksBySeatingConfigId(seatingConfigId)) {
+      taken += Long.bitCount(row.mask());
+    }
+    return taken;
+  }
+
+  @Override
+  public boolean claimSeats(BookingEntity booking, SeatMap seats) {
+    SeatingConfigEntity seatingConfig = booking.getSeatingConfig();
+    long seatingConfigId = seatingConfig.getId();
+
+    List<BookingRowMaskEntity> bookingRows = new ArrayList<>();
+    for (int r = 0; r < seats.rowCount(); r++) {
+      long bits = seats.row(r);
+      if (bits == 0) continue;
+      if (!claimRow(seatingConfig, seatingConfigId, r, bits)) {
+        return false;
+      }
+      bookingRows.add(new BookingRowMaskEntity(booking, r, bits));
+    }
+
+    bookingRowMaskRepository.saveAll(bookingRows);
+    bookingRowMaskRepository.flush();
+    return true;
+  }
+
+  private boolean claimRow(
+      SeatingConfigEntity seatingConfig, long seatingConfigId, int row, long bits) {
+    if (seatRowMaskRepository.claimBits(seatingConfigId, row, bits) == 1) {
+      return true;
+    }
+    if (seatRowMaskRepository.existsBySeatingConfig_IdAndRowIndex(seatingConfigId, row)) {
+      return false; // row exists, so the CAS failed on a held seat
+    }
+    try {
+      seatRowMaskRepository.saveAndFlush(new SeatRowMaskEntity(seatingConfig, row, bits));
+      return true;
+    } catch (DataIntegrityViolationException e) {
+      return false; // another claim created the row first
+    }
+  }
+
+  /** Touches only the rows that change, claiming added bits before releasing dropped ones. */
+  @Override
+  public boolean moveSeats(BookingEntity booking, SeatMap from, SeatMap to) {
+    SeatingConfigEntity seatingConfig = booking.getSeatingConfig();
+    long seatingConfigId = seatingConfig.getId();
+
+    Map<Integer, BookingRowMaskEntity> bookingRows = new HashMap<>();
+    for (BookingRowMaskEntity row : bookingRowMaskRepository.findAllByBooking_Id(booking.getId())) {
+      bookingRows.put(row.getRowIndex(), row);
+    }
+
+    List<BookingRowMaskEntity> inserted = new ArrayList<>();
+    List<BookingRowMaskEntity> emptied = new ArrayList<>();
+    for (int r = 0; r < to.rowCount(); r++) {
+      long added = to.row(r) & ~from.row(r);
+      long dropped = from.row(r) & ~to.row(r);
+      if (added == 0 && dropped == 0) continue;
+
+      if (added != 0 && !claimRow(seatingConfig, seatingConfigId, r, added)) {
+        return false;
+      }
+      if (dropped != 0) {
+        seatRowMaskRepository.releaseBits(seatingConfigId, r, dropped);
+      }
+
+      BookingRowMaskEntity bookingRow = bookingRows.get(r);
+      if (bookingRow == null) {
+        inserted.add(new BookingRowMaskEntity(booking, r, to.row(r)));
+      } else if (to.row(r) == 0) {
+        emptied.add(bookingRow);
+      } else {
+        bookingRow.setMask(to.row(r));
+      }
+    }
+
+    bookingRowMaskRepository.saveAll(inserted);
+    bookingRowMaskRepository.deleteAll(emptied);
+    bookingRowMaskRepository.flush();
+    return true;
+  }
+
+  @Override
+  public SeatMap releaseAllSeats(
+      long seatingConfigId, int rowCount, int seatsPerRow, Collection<Long> bookingIds) {
+    SeatMap released = new SeatMap(rowCount, seatsPerRow);
+    for (RowMask row : bookingRowMaskRepository.findMasksByBookingIds(bookingIds)) {
+      released.setRow(row.rowIndex(), released.row(row.rowIndex()) | row.mask());
+    }
+    for (int r = 0; r < rowCount; r++) {
+      if (released.row(r) != 0) {
+        seatRowMaskRepository.releaseBits(seatingConfigId, r, released.row(r));
+      }
+    }
+    bookingRowMaskRepository.deleteAllByBookingIds(bookingIds);
+    return released;
+  }
+}
@@ -0,0 +1,59 @@
+package com.gic.cinemas.backend.repository;
+
+import com.gic.cinemas.backend.SeatMap;
+import com.gic.cinemas.backend.model.BookingEntity;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Storage of which seats are held, independent of the table layout. Selected with {@code
+ * cinemas.seat-storage}:
+ *
+ * <ul>
+ *   <li>{@code per-seat} (default) — one {@code booked_seat} row per seat, conflicts caught by its
+ *       unique constraint ({@link PerSeatOccupancyRepository}).
+ *   <li>{@code row-mask} — one bitmask per (config, row) and per (booking, row), claimed with a
+ *       compare-and-set UPDATE ({@link RowMaskOccupancyRepository}).
+ * </ul>
+ *
+ * All methods must run inside the caller's transaction; a failed claim may leave partial writes
+ * that only a rollback undoes.
+ */
+public interface SeatOccupancyRepository {
+
+  /** Seats currently held for the config, i.e. not available to a new claim. */
+  SeatMap findTakenSeats(long seatingConfigId, int rowCount, int seatsPerRow);
+
+  /** Seats held by {@code booking}. */
+  SeatMap findBookingSeats(BookingEntity booking);
+
+  /** Every seat held for the config grouped by booking, in a single query. */
+  List<BookingSeats> findSeatsByBooking(long seatingConfigId, int rowCount, int seatsPerRow);
+
+  /** Number of seats held for the config, whatever the booking status. */
+  long countTakenSeats(long seatingConfigId);
+
+  /**
+   * Claims {@code seats} for {@code booking}.
+   *
+   * @return {@code false} if any seat is already held; the caller must then roll back
+   */
+  boolean claimSeats(BookingEntity booking, SeatMap seats);
+
+  /**
+   * Moves {@code booking} from the seats in {@code from} (all currently held by it) to those in
+   * {@code to}. Only seats that differ are written; seats in both stay held throughout.
+   *
+   * @return {@code false} if any newly wanted seat is already held; the caller must then roll back
+   */
+  boolean moveSeats(BookingEntity booking, SeatMap from, SeatMap to);
+
+  /**
+   * Releases every seat held by {@code bookingIds}, all bookings of the given config, in a fixed
+   * number of statements.
+   *
+   * @return the seats released
+   */
+  SeatMap releaseAllSeats(
+      long seatingConfigId, int rowCount, int seatsPerRow, Collection<Long> bookingIds);
+}
@@ -0,0 +1,7 @@
+package com.gic.cinemas.backend.repository;
+
+import com.gic.cinemas.common.dto.BookingStatus;
+
+/** One held seat with its owning booking, read as plain values. */
+public record SeatOwnerRow(
+    String rowLabel, int seatNumber, String bookingId, BookingStatus status) {}
@@ -0,0 +1,50 @@
+package com.gic.cinemas.backend.repository;
+
+import com.gic.cinemas.backend.model.SeatRowMaskEntity;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface SeatRowMaskRepository extends JpaRepository<SeatRowMaskEntity, Long> {
+
+  @Query(
+      """
+  select new com.gic.cinemas.backend.repository.RowMask(m.rowIndex, m.mask)
+  from SeatRowMaskEntity m
+  where m.seatingConfig.id = :seatingConfigId
+""")
+  List<RowMask> findMasksBySeatingConfigId(Long seatingConfigId);
+
+  boolean existsBySeatingConfig_IdAndRowIndex(Long seatingConfigId, int rowIndex);
+
+  /**
+   * Compare-and-set claim: sets {@code bits} only if none of them is already held.
+   *
+   * @return 1 if claimed, 0 if a seat was taken or the row has no mask yet
+   */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      value =
+          """
+  UPDATE seat_row_mask
+  SET mask = BITOR(mask, CAST(:bits AS BIGINT))
+  WHERE seating_config_id = :seatingConfigId
+    AND row_index = :rowIndex
+    AND BITAND(mask, CAST(:bits AS BIGINT)) = 0
+""",
+      nativeQuery = true)
+  int claimBits(Long seatingConfigId, int rowIndex, long bits);
+
+  @Modifying(flushAutomatically = true)
+  @Query(
+      value =
+          """
+  UPDATE seat_row_mask
+  SET mask = BITAND(mask, BITNOT(CAST(:bits AS BIGINT)))
+  WHERE seating_config_id = :seatingConfigId
+    AND row_index = :rowIndex
+""",
+      nativeQuery = true)
+  int releaseBits(Long seatingConfigId, int rowIndex, long bits);
+}
@@ -0,0 +1,85 @@
+package com.gic.cinemas.backend.repository;
+
+import com.gic.cinemas.backend.model.SeatingConfigEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceException;
+import java.time.Duration;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Takes the row lock of a seating config ({@code select ... for update}) for the rest of the
+ * transaction, waiting at most {@code cinemas.booking.lock-timeout} for it. The wait is passed as
+ * the JPA lock-timeout hint, which H2 ignores: on H2 the session's {@code LOCK_TIMEOUT} is set to
+ * the same value for the lock statement and put back right after it, so later statements on the
+ * pooled connection keep their own timeout.
+ *
+ * <p>The query lives here rather than on {@link SeatingConfigRepository}: the timeout is
+ * configurable, and a repository method can only carry a constant {@code @QueryHints} value.
+ */
+@Repository
+public class SeatingConfigLock {
+
+  private static final String LOCK_TIMEOUT_HINT = "jakarta.persistence.lock.timeout";
+
+  private final EntityManager entityManager;
+  private final int timeoutMillis;
+  private final boolean h2;
+
+  public SeatingConfigLock(
+      EntityManager entityManager,
+      @Value("${cinemas.booking.lock-timeout:PT2S}") Duration timeout) {
+    this.entityManager = entityManager;
+    this.timeoutMillis = Math.toIntExact(timeout.toMillis());
+    this.h2 =
+        entityManager
+                .getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+            instanceof H2Dialect;
+  }
+
+  /** Locks the config, or throws a {@code PessimisticLockingFailureException} on timeout. */
+  public void lock(long seatingConfigId) {
+    try {
+      if (!h2) {
+        selectForUpdate(seatingConfigId);
+        return;
+      }
+      int previousMillis =
+          ((Number) entityManager.createNativeQuery("SELECT LOCK_TIMEOUT()").getSingleResult())
+              .intValue();
+      setH2LockTimeout(timeoutMillis);
+      try {
+        selectForUpdate(seatingConfigId);
+      } finally {
+        setH2LockTimeout(previousMillis);
+      }
+    } catch (PersistenceException e) {
+      DataAccessException translated =
+          EntityManagerFactoryUtils.convertJpaAccessExceptionIfPossible(e);
+      throw translated != null ? translated : e;
+    }
+  }
+
+  private void selectForUpdate(long seatingConfigId) {
+    entityManager
+        .createQuery(
+            "select sc from SeatingConfigEntity sc where sc.id = :seatingConfigId",
+            SeatingConfigEntity.class)
+        .setParameter("seatingConfigId", seatingConfigId)
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .setHint(LOCK_TIMEOUT_HINT, timeoutMillis)
+        .getResultList();
+  }
+
+  private void setH2LockTimeout(int millis) {
+    entityManager.createNativeQuery("SET LOCK_TIMEOUT " + millis).executeUpdate();
+  }
+}
@@ -1,8 +1,11 @@
 package com.gic.cinemas.backend.repository;
 
 import com.gic.cinemas.backend.model.SeatingConfigEntity;
+import com.gic.cinemas.common.dto.response.SeatingAvailabilityResponse;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 public interface SeatingConfigRepository extends JpaRepository<SeatingConfigEntity, Long> {
@@ -27,4 +30,48 @@ public interface SeatingConfigRepository extends JpaRepository<SeatingConfigEnti
       """)
   Optional<SeatingConfigEntity> findByTitleAndLayout(
       String movieTitle, int rowCount, int seatsPerRow);
+
+  @Query(
+      """
+      select new com.gic.cinemas.common.dto.response.SeatingAvailabilityResponse(
+          sc.movieTitle, sc.rowCount, sc.seatsPerRow, sc.availableSeats)
+      from SeatingConfigEntity sc
+      where sc.movieTitle = :movieTitle
+        and sc.rowCount = :rowCount
+        and sc.seatsPerRow = :seatsPerRow
+      """)
+  Optional<SeatingAvailabilityResponse> findAvailabilityByTitleAndLayout(
+      String movieTitle, int rowCount, int seatsPerRow);
+
+  @Query(
+      """
+      select new com.gic.cinemas.common.dto.response.SeatingAvailabilityResponse(
+          sc.movieTitle, sc.rowCount, sc.seatsPerRow, sc.availableSeats)
+      from SeatingConfigEntity sc
+      where sc.id = :seatingConfigId
+      """)
+  Optional<SeatingAvailabilityResponse> findAvailabilityById(Long seatingConfigId);
+
+  @Query("select sc.id from SeatingConfigEntity sc order by sc.id")
+  List<Long> findAllIds();
+
+  /** Adds {@code delta} (negative for claims) to the available-seat counter. */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      """
+      update SeatingConfigEntity sc
+      set sc.availableSeats = sc.availableSeats + :delta
+      where sc.id = :seatingConfigId
+      """)
+  int adjustAvailableSeats(Long seatingConfigId, long delta);
+
+  @Modifying(flushAutomatically = true)
+  @Query(
+      """
+      update SeatingConfigEntity sc
+      set sc.availableSeats = :availableSeats
+      where sc.id = :seatingConfigId
+        and sc.availableSeats <> :availableSeats
+      """)
+  int resetAvailableSeats(Long seatingConfigId, long availableSeats);
 }
@@ -0,0 +1,15 @@
+package com.gic.cinemas.backend.service;
+
+import com.gic.cinemas.common.dto.response.ReservedSeatsResponse;
+
+/** Outcome of one item of {@link BookingService#reserveSeatsBatch}: a reservation or a failure. */
+public record BatchReservation(ReservedSeatsResponse reservation, RuntimeException failure) {
+
+  static BatchReservation reserved(ReservedSeatsResponse reservation) {
+    return new BatchReservation(reservation, null);
+  }
+
+  static BatchReservation failed(RuntimeException failure) {
+    return new BatchReservation(null, failure);
+  }
+}
@@ -0,0 +1,71 @@
+package com.gic.cinemas.backend.service;
+
+import com.gic.cinemas.backend.repository.BookingRepository;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out human-readable booking ids ({@code GIC0001}, …, {@code GIC10000}, …). Numbers are
+ * reserved from {@code booking_code_seq} a block at a time and then served from memory, so the
+ * reserve path pays one sequence call per {@value #BLOCK_SIZE} bookings and concurrent reserves
+ * never see the same number.
+ */
+@Component
+public class BookingIdAllocator {
+
+  /**
+   * Must match {@code INCREMENT BY} of {@code booking_code_seq} in {@code schema.sql}, or blocks
+   * overlap and codes repeat; {@code BookingRepositoryIntegrationTest} checks the two agree.
+   */
+  public static final int BLOCK_SIZE = 50;
+
+  private static final String PREFIX = "GIC";
+
+  private final BookingRepository bookingRepository;
+  // not a synchronized method: a virtual thread waiting on the sequence call would pin its carrier
+  private final ReentrantLock refillLock = new ReentrantLock();
+  private volatile Block block = new Block(0, 0);
+
+  public BookingIdAllocator(BookingRepository bookingRepository) {
+    this.bookingRepository = bookingRepository;
+  }
+
+  public String nextBookingId() {
+    while (true) {
+      Block current = block;
+      long number = current.next.getAndIncrement();
+      if (number < current.end) {
+        return format(number);
+      }
+      refill(current);
+    }
+  }
+
+  /** {@code GIC} followed by at least four digits; wider numbers are never truncated. */
+  static String format(long number) {
+    return PREFIX + String.format("%04d", number);
+  }
+
+  private void refill(Block exhausted) {
+    refillLock.lock();
+    try {
+      if (block == exhausted) {
+        long start = bookingRepository.nextBookingCodeBlock();
+        block = new Block(start, start + BLOCK_SIZE);
+      }
+    } finally {
+      refillLock.unlock();
+    }
+  }
+
+  private static final class Block {
+    private final AtomicLong next;
+    private final long end;
+
+    private Block(long start, long end) {
+      this.next = new AtomicLong(start);
+      this.end = end;
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package com.gic.cinemas.backend.service;
+
+import com.gic.cinemas.backend.exception.NoAvailableSeatsException;
+import com.gic.cinemas.backend.exception.SeatJustTakenException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer meters of the booking pipeline, exported through the actuator's Prometheus endpoint.
+ *
+ * <ul>
+ *   <li>{@code cinemas.booking.operation}: latency histogram per operation (reserve, change,
+ *       confirm, check, cancel) and outcome ({@code success} or the exception's simple name)
+ *   <li>{@code cinemas.booking.rejections}: seat-just-taken and no-available-seats answers
+ *   <li>{@code cinemas.booking.seats}: seats per seating config that went held, confirmed, expired
+ *       or cancelled
+ *   <li>{@code cinemas.booking.tickets}: tickets asked for per reservation
+ *   <li>{@code cinemas.seat.allocation}: time spent in the {@link SeatAllocator}
+ *   <li>{@code cinemas.booking.claim.retries} / {@code .exhausted}: {@link SeatClaimRetry} outcomes
+ *   <li>{@code cinemas.booking.reaper.expired} / {@code .sweep}: holds expired by the {@link
+ *       HoldExpiryReaper} and the time its sweeps take
+ * </ul>
+ *
+ * Meters with variable tags are resolved through {@link Meter.MeterProvider}s, which cache the
+ * registered meter per tag set instead of building a new one on every call.
+ */
+@Component
+public class BookingMetrics {
+
+  public static final String OUTCOME_SUCCESS = "success";
+
+  private final Meter.MeterProvider<Timer> operations;
+  private final Meter.MeterProvider<Counter> rejections;
+  private final Meter.MeterProvider<Counter> seats;
+  private final Meter.MeterProvider<DistributionSummary> tickets;
+  private final Meter.MeterProvider<Timer> allocations;
+  private final Timer reaperSweeps;
+  private final MeterRegistry registry;
+
+  public BookingMetrics(MeterRegistry registry, SeatClaimRetry seatClaimRetry) {
+    this.registry = registry;
+    this.operations =
+        Timer.builder("cinemas.booking.operation")
+            .description("Latency of booking operations")
+            .publishPercentileHistogram()
+            .withRegistry(registry);
+    this.rejections =
+        Counter.builder("cinemas.booking.rejections")
+            .description("Requests refused because the seats were taken or not available")
+            .withRegistry(registry);
+    this.seats =
+        Counter.builder("cinemas.booking.seats")
+            .description("Seats that changed state, per seating config")
+            .baseUnit("seats")
+            .withRegistry(registry);
+    this.tickets =
+        DistributionSummary.builder("cinemas.booking.tickets")
+            .description("Tickets asked for per reservation")
+            .baseUnit("tickets")
+            .publishPercentileHistogram()
+            .withRegistry(registry);
+    this.allocations =
+        Timer.builder("cinemas.seat.allocation")
+            .description("Time spent planning seats in the allocator")
+            .publishPercentileHistogram()
+            .withRegistry(registry);
+
+    FunctionCounter.builder(
+            "cinemas.booking.claim.retries", seatClaimRetry, SeatClaimRetry::retryCount)
+        .description("Seat claims re-run after losing a seat race")
+        .register(registry);
+    FunctionCounter.builder(
+            "cinemas.booking.claim.exhausted", seatClaimRetry, SeatClaimRetry::exhaustedCount)
+        .description("Seat claims that still lost when retries ran out")
+        .register(registry);
+    this.reaperSweeps =
+        Timer.builder("cinemas.booking.reaper.sweep")
+            .description("Time taken by hold-expiry sweeps")
+            .register(registry);
+  }
+
+  /** Exports the number of holds {@code reaper} has expired so far. */
+  public void bindReaper(HoldExpiryReaper reaper) {
+    FunctionCounter.builder("cinemas.booking.reaper.expired", reaper, HoldExpiryReaper::reapedCount)
+        .description("PENDING holds expired by the reaper")
+        .baseUnit("bookings")
+        .register(registry);
+  }
+
+  public void sweepCompleted(Duration took) {
+    reaperSweeps.record(took);
+  }
+
+  /** Times {@code call} as {@code operation} and counts it if it is refused for lack of seats. */
+  public <T> T record(String operation, Supplier<T> call) {
+    long start = System.nanoTime();
+    String outcome = OUTCOME_SUCCESS;
+    try {
+      return call.get();
+    } catch (RuntimeException e) {
+      outcome = e.getClass().getSimpleName();
+      rejected(operation, e);
+      throw e;
+    } finally {
+      operations
+          .withTags("operation", operation, "outcome", outcome)
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /** Counts {@code failure} if it is a seat conflict or a full hall; other failures are ignored. */
+  public void rejected(String operation, Throwable failure) {
+    String reason;
+    if (failure instanceof SeatJustTakenException) {
+      reason = "seat_just_taken";
+    } else if (failure instanceof NoAvailableSeatsException) {
+      reason = "no_available_seats";
+    } else {
+      return;
+    }
+    rejections.withTags("operation", operation, "reason", reason).increment();
+  }
+
+  public <T> T timeAllocation(String strategy, Supplier<T> allocation) {
+    long start = System.nanoTime();
+    try {
+      return allocation.get();
+    } finally {
+      allocations
+          .withTags("strategy", strategy)
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  public void ticketsRequested(String operation, int numberOfTickets) {
+    tickets.withTags("operation", operation).record(numberOfTickets);
+  }
+
+  public void seatsHeld(long seatingConfigId, int count) {
+    seats(seatingConfigId, "held", count);
+  }
+
+  public void seatsConfirmed(long seatingConfigId, int count) {
+    seats(seatingConfigId, "confirmed", count);
+  }
+
+  public void seatsExpired(long seatingConfigId, int count) {
+    seats(seatingConfigId, "expired", count);
+  }
+
+  public void seatsCancelled(long seatingConfigId, int count) {
+    seats(seatingConfigId, "cancelled", count);
+  }
+
+  private void seats(long seatingConfigId, String state, int count) {
+    if (count <= 0) return;
+    seats
+        .withTags("seating.config", Long.toString(seatingConfigId), "state", state)
+        .increment(count);
+  }
+}
@@ -1,106 +1,411 @@
 package com.gic.cinemas.backend.service;
 
+import com.gic.cinemas.backend.SeatBoard;
+import com.gic.cinemas.backend.SeatMap;
+import com.gic.cinemas.backend.SeatMapBuilder;
+import com.gic.cinemas.backend.event.BookingStatusChangedEvent;
+import com.gic.cinemas.backend.event.SeatOccupancyChangedEvent;
 import com.gic.cinemas.backend.exception.BookingNotFoundException;
+import com.gic.cinemas.backend.exception.BookingNotPendingException;
 import com.gic.cinemas.backend.exception.NoAvailableSeatsException;
 import com.gic.cinemas.backend.exception.SeatJustTakenException;
-import com.gic.cinemas.backend.exception.SeatingConfigNotFoundException;
-import com.gic.cinemas.backend.model.BookedSeatEntity;
+import com.gic.cinemas.backend.exception.SeatingConfigBusyException;
+import com.gic.cinemas.backend.jfr.SeatConflictEvent;
+import com.gic.cinemas.backend.jfr.SeatFlushEvent;
 import com.gic.cinemas.backend.model.BookingEntity;
 import com.gic.cinemas.backend.model.SeatingConfigEntity;
-import com.gic.cinemas.backend.repository.BookedSeatRepository;
 import com.gic.cinemas.backend.repository.BookingRepository;
+import com.gic.cinemas.backend.repository.BookingSeats;
+import com.gic.cinemas.backend.repository.BookingSummary;
+import com.gic.cinemas.backend.repository.SeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatingConfigLock;
+import com.gic.cinemas.backend.repository.SeatingConfigRepository;
 import com.gic.cinemas.backend.validation.BookingValidator;
 import com.gic.cinemas.common.dto.BookingStatus;
 import com.gic.cinemas.common.dto.SeatDto;
+import com.gic.cinemas.common.dto.SeatFormat;
+import com.gic.cinemas.common.dto.request.ReserveSeatsRequest;
+import com.gic.cinemas.common.dto.response.BookingCancelledResponse;
 import com.gic.cinemas.common.dto.response.BookingConfirmedResponse;
 import com.gic.cinemas.common.dto.response.CheckBookingResponse;
 import com.gic.cinemas.common.dto.response.ReservedSeatsResponse;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import org.springframework.dao.DataIntegrityViolationException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class BookingService {
 
   private final BookingRepository bookingRepository;
-  private final BookedSeatRepository bookedSeatRepository;
+  private final SeatOccupancyRepository seatOccupancyRepository;
   private final BookingValidator bookingValidator;
   private final SeatingConfigHelper seatingConfigHelper;
   private final SeatAllocator seatAllocator;
+  private final SeatStateCache seatStateCache;
+  private final ApplicationEventPublisher eventPublisher;
+  private final SeatingConfigRepository seatingConfigRepository;
+  private final SeatingConfigLock seatingConfigLock;
+  private final ReservationLanes reservationLanes;
+  private final SeatClaimRetry seatClaimRetry;
+  private final BookingIdAllocator bookingIdAllocator;
+  private final TransactionTemplate transactionTemplate;
+  private final BookingMetrics bookingMetrics;
+  private final ReservationConcurrencyMode concurrencyMode;
 
   public BookingService(
       BookingRepository bookingRepository,
-      BookedSeatRepository bookedSeatRepository,
+      SeatOccupancyRepository seatOccupancyRepository,
       BookingValidator bookingValidator,
       SeatingConfigHelper seatingConfigHelper,
-      SeatAllocator seatAllocator) {
+      SeatAllocator seatAllocator,
+      SeatStateCache seatStateCache,
+      ApplicationEventPublisher eventPublisher,
+      SeatingConfigRepository seatingConfigRepository,
+      SeatingConfigLock seatingConfigLock,
+      ReservationLanes reservationLanes,
+      SeatClaimRetry seatClaimRetry,
+      BookingIdAllocator bookingIdAllocator,
+      TransactionTemplate transactionTemplate,
+      BookingMetrics bookingMetrics,
+      @Value("${cinemas.booking.concurrency-mode:LANES}")
+          ReservationConcurrencyMode concurrencyMode) {
     this.bookingRepository = bookingRepository;
-    this.bookedSeatRepository = bookedSeatRepository;
+    this.seatOccupancyRepository = seatOccupancyRepository;
     this.bookingValidator = bookingValidator;
     this.seatingConfigHelper = seatingConfigHelper;
     this.seatAllocator = seatAllocator;
+    this.seatStateCache = seatStateCache;
+    this.eventPublisher = eventPublisher;
+    this.seatingConfigRepository = seatingConfigRepository;
+    this.seatingConfigLock = seatingConfigLock;
+    this.reservationLanes = reservationLanes;
+    this.seatClaimRetry = seatClaimRetry;
+    this.bookingIdAllocator = bookingIdAllocator;
+    this.transactionTemplate = transactionTemplate;
+    this.bookingMetrics = bookingMetrics;
+    this.concurrencyMode = concurrencyMode;
   }
 
   /**
    * Phase 1: Create a HELD booking and place holds for the requested seats. Seats are persisted
    * immediately to prevent conflicts; the booking expires if not confirmed.
    */
-  @Transactional
   public ReservedSeatsResponse reserveSeats(
       String movieTitle, int rowCount, int seatsPerRow, int numberOfTickets) {
+    return reserveSeats(movieTitle, rowCount, seatsPerRow, numberOfTickets, SeatFormat.LIST);
+  }
+
+  public ReservedSeatsResponse reserveSeats(
+      String movieTitle,
+      int rowCount,
+      int seatsPerRow,
+      int numberOfTickets,
+      SeatFormat seatFormat) {
+    bookingMetrics.ticketsRequested("reserve", numberOfTickets);
+    return bookingMetrics.record(
+        "reserve",
+        () -> {
+          long seatingConfigId =
+              PhaseTimings.current()
+                  .time(
+                      "config",
+                      () ->
+                          seatingConfigHelper
+                              .findOrCreateSeatingConfig(movieTitle, rowCount, seatsPerRow)
+                              .id());
+          ReservedSeatsResponse reserved =
+              claimSeats(
+                  seatingConfigId,
+                  () ->
+                      reserveSeatsOnLane(
+                          seatingConfigId, rowCount, seatsPerRow, numberOfTickets, seatFormat));
+          bookingMetrics.seatsHeld(seatingConfigId, reserved.reservedSeats().size());
+          return reserved;
+        });
+  }
+
+  private ReservedSeatsResponse reserveSeatsOnLane(
+      long seatingConfigId,
+      int rowCount,
+      int seatsPerRow,
+      int numberOfTickets,
+      SeatFormat seatFormat) {
+    PhaseTimings timings = PhaseTimings.current();
     SeatingConfigEntity seatingConfigEntity =
-        seatingConfigHelper.findOrCreateSeatingConfig(movieTitle, rowCount, seatsPerRow);
-    Long availableSeatsCount =
-        bookedSeatRepository
-            .countAvailableSeatsByConfigId(seatingConfigEntity.getId())
-            .orElseThrow(
-                () -> new SeatingConfigNotFoundException(movieTitle, rowCount, seatsPerRow));
-    bookingValidator.validateSeatsAvailable(availableSeatsCount);
-
-    List<SeatDto> bookedSeats = bookedSeatRepository.findBookedSeats(seatingConfigEntity.getId());
+        seatingConfigRepository.getReferenceById(seatingConfigId);
+
+    SeatMap takenSeats =
+        timings.time("seat-load", () -> takenSeats(seatingConfigId, rowCount, seatsPerRow));
+    bookingValidator.validateSeatsAvailable(takenSeats.freeCount());
+
+    // encode before allocating: the allocator marks the new seats in the same map
+    List<SeatDto> bookedSeats = seatFormat == SeatFormat.LIST ? takenSeats.toSeatDtos() : null;
+    String bookedSeatsBitmap = seatFormat == SeatFormat.BITMAP ? takenSeats.toBitmap() : null;
     List<SeatDto> reservedSeats =
-        seatAllocator.allocateDefault(rowCount, seatsPerRow, numberOfTickets, bookedSeats);
+        concurrencyMode == ReservationConcurrencyMode.CAS
+            ? claimDefault(seatingConfigId, rowCount, seatsPerRow, numberOfTickets)
+            : allocateDefault(seatingConfigId, takenSeats, numberOfTickets);
 
     // Create a PENDING booking (5-min hold)
     LocalDateTime currentTime = LocalDateTime.now();
+    String bookingId = timings.time("booking-id", bookingIdAllocator::nextBookingId);
     BookingEntity booking =
-        new BookingEntity(generateBookingId(), seatingConfigEntity, currentTime.plusMinutes(5));
-    booking = bookingRepository.saveAndFlush(booking);
+        timings.time(
+            "booking-insert",
+            () ->
+                bookingRepository.saveAndFlush(
+                    new BookingEntity(bookingId, seatingConfigEntity, currentTime.plusMinutes(5))));
 
-    try {
-      for (SeatDto seat : reservedSeats) {
-        BookedSeatEntity bookedSeat =
-            new BookedSeatEntity(booking, seatingConfigEntity, seat.rowLabel(), seat.seatNumber());
-        bookedSeatRepository.save(bookedSeat);
+    SeatMap claimedSeats = SeatMapBuilder.buildSeatMap(rowCount, seatsPerRow, reservedSeats);
+    claimOrFail(booking, seatingConfigId, claimedSeats);
+    timings.time(
+        "counter",
+        () -> seatingConfigRepository.adjustAvailableSeats(seatingConfigId, -reservedSeats.size()));
+
+    eventPublisher.publishEvent(SeatOccupancyChangedEvent.claimed(seatingConfigId, claimedSeats));
+
+    return new ReservedSeatsResponse(
+        booking.getBookingId(), bookedSeats, reservedSeats, bookedSeatsBitmap);
+  }
+
+  /**
+   * Reserves seats for several parties at once. Requests are grouped by seating config; each group
+   * is allocated in one pass over a single seat map and persisted in one transaction on the
+   * config's lane, so a group costs one seat-state read and one commit however many parties it
+   * holds.
+   *
+   * <p>A party that does not fit fails on its own and leaves the seat map untouched for the parties
+   * after it. A lost seat race re-plans the whole group; if the group still cannot be claimed, or
+   * fails for any other reason, every party in it fails with that error.
+   *
+   * @return one outcome per request, in request order
+   */
+  public List<BatchReservation> reserveSeatsBatch(
+      List<ReserveSeatsRequest> requests, SeatFormat seatFormat) {
+    requests.forEach(r -> bookingMetrics.ticketsRequested("reserve-batch", r.numberOfTickets()));
+    List<BatchReservation> outcomes =
+        bookingMetrics.record("reserve-batch", () -> reserveBatch(requests, seatFormat));
+    for (BatchReservation outcome : outcomes) {
+      if (outcome.failure() != null) bookingMetrics.rejected("reserve-batch", outcome.failure());
+    }
+    return outcomes;
+  }
+
+  private List<BatchReservation> reserveBatch(
+      List<ReserveSeatsRequest> requests, SeatFormat seatFormat) {
+    BatchReservation[] outcomes = new BatchReservation[requests.size()];
+
+    Map<SeatingConfigRef, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < requests.size(); i++) {
+      ReserveSeatsRequest request = requests.get(i);
+      try {
+        SeatingConfigRef seatingConfig =
+            seatingConfigHelper.findOrCreateSeatingConfig(
+                request.movieTitle(), request.rowCount(), request.seatsPerRow());
+        groups.computeIfAbsent(seatingConfig, k -> new ArrayList<>()).add(i);
+      } catch (RuntimeException e) {
+        outcomes[i] = BatchReservation.failed(e);
       }
-      bookedSeatRepository.flush();
-    } catch (DataIntegrityViolationException e) {
-      throw new SeatJustTakenException();
     }
 
-    return new ReservedSeatsResponse(booking.getBookingId(), bookedSeats, reservedSeats);
+    groups.forEach(
+        (seatingConfig, indices) -> {
+          int[] tickets =
+              indices.stream().mapToInt(i -> requests.get(i).numberOfTickets()).toArray();
+          try {
+            List<BatchReservation> reserved =
+                claimSeats(
+                    seatingConfig.id(),
+                    () -> reserveGroupOnLane(seatingConfig, tickets, seatFormat));
+            for (int j = 0; j < indices.size(); j++) {
+              BatchReservation outcome = reserved.get(j);
+              outcomes[indices.get(j)] = outcome;
+              if (outcome.reservation() != null) {
+                bookingMetrics.seatsHeld(
+                    seatingConfig.id(), outcome.reservation().reservedSeats().size());
+              }
+            }
+          } catch (RuntimeException e) {
+            indices.forEach(i -> outcomes[i] = BatchReservation.failed(e));
+          }
+        });
+
+    return Arrays.asList(outcomes);
+  }
+
+  private List<BatchReservation> reserveGroupOnLane(
+      SeatingConfigRef seatingConfig, int[] tickets, SeatFormat seatFormat) {
+    long seatingConfigId = seatingConfig.id();
+    int rowCount = seatingConfig.rowCount();
+    int seatsPerRow = seatingConfig.seatsPerRow();
+    SeatingConfigEntity seatingConfigEntity =
+        seatingConfigRepository.getReferenceById(seatingConfigId);
+
+    SeatMap takenSeats = takenSeats(seatingConfigId, rowCount, seatsPerRow);
+    LocalDateTime reservedUntil = LocalDateTime.now().plusMinutes(5);
+
+    List<BatchReservation> outcomes = new ArrayList<>(tickets.length);
+    List<BookingEntity> bookings = new ArrayList<>(tickets.length);
+    List<SeatMap> bookingSeats = new ArrayList<>(tickets.length);
+    for (int numberOfTickets : tickets) {
+      try {
+        bookingValidator.validateSeatsAvailable(takenSeats.freeCount());
+        // each party sees the seats of the parties allocated before it as taken
+        List<SeatDto> bookedSeats = seatFormat == SeatFormat.LIST ? takenSeats.toSeatDtos() : null;
+        String bookedSeatsBitmap = seatFormat == SeatFormat.BITMAP ? takenSeats.toBitmap() : null;
+        List<SeatDto> reservedSeats = allocateDefault(seatingConfigId, takenSeats, numberOfTickets);
+
+        BookingEntity booking =
+            new BookingEntity(
+                bookingIdAllocator.nextBookingId(), seatingConfigEntity, reservedUntil);
+        bookings.add(booking);
+        bookingSeats.add(SeatMapBuilder.buildSeatMap(rowCount, seatsPerRow, reservedSeats));
+        outcomes.add(
+            BatchReservation.reserved(
+                new ReservedSeatsResponse(
+                    booking.getBookingId(), bookedSeats, reservedSeats, bookedSeatsBitmap)));
+      } catch (NoAvailableSeatsException e) {
+        outcomes.add(BatchReservation.failed(e));
+      }
+    }
+    if (bookings.isEmpty()) return outcomes;
+
+    SeatMap claimedSeats = new SeatMap(rowCount, seatsPerRow);
+    bookingSeats.forEach(claimedSeats::takeAll);
+    if (concurrencyMode == ReservationConcurrencyMode.CAS) {
+      holdOnBoard(seatingConfigId, claimedSeats);
+    }
+
+    bookingRepository.saveAllAndFlush(bookings);
+    for (int i = 0; i < bookings.size(); i++) {
+      claimOrFail(bookings.get(i), seatingConfigId, bookingSeats.get(i));
+    }
+    seatingConfigRepository.adjustAvailableSeats(seatingConfigId, -claimedSeats.takenCount());
+
+    eventPublisher.publishEvent(SeatOccupancyChangedEvent.claimed(seatingConfigId, claimedSeats));
+
+    return outcomes;
   }
 
-  @Transactional
+  /** Timed through commit, like the other booking operations. */
   public BookingConfirmedResponse confirmBooking(String bookingId) {
+    return bookingMetrics.record(
+        "confirm", () -> transactionTemplate.execute(status -> confirmPending(bookingId)));
+  }
+
+  private BookingConfirmedResponse confirmPending(String bookingId) {
     BookingEntity booking =
         bookingRepository
             .findByBookingId(bookingId)
             .orElseThrow(() -> new BookingNotFoundException(bookingId));
 
-    String movieTitle = booking.getSeatingConfig().getMovieTitle();
-    bookingValidator.validateBooking(booking, bookingId);
-    booking.setStatus(BookingStatus.CONFIRMED);
-    bookingRepository.save(booking);
+    SeatingConfigEntity seatingConfig = booking.getSeatingConfig();
+    long seatingConfigId = seatingConfig.getId();
+    String movieTitle = seatingConfig.getMovieTitle();
+    LocalDateTime currentTime = LocalDateTime.now();
+    bookingValidator.validateBooking(booking, bookingId, currentTime);
+    int seats = seatOccupancyRepository.findBookingSeats(booking).takenCount();
+
+    // conditional update: a cancel or expiry that committed since the read above wins
+    if (bookingRepository.markConfirmed(booking.getId(), currentTime) == 0) {
+      throw new BookingNotPendingException(bookingId);
+    }
+
+    eventPublisher.publishEvent(
+        new BookingStatusChangedEvent(seatingConfigId, bookingId, BookingStatus.CONFIRMED));
+    bookingMetrics.seatsConfirmed(seatingConfigId, seats);
 
     return new BookingConfirmedResponse(bookingId, movieTitle, BookingStatus.CONFIRMED);
   }
 
-  @Transactional
+  /**
+   * Cancels a PENDING or CONFIRMED booking and gives its seats back at once, on the config's lane
+   * and in one transaction: mark CANCELLED, release the seats in one statement, return them to the
+   * available-seat counter. Cancelling a booking that holds nothing any more is a no-op.
+   */
+  public BookingCancelledResponse cancelBooking(String bookingId) {
+    return bookingMetrics.record(
+        "cancel",
+        () -> {
+          long seatingConfigId = lookUpSeatingConfigId(bookingId);
+          BookingCancelledResponse cancelled =
+              onLane(seatingConfigId, () -> cancelBookingOnLane(bookingId));
+          bookingMetrics.seatsCancelled(seatingConfigId, cancelled.releasedSeats());
+          return cancelled;
+        });
+  }
+
+  private BookingCancelledResponse cancelBookingOnLane(String bookingId) {
+    BookingEntity booking =
+        bookingRepository
+            .findByBookingId(bookingId)
+            .orElseThrow(() -> new BookingNotFoundException(bookingId));
+    SeatingConfigEntity seatingConfig = booking.getSeatingConfig();
+    long seatingConfigId = seatingConfig.getId();
+    String movieTitle = seatingConfig.getMovieTitle();
+    int rowCount = seatingConfig.getRowCount();
+    int seatsPerRow = seatingConfig.getSeatsPerRow();
+
+    // conditional update: a booking the reaper expired first stays EXPIRED
+    if (bookingRepository.markCancelled(booking.getId()) == 0) {
+      // the status read above may predate the expiry or cancel that beat this update
+      BookingStatus status =
+          bookingRepository.findSummaryByBookingId(bookingId).orElseThrow().status();
+      return new BookingCancelledResponse(bookingId, movieTitle, status, 0);
+    }
+
+    SeatMap released =
+        seatOccupancyRepository.releaseAllSeats(
+            seatingConfigId, rowCount, seatsPerRow, List.of(booking.getId()));
+    seatingConfigRepository.adjustAvailableSeats(seatingConfigId, released.takenCount());
+
+    eventPublisher.publishEvent(SeatOccupancyChangedEvent.released(seatingConfigId, released));
+
+    return new BookingCancelledResponse(
+        bookingId, movieTitle, BookingStatus.CANCELLED, released.takenCount());
+  }
+
+  /** The seating config a booking belongs to; it never changes once the booking exists. */
+  public Optional<Long> findSeatingConfigId(String bookingId) {
+    return bookingRepository.findSeatingConfigIdByBookingId(bookingId);
+  }
+
+  private long lookUpSeatingConfigId(String bookingId) {
+    return bookingRepository
+        .findSeatingConfigIdByBookingId(bookingId)
+        .orElseThrow(() -> new BookingNotFoundException(bookingId));
+  }
+
   public ReservedSeatsResponse changeBooking(String bookingId, SeatDto startSeat) {
+    return changeBooking(bookingId, startSeat, SeatFormat.LIST);
+  }
+
+  public ReservedSeatsResponse changeBooking(
+      String bookingId, SeatDto startSeat, SeatFormat seatFormat) {
+    return bookingMetrics.record(
+        "change",
+        () ->
+            claimSeats(
+                lookUpSeatingConfigId(bookingId),
+                () -> changeBookingOnLane(bookingId, startSeat, seatFormat)));
+  }
+
+  private ReservedSeatsResponse changeBookingOnLane(
+      String bookingId, SeatDto startSeat, SeatFormat seatFormat) {
     BookingEntity booking =
         bookingRepository
             .findByBookingId(bookingId)
@@ -109,21 +414,20 @@ public class BookingService {
     LocalDateTime currentTime = LocalDateTime.now();
     bookingValidator.validateBooking(booking, bookingId, currentTime);
 
-    int seatsToBook = bookedSeatRepository.countByBooking_BookingId(bookingId);
+    SeatMap heldSeats = seatOccupancyRepository.findBookingSeats(booking);
+    int seatsToBook = heldSeats.takenCount();
     bookingValidator.validateTicketsHeld(seatsToBook);
 
     // build seat map EXCLUDING this booking’s current holds
     SeatingConfigEntity seatingConfig = booking.getSeatingConfig();
+    long seatingConfigId = seatingConfig.getId();
     int rowCount = seatingConfig.getRowCount();
     int seatsPerRow = seatingConfig.getSeatsPerRow();
 
-    List<BookingStatus> statuses = List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
-    List<SeatDto> takenSeatsExcludingCurrent =
-        bookedSeatRepository.findBySeatingConfigIdAndBookingIdNotAndBookingStatusIn(
-            seatingConfig.getId(), booking.getId(), statuses);
+    SeatMap takenSeatsExcludingCurrent = takenSeats(seatingConfigId, rowCount, seatsPerRow);
+    takenSeatsExcludingCurrent.releaseAll(heldSeats);
 
-    long totalSeats = (long) rowCount * seatsPerRow;
-    int availableSeats = (int) (totalSeats - takenSeatsExcludingCurrent.size());
+    int availableSeats = takenSeatsExcludingCurrent.freeCount();
     if (availableSeats < seatsToBook) {
       throw new NoAvailableSeatsException(
           "Not enough seats available to allocate (requested %d, available %d)"
@@ -131,67 +435,244 @@ public class BookingService {
           availableSeats);
     }
 
+    // response (what others already took, plus your new held seats)
+    List<SeatDto> alreadyBooked =
+        seatFormat == SeatFormat.LIST ? takenSeatsExcludingCurrent.toSeatDtos() : null;
+    String alreadyBookedBitmap =
+        seatFormat == SeatFormat.BITMAP ? takenSeatsExcludingCurrent.toBitmap() : null;
     List<SeatDto> reservedSeats =
-        seatAllocator.allocateFromStartSeat(
-            rowCount, seatsPerRow, seatsToBook, startSeat, takenSeatsExcludingCurrent);
+        bookingMetrics.timeAllocation(
+            "from-start-seat",
+            () ->
+                seatAllocator.allocateFromStartSeat(
+                    seatingConfigId, takenSeatsExcludingCurrent, seatsToBook, startSeat));
 
-    // replace seats atomically (by STRING bookingId)
-    bookedSeatRepository.deleteAllByBooking_BookingId(bookingId);
-    bookedSeatRepository.flush();
-    try {
-      for (SeatDto seat : reservedSeats) {
-        BookedSeatEntity bookedSeat =
-            new BookedSeatEntity(booking, seatingConfig, seat.rowLabel(), seat.seatNumber());
-        bookedSeatRepository.save(bookedSeat);
-      }
-      bookedSeatRepository.flush();
-    } catch (DataIntegrityViolationException e) {
-      throw new SeatJustTakenException();
-    }
+    // move only the seats that differ; seats kept by the change stay held throughout
+    SeatMap claimedSeats = SeatMapBuilder.buildSeatMap(rowCount, seatsPerRow, reservedSeats);
+    SeatMap newlyTaken = claimedSeats.copy();
+    newlyTaken.releaseAll(heldSeats);
 
-    // roll the hold window forward
-    booking.setReservedUntil(currentTime.plusMinutes(5));
-    bookingRepository.save(booking);
+    // roll the hold window forward, unless the reaper or a confirm got to the booking first
+    if (bookingRepository.extendHold(booking.getId(), currentTime, currentTime.plusMinutes(5))
+        == 0) {
+      throw new BookingNotPendingException(bookingId);
+    }
+    if (concurrencyMode == ReservationConcurrencyMode.CAS) {
+      holdOnBoard(seatingConfigId, newlyTaken);
+    }
+    writeOrFail(
+        booking,
+        seatingConfigId,
+        newlyTaken,
+        () -> seatOccupancyRepository.moveSeats(booking, heldSeats, claimedSeats));
 
-    // response (what others already took, plus your new held seats)
-    List<SeatDto> alreadyBooked =
-        takenSeatsExcludingCurrent.stream()
-            .map(sc -> new SeatDto(sc.rowLabel(), sc.seatNumber()))
-            .toList();
+    eventPublisher.publishEvent(
+        new SeatOccupancyChangedEvent(seatingConfigId, heldSeats, claimedSeats));
 
-    return new ReservedSeatsResponse(booking.getBookingId(), alreadyBooked, reservedSeats);
+    return new ReservedSeatsResponse(
+        booking.getBookingId(), alreadyBooked, reservedSeats, alreadyBookedBitmap);
   }
 
+  /**
+   * Two projection queries, whatever the size of the hall: one for the booking and its layout, one
+   * for every held seat with its owner. No entities are loaded.
+   */
   @Transactional(readOnly = true)
   public CheckBookingResponse checkBookings(String bookingId) {
-    BookingEntity booking =
+    return checkBookings(bookingId, SeatFormat.LIST);
+  }
+
+  @Transactional(readOnly = true)
+  public CheckBookingResponse checkBookings(String bookingId, SeatFormat seatFormat) {
+    return bookingMetrics.record("check", () -> checkBooking(bookingId, seatFormat));
+  }
+
+  private CheckBookingResponse checkBooking(String bookingId, SeatFormat seatFormat) {
+    BookingSummary booking =
         bookingRepository
-            .findByBookingId(bookingId)
+            .findSummaryByBookingId(bookingId)
             .orElseThrow(() -> new BookingNotFoundException(bookingId));
 
-    SeatingConfigEntity seatingConfig = booking.getSeatingConfig();
+    int rowCount = booking.rowCount();
+    int seatsPerRow = booking.seatsPerRow();
+    SeatMap seatsForBookingId = new SeatMap(rowCount, seatsPerRow);
+    SeatMap otherSeats = new SeatMap(rowCount, seatsPerRow);
 
-    List<BookedSeatEntity> allBookedForSeatingConfig =
-        bookedSeatRepository.findAllByBooking_SeatingConfig_Id(seatingConfig.getId());
+    // only a CONFIRMED booking owns its seats; a pending hold shows up with everyone else's
+    for (BookingSeats held :
+        seatOccupancyRepository.findSeatsByBooking(
+            booking.seatingConfigId(), rowCount, seatsPerRow)) {
+      if (bookingId.equals(held.bookingId()) && held.status() == BookingStatus.CONFIRMED) {
+        seatsForBookingId.takeAll(held.seats());
+      } else if (held.status() == BookingStatus.PENDING
+          || held.status() == BookingStatus.CONFIRMED) {
+        otherSeats.takeAll(held.seats());
+      }
+    }
 
-    List<SeatDto> seatsForBookingId = new ArrayList<>();
-    List<SeatDto> otherSeats = new ArrayList<>();
+    return new CheckBookingResponse(
+        booking.bookingId(),
+        seatsForBookingId.toSeatDtos(),
+        seatFormat == SeatFormat.LIST ? otherSeats.toSeatDtos() : null,
+        seatFormat == SeatFormat.BITMAP ? otherSeats.toBitmap() : null);
+  }
 
-    for (BookedSeatEntity bookedSeat : allBookedForSeatingConfig) {
-      SeatDto dto = new SeatDto(bookedSeat.getRowLabel(), bookedSeat.getSeatNumber());
-      if (bookingId.equals(bookedSeat.getBooking().getBookingId())
-          && bookedSeat.getBooking().getStatus() == BookingStatus.CONFIRMED) {
-        seatsForBookingId.add(dto);
-      } else {
-        otherSeats.add(dto);
-      }
+  /**
+   * Runs a seat claim for one seating config in its own transaction. In {@link
+   * ReservationConcurrencyMode#LANES} mode claims for the same config are serialized on its lane;
+   * in {@link ReservationConcurrencyMode#PESSIMISTIC} mode they queue on the config's row lock; in
+   * {@link ReservationConcurrencyMode#CAS} mode they take their seats on the config's {@link
+   * SeatBoard} first. A claim that loses a race is re-planned from fresh seat state by {@link
+   * SeatClaimRetry}; the backoff sleeps on the caller's thread, never on a lane.
+   */
+  private <T> T claimSeats(long seatingConfigId, Supplier<T> claim) {
+    return seatClaimRetry.run(() -> onLane(seatingConfigId, claim));
+  }
+
+  /**
+   * Runs {@code work} in its own transaction, on the config's lane in LANES mode and holding the
+   * config's row lock in PESSIMISTIC mode. The caller's {@link PhaseTimings} follow it onto the
+   * lane, plus the time spent queued for the lane or lock and in commit.
+   */
+  private <T> T onLane(long seatingConfigId, Supplier<T> work) {
+    PhaseTimings timings = PhaseTimings.current();
+    long queuedAt = System.nanoTime();
+    Supplier<T> transactional =
+        () ->
+            timings.runBound(
+                () -> {
+                  if (concurrencyMode == ReservationConcurrencyMode.LANES) {
+                    timings.add("lane-wait", System.nanoTime() - queuedAt);
+                  }
+                  long[] workDone = new long[1];
+                  T result =
+                      transactionTemplate.execute(
+                          status -> {
+                            if (concurrencyMode == ReservationConcurrencyMode.PESSIMISTIC) {
+                              timings.time("lock-wait", () -> lockSeatingConfig(seatingConfigId));
+                            }
+                            T done = work.get();
+                            workDone[0] = System.nanoTime();
+                            return done;
+                          });
+                  timings.add("commit", System.nanoTime() - workDone[0]);
+                  return result;
+                });
+    return concurrencyMode == ReservationConcurrencyMode.LANES
+        ? reservationLanes.run(seatingConfigId, transactional)
+        : transactional.get();
+  }
+
+  private void lockSeatingConfig(long seatingConfigId) {
+    try {
+      seatingConfigLock.lock(seatingConfigId);
+    } catch (PessimisticLockingFailureException e) {
+      throw new SeatingConfigBusyException(e);
     }
+  }
+
+  /**
+   * Seats taken in a config, to plan a claim on. Under the PESSIMISTIC row lock they are read from
+   * the database: the previous lock holder's commit may not have reached the cache yet.
+   */
+  private SeatMap takenSeats(long seatingConfigId, int rowCount, int seatsPerRow) {
+    return concurrencyMode == ReservationConcurrencyMode.PESSIMISTIC
+        ? seatOccupancyRepository.findTakenSeats(seatingConfigId, rowCount, seatsPerRow)
+        : seatStateCache.snapshot(seatingConfigId, rowCount, seatsPerRow);
+  }
+
+  private List<SeatDto> allocateDefault(
+      long seatingConfigId, SeatMap takenSeats, int numberOfTickets) {
+    return PhaseTimings.current()
+        .time(
+            "allocate",
+            () ->
+                bookingMetrics.timeAllocation(
+                    "default",
+                    () ->
+                        seatAllocator.allocateDefault(
+                            seatingConfigId, takenSeats, numberOfTickets)));
+  }
 
-    return new CheckBookingResponse(booking.getBookingId(), seatsForBookingId, otherSeats);
+  /** CAS mode: takes the seats on the board, lock-free, and frees them again on rollback. */
+  private List<SeatDto> claimDefault(
+      long seatingConfigId, int rowCount, int seatsPerRow, int numberOfTickets) {
+    SeatBoard board = seatStateCache.board(seatingConfigId, rowCount, seatsPerRow);
+    List<SeatDto> claimed =
+        PhaseTimings.current()
+            .time(
+                "allocate",
+                () ->
+                    bookingMetrics.timeAllocation(
+                        "default",
+                        () -> seatAllocator.claimDefault(seatingConfigId, board, numberOfTickets)));
+    releaseOnRollback(board, SeatMapBuilder.buildSeatMap(rowCount, seatsPerRow, claimed));
+    return claimed;
   }
 
-  private String generateBookingId() {
-    long maxId = bookingRepository.findMaxId();
-    return "GIC" + String.format("%04d", maxId + 1);
+  /**
+   * CAS mode: takes seats planned on a snapshot, all or none. A seat taken since the snapshot fails
+   * the claim, which {@link SeatClaimRetry} then re-plans.
+   */
+  private void holdOnBoard(long seatingConfigId, SeatMap seats) {
+    SeatBoard board = seatStateCache.board(seatingConfigId, seats.rowCount(), seats.seatsPerRow());
+    if (!board.tryClaim(seats)) {
+      throw new SeatJustTakenException();
+    }
+    releaseOnRollback(board, seats);
+  }
+
+  /**
+   * Seats taken on a board ahead of the commit are handed back if the transaction does not commit.
+   * A committed claim stays, and its {@link SeatOccupancyChangedEvent} takes the same seats again.
+   */
+  private static void releaseOnRollback(SeatBoard board, SeatMap seats) {
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            if (status != STATUS_COMMITTED) board.release(seats);
+          }
+        });
+  }
+
+  /** Claims {@code seats} for {@code booking}, see {@link #writeOrFail}. */
+  private void claimOrFail(BookingEntity booking, long seatingConfigId, SeatMap seats) {
+    writeOrFail(
+        booking, seatingConfigId, seats, () -> seatOccupancyRepository.claimSeats(booking, seats));
+  }
+
+  /**
+   * Runs a seat write that newly claims {@code seats} for {@code booking}; a lost race evicts the
+   * cached seat state. The write is reported to Flight Recorder as a {@link SeatFlushEvent}, a lost
+   * race also as a {@link SeatConflictEvent}.
+   */
+  private void writeOrFail(
+      BookingEntity booking, long seatingConfigId, SeatMap seats, BooleanSupplier write) {
+    SeatFlushEvent flush = new SeatFlushEvent();
+    flush.begin();
+    long start = System.nanoTime();
+    boolean claimed = write.getAsBoolean();
+    PhaseTimings.current().add("seat-flush", System.nanoTime() - start);
+    flush.end();
+    if (flush.shouldCommit()) {
+      flush.seatingConfigId = seatingConfigId;
+      flush.bookingId = booking.getBookingId();
+      flush.inserts = seats.takenCount();
+      flush.claimed = claimed;
+      flush.commit();
+    }
+
+    if (!claimed) {
+      SeatConflictEvent conflict = new SeatConflictEvent();
+      if (conflict.isEnabled()) {
+        conflict.seatingConfigId = seatingConfigId;
+        conflict.bookingId = booking.getBookingId();
+        conflict.seats = seats.takenCount();
+        conflict.commit();
+      }
+      seatStateCache.evict(seatingConfigId);
+      throw new SeatJustTakenException();
+    }
   }
 }
@@ -0,0 +1,179 @@
+package com.gic.cinemas.backend.service;
+
+import com.gic.cinemas.backend.SeatMap;
+import com.gic.cinemas.backend.event.SeatOccupancyChangedEvent;
+import com.gic.cinemas.backend.model.SeatingConfigEntity;
+import com.gic.cinemas.backend.repository.BookingRepository;
+import com.gic.cinemas.backend.repository.SeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatingConfigLock;
+import com.gic.cinemas.backend.repository.SeatingConfigRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Expires overdue PENDING holds in the background and gives their seats back. Without it a hold is
+ * only expired when its owner next touches it, so abandoned holds keep seats off sale.
+ *
+ * <p>Each batch of up to {@code batch-size} bookings is one transaction of set-based statements
+ * (lock and mark EXPIRED, release seats, return them to the available-seat counter). In {@link
+ * ReservationConcurrencyMode#LANES} mode it runs on the config's reservation lane. In {@link
+ * ReservationConcurrencyMode#PESSIMISTIC} mode it first takes the config's row lock, as claims,
+ * changes and cancels do there. In the other modes it locks the booking rows before the {@code
+ * seating_config} row, the same order as a cancel or change, so the two never deadlock. A hall
+ * whose locks are busy is left for the next sweep.
+ *
+ * <p>The bookings are locked and moved to EXPIRED first, and only those that did move give up their
+ * seats: a hold confirmed or extended at the last moment keeps them.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(
+    name = "cinemas.booking.reaper.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class HoldExpiryReaper {
+
+  private final BookingRepository bookingRepository;
+  private final SeatingConfigRepository seatingConfigRepository;
+  private final SeatOccupancyRepository seatOccupancyRepository;
+  private final ReservationLanes reservationLanes;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final BookingMetrics bookingMetrics;
+  private final SeatingConfigLock seatingConfigLock;
+  private final ReservationConcurrencyMode concurrencyMode;
+  private final int batchSize;
+
+  private final LongAdder reaped = new LongAdder();
+
+  public HoldExpiryReaper(
+      BookingRepository bookingRepository,
+      SeatingConfigRepository seatingConfigRepository,
+      SeatOccupancyRepository seatOccupancyRepository,
+      ReservationLanes reservationLanes,
+      TransactionTemplate transactionTemplate,
+      ApplicationEventPublisher eventPublisher,
+      BookingMetrics bookingMetrics,
+      SeatingConfigLock seatingConfigLock,
+      @Value("${cinemas.booking.concurrency-mode:LANES}")
+          ReservationConcurrencyMode concurrencyMode,
+      @Value("${cinemas.booking.reaper.batch-size:500}") int batchSize) {
+    this.bookingRepository = bookingRepository;
+    this.seatingConfigRepository = seatingConfigRepository;
+    this.seatOccupancyRepository = seatOccupancyRepository;
+    this.reservationLanes = reservationLanes;
+    this.transactionTemplate = transactionTemplate;
+    this.eventPublisher = eventPublisher;
+    this.bookingMetrics = bookingMetrics;
+    this.seatingConfigLock = seatingConfigLock;
+    this.concurrencyMode = concurrencyMode;
+    this.batchSize = batchSize;
+    bookingMetrics.bindReaper(this);
+  }
+
+  @Scheduled(
+      initialDelayString = "${cinemas.booking.reaper.interval:PT10S}",
+      fixedDelayString = "${cinemas.booking.reaper.interval:PT10S}")
+  public void sweep() {
+    reapExpiredHolds(LocalDateTime.now());
+  }
+
+  /**
+   * Expires every PENDING booking whose hold ended before {@code now}.
+   *
+   * @return number of bookings expired
+   */
+  public int reapExpiredHolds(LocalDateTime now) {
+    long start = System.nanoTime();
+
+    List<Long> seatingConfigIds = bookingRepository.findSeatingConfigIdsWithExpiredHolds(now);
+    int expired = 0;
+    for (long seatingConfigId : seatingConfigIds) {
+      Batch batch;
+      do {
+        try {
+          batch = reapInLockOrder(seatingConfigId, now);
+        } catch (PessimisticLockingFailureException e) {
+          log.debug("Seating config {} is busy; reaping it next sweep", seatingConfigId);
+          break;
+        }
+        expired += batch.expired();
+      } while (batch.locked() == batchSize);
+    }
+
+    Duration took = Duration.ofNanos(System.nanoTime() - start);
+    reaped.add(expired);
+    bookingMetrics.sweepCompleted(took);
+    if (expired > 0) {
+      log.info(
+          "Expired {} hold(s) across {} seating config(s) in {} ms",
+          expired,
+          seatingConfigIds.size(),
+          took.toMillis());
+    }
+    return expired;
+  }
+
+  /** Reaps one batch, taking its locks in the order the concurrency mode's writers use. */
+  private Batch reapInLockOrder(long seatingConfigId, LocalDateTime now) {
+    if (concurrencyMode == ReservationConcurrencyMode.LANES) {
+      return reservationLanes.run(
+          seatingConfigId,
+          () -> transactionTemplate.execute(status -> reapBatch(seatingConfigId, now)));
+    }
+    if (concurrencyMode == ReservationConcurrencyMode.PESSIMISTIC) {
+      return transactionTemplate.execute(
+          status -> {
+            seatingConfigLock.lock(seatingConfigId);
+            return reapBatch(seatingConfigId, now);
+          });
+    }
+    // bookings first, then the counter on seating_config, like cancelBookingOnLane
+    return transactionTemplate.execute(status -> reapBatch(seatingConfigId, now));
+  }
+
+  private Batch reapBatch(long seatingConfigId, LocalDateTime now) {
+    List<Long> bookingIds =
+        bookingRepository.findExpiredHoldIds(seatingConfigId, now, Limit.of(batchSize));
+    if (bookingIds.isEmpty()) return new Batch(0, 0);
+
+    // a row read just before its confirm committed can still be stale; the update re-checks it
+    int expired = bookingRepository.markExpired(bookingIds, now);
+    List<Long> expiredIds =
+        expired == bookingIds.size() ? bookingIds : bookingRepository.findExpiredIds(bookingIds);
+    if (!expiredIds.isEmpty()) {
+      SeatingConfigEntity seatingConfig =
+          seatingConfigRepository.findById(seatingConfigId).orElseThrow();
+      SeatMap released =
+          seatOccupancyRepository.releaseAllSeats(
+              seatingConfigId,
+              seatingConfig.getRowCount(),
+              seatingConfig.getSeatsPerRow(),
+              expiredIds);
+      seatingConfigRepository.adjustAvailableSeats(seatingConfigId, released.takenCount());
+
+      eventPublisher.publishEvent(SeatOccupancyChangedEvent.released(seatingConfigId, released));
+      bookingMetrics.seatsExpired(seatingConfigId, released.takenCount());
+    }
+    return new Batch(bookingIds.size(), expired);
+  }
+
+  /** Holds one batch locked, and how many of them it expired. */
+  private record Batch(int locked, int expired) {}
+
+  /** Total bookings expired by this reaper. */
+  public long reapedCount() {
+    return reaped.sum();
+  }
+}
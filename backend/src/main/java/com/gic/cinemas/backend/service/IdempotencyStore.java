@@ -0,0 +1,92 @@
+package com.gic.cinemas.backend.service;
+
+import com.gic.cinemas.backend.exception.IdempotencyKeyReusedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the outcome of write requests by client-supplied {@code Idempotency-Key}, so a retried
+ * reserve replays the first response instead of placing a second hold.
+ *
+ * <p>Keys are scoped per operation and bound to the request they first arrived with; reusing one
+ * for a different request is rejected. A retry that arrives while the first attempt is still
+ * running waits for it. A failed attempt is forgotten, so it can be retried for real. Entries
+ * expire after {@code ttl} and the store is bounded; it lives in memory, so keys only dedupe
+ * retries that reach the same instance.
+ */
+@Component
+public class IdempotencyStore {
+
+  public static final String HEADER = "Idempotency-Key";
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  private record Key(String operation, String idempotencyKey) {}
+
+  private record Entry(Object fingerprint, CompletableFuture<Object> response) {}
+
+  /** Response of an idempotent call; {@code replayed} if it was served from the store. */
+  public record Result<T>(T response, boolean replayed) {}
+
+  private final Cache<Key, Entry> entries;
+
+  public IdempotencyStore(
+      @Value("${cinemas.booking.idempotency.maximum-size:100000}") long maximumSize,
+      @Value("${cinemas.booking.idempotency.ttl:PT10M}") Duration ttl) {
+    this.entries = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build();
+  }
+
+  /**
+   * Runs {@code action} once per ({@code operation}, {@code idempotencyKey}). Without a key the
+   * action simply runs.
+   *
+   * @param fingerprint the request, compared with {@link Object#equals} against the first use
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Result<T> execute(
+      String operation, String idempotencyKey, Object fingerprint, Supplier<T> action) {
+    if (idempotencyKey == null || idempotencyKey.isBlank()) {
+      return new Result<>(action.get(), false);
+    }
+
+    Key key = new Key(operation, idempotencyKey);
+    Entry entry = new Entry(fingerprint, new CompletableFuture<>());
+    Entry existing = entries.asMap().putIfAbsent(key, entry);
+    if (existing != null) {
+      if (!existing.fingerprint().equals(fingerprint)) {
+        throw new IdempotencyKeyReusedException(idempotencyKey);
+      }
+      return new Result<>((T) await(existing.response()), true);
+    }
+
+    try {
+      T response = action.get();
+      entry.response().complete(response);
+      return new Result<>(response, false);
+    } catch (Throwable e) { // Errors too: waiters on this entry must always be woken
+      entries.asMap().remove(key, entry);
+      entry.response().completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  public long size() {
+    return entries.estimatedSize();
+  }
+
+  private static Object await(CompletableFuture<Object> response) {
+    try {
+      return response.join();
+    } catch (CompletionException e) {
+      // the first attempt failed: report its error, the caller may retry with the same key
+      if (e.getCause() instanceof RuntimeException cause) throw cause;
+      if (e.getCause() instanceof Error cause) throw cause;
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package com.gic.cinemas.backend.service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Wall-clock time spent in each phase of one request, reported as a {@code Server-Timing} header.
+ *
+ * <p>A collector is bound to the request thread with {@link #begin()}. Work handed to a reservation
+ * lane runs on another thread, so the caller reads {@link #current()} before the hand-off and the
+ * lane re-binds it with {@link #runBound}; the caller waits for the lane, which orders the writes
+ * before the header is rendered. A phase recorded twice (a retried claim) accumulates. Without a
+ * bound collector {@link #current()} returns one that records nothing.
+ */
+public final class PhaseTimings {
+
+  public static final String HEADER = "Server-Timing";
+
+  private static final ThreadLocal<PhaseTimings> CURRENT = new ThreadLocal<>();
+  private static final PhaseTimings DISABLED = new PhaseTimings(false);
+
+  private final boolean enabled;
+  private final long startNanos = System.nanoTime();
+  private final Map<String, Long> phases = new LinkedHashMap<>();
+
+  private PhaseTimings(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /** Binds a fresh collector to the calling thread. */
+  public static PhaseTimings begin() {
+    PhaseTimings timings = new PhaseTimings(true);
+    CURRENT.set(timings);
+    return timings;
+  }
+
+  public static void end() {
+    CURRENT.remove();
+  }
+
+  public static PhaseTimings current() {
+    PhaseTimings timings = CURRENT.get();
+    return timings != null ? timings : DISABLED;
+  }
+
+  /**
+   * Runs {@code work} with this collector bound to the calling thread, then restores the old one.
+   */
+  public <T> T runBound(Supplier<T> work) {
+    PhaseTimings previous = CURRENT.get();
+    if (previous == this) return work.get();
+    CURRENT.set(this);
+    try {
+      return work.get();
+    } finally {
+      if (previous != null) CURRENT.set(previous);
+      else CURRENT.remove();
+    }
+  }
+
+  /** False for the collector returned when none is bound to the thread. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public <T> T time(String phase, Supplier<T> work) {
+    if (!enabled) return work.get();
+    long start = System.nanoTime();
+    try {
+      return work.get();
+    } finally {
+      add(phase, System.nanoTime() - start);
+    }
+  }
+
+  public void time(String phase, Runnable work) {
+    time(
+        phase,
+        () -> {
+          work.run();
+          return null;
+        });
+  }
+
+  public synchronized void add(String phase, long nanos) {
+    if (enabled) phases.merge(phase, nanos, Long::sum);
+  }
+
+  public synchronized Map<String, Long> phaseNanos() {
+    return Map.copyOf(phases);
+  }
+
+  public long elapsedNanos() {
+    return System.nanoTime() - startNanos;
+  }
+
+  /** {@code config;dur=0.210, seat-load;dur=0.031, …, total;dur=2.404} (milliseconds). */
+  public synchronized String toServerTiming() {
+    StringJoiner header = new StringJoiner(", ");
+    phases.forEach((phase, nanos) -> header.add(phase + ";dur=" + millis(nanos)));
+    header.add("total;dur=" + millis(elapsedNanos()));
+    return header.toString();
+  }
+
+  /** {@code config=0.210ms seat-load=0.031ms …}, for log lines. */
+  public synchronized String toLogString() {
+    StringJoiner line = new StringJoiner(" ");
+    phases.forEach((phase, nanos) -> line.add(phase + "=" + millis(nanos) + "ms"));
+    return line.toString();
+  }
+
+  private static String millis(long nanos) {
+    return String.format(Locale.ROOT, "%.3f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+  }
+}
@@ -0,0 +1,26 @@
+package com.gic.cinemas.backend.service;
+
+/** How concurrent seat claims on the same seating config are coordinated. */
+public enum ReservationConcurrencyMode {
+  /**
+   * Requests race; the {@code booked_seat} unique constraint picks the winner and the losers fail
+   * with {@code SeatJustTakenException}.
+   */
+  OPTIMISTIC,
+
+  /** Claims for one config run one at a time on that config's {@link ReservationLanes} lane. */
+  LANES,
+
+  /**
+   * Each claim starts by locking the config's {@code seating_config} row, so claims for one config
+   * queue in the database and read the seats their predecessor committed.
+   */
+  PESSIMISTIC,
+
+  /**
+   * Requests race on the config's in-memory {@link com.gic.cinemas.backend.SeatBoard}: each claim
+   * takes its seats with a compare-and-set per row before writing them, so concurrent claims never
+   * pick the same seat and the unique constraint is only a safety net.
+   */
+  CAS
+}
@@ -0,0 +1,93 @@
+package com.gic.cinemas.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Striped single-writer executor. Each seating config maps to one of a fixed number of
+ * single-threaded lanes, so claims for the same config run strictly one after another while
+ * different configs spread across lanes and cores.
+ *
+ * <p>Work runs inline when the caller is already on a lane or inside a transaction: a lane thread
+ * cannot join the caller's transaction, and handing it off would let it commit independently.
+ *
+ * <p>Lanes stay platform threads in the {@link ThreadingMode virtual-threads} mode too: there are
+ * only a few of them and they never idle long. A virtual request thread waiting for its lane blocks
+ * in {@link Future#get()} and releases its carrier meanwhile.
+ */
+@Component
+public class ReservationLanes {
+
+  private static final ThreadLocal<Boolean> ON_LANE = ThreadLocal.withInitial(() -> false);
+
+  private final ExecutorService[] lanes;
+
+  public ReservationLanes(@Value("${cinemas.booking.lanes:0}") int laneCount) {
+    int count = laneCount(laneCount);
+    this.lanes = new ExecutorService[count];
+    for (int i = 0; i < count; i++) {
+      String name = "reservation-lane-" + i;
+      lanes[i] =
+          Executors.newSingleThreadExecutor(
+              task -> {
+                Thread thread =
+                    new Thread(
+                        () -> {
+                          ON_LANE.set(true);
+                          task.run();
+                        },
+                        name);
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+  }
+
+  /** Runs {@code work} on the lane owning {@code seatingConfigId} and waits for its result. */
+  public <T> T run(long seatingConfigId, Supplier<T> work) {
+    if (ON_LANE.get() || TransactionSynchronizationManager.isActualTransactionActive()) {
+      return work.get();
+    }
+
+    Future<T> result = lanes[laneOf(seatingConfigId)].submit(work::get);
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      result.cancel(false);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for reservation lane", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+      if (cause instanceof Error error) throw error;
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  public int laneCount() {
+    return lanes.length;
+  }
+
+  /** Lanes for a {@code cinemas.booking.lanes} setting: 0 means one per available processor. */
+  public static int laneCount(int configured) {
+    return configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+  }
+
+  private int laneOf(long seatingConfigId) {
+    return (int) Math.floorMod(seatingConfigId, (long) lanes.length);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    for (ExecutorService lane : lanes) {
+      lane.shutdown();
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.gic.cinemas.backend.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Grows the Hikari pool so every {@link ReservationLanes lane} can hold a connection and {@code
+ * cinemas.booking.read-connections} are still left for reads. Lanes default to one per processor,
+ * so a fixed {@code maximum-pool-size} that suits one host lets the lanes alone drain it on a
+ * bigger one. A configured pool that is already large enough is left alone; a fixed-size pool
+ * ({@code minimum-idle} equal to the maximum) stays fixed-size.
+ */
+@Slf4j
+@Component
+public class ReservationPoolSizer implements BeanPostProcessor {
+
+  private final int required;
+
+  public ReservationPoolSizer(
+      @Value("${cinemas.booking.lanes:0}") int laneCount,
+      @Value("${cinemas.booking.read-connections:4}") int readConnections) {
+    this.required = ReservationLanes.laneCount(laneCount) + readConnections;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (bean instanceof HikariDataSource dataSource) {
+      size(dataSource);
+    }
+    return bean;
+  }
+
+  private void size(HikariDataSource dataSource) {
+    int configured = dataSource.getMaximumPoolSize();
+    if (configured >= required) return;
+
+    if (dataSource.getMinimumIdle() == configured) {
+      dataSource.setMinimumIdle(required);
+    }
+    dataSource.setMaximumPoolSize(required);
+    log.info(
+        "Connection pool grown from {} to {}: reservation lanes plus read connections",
+        configured,
+        required);
+  }
+}
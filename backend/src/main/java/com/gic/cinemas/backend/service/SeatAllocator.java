@@ -1,173 +1,341 @@
 package com.gic.cinemas.backend.service;
 
+import com.gic.cinemas.backend.SeatBoard;
+import com.gic.cinemas.backend.SeatMap;
 import com.gic.cinemas.backend.SeatMapBuilder;
 import com.gic.cinemas.backend.exception.InvalidStartSeatException;
 import com.gic.cinemas.backend.exception.NoAvailableSeatsException;
+import com.gic.cinemas.backend.jfr.SeatAllocationEvent;
 import com.gic.cinemas.common.dto.SeatDto;
-import java.util.ArrayList;
-import java.util.BitSet;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+/**
+ * Picks seats on a {@link SeatMap}. The {@code int[]} overloads are the allocation-free core: they
+ * write packed seat indices (see {@link SeatMap#seatIndex}) into a caller-supplied buffer and
+ * return how many were written. The {@link SeatDto} overloads wrap them for callers at the API
+ * boundary.
+ *
+ * <p>The {@code claim} methods make the same choice on a shared {@link SeatBoard}, taking the seats
+ * with a compare-and-set per row instead of relying on the caller to serialize claims.
+ *
+ * <p>Every run is reported as a {@link SeatAllocationEvent} to Java Flight Recorder. The overloads
+ * taking a {@code seatingConfigId} tag the event with it; the others report config 0.
+ */
 @Service
 @RequiredArgsConstructor
 public class SeatAllocator {
 
+  private static final long UNKNOWN_SEATING_CONFIG = 0;
+
   public List<SeatDto> allocateDefault(
       int rowCount, int seatsPerRow, int tickets, List<SeatDto> bookedSeats) {
-    BitSet[] seatMap = SeatMapBuilder.buildSeatMap(rowCount, seatsPerRow, bookedSeats);
-    return allocateDefault(seatMap, rowCount, seatsPerRow, tickets);
+    SeatMap seatMap = SeatMapBuilder.buildSeatMap(rowCount, seatsPerRow, bookedSeats);
+    return allocateDefault(seatMap, tickets);
   }
 
-  public List<SeatDto> allocateDefault(
-      BitSet[] seatMap, int rowCount, int seatsPerRow, int tickets) {
-    List<SeatDto> allocatedSeats = new ArrayList<>(tickets);
-    int remaining = tickets;
-
-    // First pass: seats allocation (no mutation)
-    for (int r = 0; r < rowCount && remaining > 0; r++) {
-      BitSet row = seatMap[r];
-      String rowLabel = SeatMapBuilder.toRowLabel(r, rowCount);
-
-      List<Integer> picks = allocateFromCenter(row, seatsPerRow, remaining);
-      for (int seatNumber : picks) {
-        allocatedSeats.add(new SeatDto(rowLabel, seatNumber));
-        if (allocatedSeats.size() == tickets) break;
+  public List<SeatDto> allocateDefault(SeatMap seatMap, int tickets) {
+    return allocateDefault(UNKNOWN_SEATING_CONFIG, seatMap, tickets);
+  }
+
+  public List<SeatDto> allocateDefault(long seatingConfigId, SeatMap seatMap, int tickets) {
+    int[] seats = newSeatBuffer(seatMap, tickets);
+    int allocated = allocateDefault(seatingConfigId, seatMap, tickets, seats);
+    return SeatMap.toSeatDtos(seats, allocated, seatMap.rowCount());
+  }
+
+  /**
+   * Allocates {@code tickets} seats center-out, starting from row A (furthest from the screen) and
+   * overflowing towards the screen row by row. On success the seats are marked taken in {@code
+   * seatMap}; on failure the map is left untouched.
+   *
+   * @return number of seat indices written to {@code out} (always {@code tickets})
+   */
+  public int allocateDefault(SeatMap seatMap, int tickets, int[] out) {
+    return allocateDefault(UNKNOWN_SEATING_CONFIG, seatMap, tickets, out);
+  }
+
+  private int allocateDefault(long seatingConfigId, SeatMap seatMap, int tickets, int[] out) {
+    if (tickets <= 0) return 0;
+
+    SeatAllocationEvent event = beginEvent(seatingConfigId, "default", tickets);
+    int rowsScanned = 0;
+    int committed = 0;
+    try {
+      int available = seatMap.freeCount();
+      if (available < tickets) {
+        throw noAvailableSeats(available, tickets);
       }
-      remaining = tickets - allocatedSeats.size();
-    }
 
-    if (allocatedSeats.size() < tickets) {
-      long available = allocatedSeats.size();
-      throw new NoAvailableSeatsException(
-          String.format("Only %d seat(s) available, requested %d.", available, tickets), available);
-    }
+      // First pass: seats allocation (no mutation)
+      int allocated = 0;
+      for (int r = 0; r < seatMap.rowCount() && allocated < tickets; r++) {
+        allocated =
+            allocateFromCenter(seatMap.row(r), r, seatMap.seatsPerRow(), tickets, out, allocated);
+        rowsScanned++;
+      }
 
-    // Second pass: commit (mutate BitSets)
-    for (SeatDto seat : allocatedSeats) {
-      int rowIndex = SeatMapBuilder.toRowIndex(seat.rowLabel(), rowCount);
-      seatMap[rowIndex].set(seat.seatNumber() - 1); // BitSet is 0-based
+      if (allocated < tickets) {
+        throw noAvailableSeats(allocated, tickets);
+      }
+
+      // Second pass: commit (mutate row masks)
+      commit(seatMap, out, allocated);
+      committed = allocated;
+      return allocated;
+    } finally {
+      endEvent(event, rowsScanned, committed, 0);
     }
+  }
 
-    return allocatedSeats;
+  public List<SeatDto> claimDefault(long seatingConfigId, SeatBoard board, int tickets) {
+    int[] seats = new int[seatBufferSize(board.rowCount(), board.seatsPerRow(), tickets)];
+    int allocated = claimDefault(seatingConfigId, board, tickets, seats);
+    return SeatMap.toSeatDtos(seats, allocated, board.rowCount());
   }
 
-  private List<Integer> allocateFromCenter(BitSet row, int seatsPerRow, int need) {
-    List<Integer> picks = new ArrayList<>(need);
+  /**
+   * Takes {@code tickets} seats on {@code board} with the choice {@link #allocateDefault(SeatMap,
+   * int, int[])} would make: center-out from row A, overflowing towards the screen. Each row's pick
+   * is taken with one compare-and-set; when a concurrent claim changed the row in between, only
+   * that row is planned again from its new state. If the hall runs out part-way, the seats already
+   * taken are freed before failing.
+   *
+   * @return number of seat indices written to {@code out} (always {@code tickets})
+   */
+  public int claimDefault(SeatBoard board, int tickets, int[] out) {
+    return claimDefault(UNKNOWN_SEATING_CONFIG, board, tickets, out);
+  }
+
+  private int claimDefault(long seatingConfigId, SeatBoard board, int tickets, int[] out) {
+    if (tickets <= 0) return 0;
+
+    SeatAllocationEvent event = beginEvent(seatingConfigId, "default", tickets);
+    int rowsScanned = 0;
+    int rowRetries = 0;
+    int committed = 0;
+    try {
+      int available = board.freeCount();
+      if (available < tickets) {
+        throw noAvailableSeats(available, tickets);
+      }
 
+      int allocated = 0;
+      for (int r = 0; r < board.rowCount() && allocated < tickets; r++) {
+        rowsScanned++;
+        while (true) {
+          long taken = board.row(r);
+          int planned = allocateFromCenter(taken, r, board.seatsPerRow(), tickets, out, allocated);
+          if (planned == allocated || board.claimRow(r, taken, colMask(out, allocated, planned))) {
+            allocated = planned;
+            break;
+          }
+          rowRetries++;
+        }
+      }
+
+      if (allocated < tickets) {
+        for (int i = 0; i < allocated; i++) {
+          board.releaseRow(SeatMap.rowOf(out[i]), 1L << SeatMap.colOf(out[i]));
+        }
+        throw noAvailableSeats(allocated, tickets);
+      }
+      committed = allocated;
+      return allocated;
+    } finally {
+      endEvent(event, rowsScanned, committed, rowRetries);
+    }
+  }
+
+  /**
+   * Picks free seats in {@code row} center-out (center-left first for even rows) until {@code
+   * tickets} seats are held in {@code out}.
+   *
+   * @return new number of seats held in {@code out}
+   */
+  private static int allocateFromCenter(
+      long taken, int row, int seatsPerRow, int tickets, int[] out, int allocated) {
     int left = (seatsPerRow - 1) / 2;
     int right = seatsPerRow / 2;
 
-    while (picks.size() < need && (left >= 0 || right < seatsPerRow)) {
+    while (allocated < tickets && (left >= 0 || right < seatsPerRow)) {
       // For odd rows, center seat is same as left == right
-      if (left == right && !row.get(left)) {
-        picks.add(left + 1);
+      if (left == right && !isTaken(taken, left)) {
+        out[allocated++] = SeatMap.seatIndex(row, left);
         left--;
         right++;
         continue;
       }
 
       // For even rows, prefer left side first (center-left), then right
-      if (left >= 0 && !row.get(left) && picks.size() < need) {
-        picks.add(left + 1);
+      if (left >= 0 && !isTaken(taken, left) && allocated < tickets) {
+        out[allocated++] = SeatMap.seatIndex(row, left);
       }
-      if (right < seatsPerRow && !row.get(right) && picks.size() < need) {
-        picks.add(right + 1);
+      if (right < seatsPerRow && !isTaken(taken, right) && allocated < tickets) {
+        out[allocated++] = SeatMap.seatIndex(row, right);
       }
 
       left--;
       right++;
     }
 
-    return picks;
+    return allocated;
   }
 
   public List<SeatDto> allocateFromStartSeat(
       int rowCount, int seatsPerRow, int tickets, SeatDto startSeat, List<SeatDto> bookedSeats) {
-    BitSet[] seatMap = SeatMapBuilder.buildSeatMap(rowCount, seatsPerRow, bookedSeats);
-    return allocateFromStartSeat(seatMap, rowCount, seatsPerRow, tickets, startSeat);
+    SeatMap seatMap = SeatMapBuilder.buildSeatMap(rowCount, seatsPerRow, bookedSeats);
+    return allocateFromStartSeat(seatMap, tickets, startSeat);
   }
 
-  public List<SeatDto> allocateFromStartSeat(
-      BitSet[] seatMap, int rowCount, int seatsPerRow, int tickets, SeatDto startSeat) {
+  public List<SeatDto> allocateFromStartSeat(SeatMap seatMap, int tickets, SeatDto startSeat) {
+    return allocateFromStartSeat(UNKNOWN_SEATING_CONFIG, seatMap, tickets, startSeat);
+  }
 
+  public List<SeatDto> allocateFromStartSeat(
+      long seatingConfigId, SeatMap seatMap, int tickets, SeatDto startSeat) {
     if (tickets <= 0) return List.of();
     if (startSeat == null || startSeat.rowLabel() == null || startSeat.rowLabel().isBlank()) {
       throw new IllegalArgumentException("startSeat must be provided");
     }
 
-    int startRow = SeatMapBuilder.toRowIndex(startSeat.rowLabel(), rowCount);
+    int startRow = SeatMapBuilder.toRowIndex(startSeat.rowLabel(), seatMap.rowCount());
     int startCol = startSeat.seatNumber() - 1; // SeatDto is 1-based
+    if (startCol < 0 || startCol >= seatMap.seatsPerRow()) {
+      throw new InvalidStartSeatException("startSeat out of bounds: " + startSeat);
+    }
+
+    int[] seats = newSeatBuffer(seatMap, tickets);
+    int allocated =
+        allocateFromStartSeat(seatingConfigId, seatMap, tickets, startRow, startCol, seats);
+    return SeatMap.toSeatDtos(seats, allocated, seatMap.rowCount());
+  }
 
+  /**
+   * Allocates {@code tickets} seats starting at ({@code startRow}, {@code startCol}): rightwards
+   * along the start row, then center-out on each following row (towards the screen). On success the
+   * seats are marked taken in {@code seatMap}; on failure the map is left untouched.
+   *
+   * @return number of seat indices written to {@code out} (always {@code tickets})
+   */
+  public int allocateFromStartSeat(
+      SeatMap seatMap, int tickets, int startRow, int startCol, int[] out) {
+    return allocateFromStartSeat(UNKNOWN_SEATING_CONFIG, seatMap, tickets, startRow, startCol, out);
+  }
+
+  private int allocateFromStartSeat(
+      long seatingConfigId, SeatMap seatMap, int tickets, int startRow, int startCol, int[] out) {
+    if (tickets <= 0) return 0;
+
+    int rowCount = seatMap.rowCount();
+    int seatsPerRow = seatMap.seatsPerRow();
     if (startRow < 0 || startRow >= rowCount || startCol < 0 || startCol >= seatsPerRow) {
-      throw new InvalidStartSeatException("startSeat out of bounds: " + startSeat);
+      throw new InvalidStartSeatException(
+          "startSeat out of bounds: row=%d, seat=%d".formatted(startRow, startCol + 1));
     }
 
-    // -----------------------------
-    // Plan allocation (no mutation yet)
-    // -----------------------------
-    List<SeatDto> allocatedSeats = new ArrayList<>(tickets);
-    int remaining = tickets;
-
-    // Start row → allocate to the right greedily
-    remaining -=
-        allocateRightGreedy(
-            seatMap, rowCount, seatsPerRow, startRow, startCol, remaining, allocatedSeats);
-
-    // Overflow rows (toward screen, i.e. increasing row index)
-    for (int r = startRow + 1; r < rowCount && remaining > 0; r++) {
-      BitSet row = seatMap[r];
-      List<Integer> picks = allocateFromCenter(row, seatsPerRow, remaining);
-      if (!picks.isEmpty()) {
-        String rowLabel = SeatMapBuilder.toRowLabel(r, rowCount);
-        for (int seatNum : picks) {
-          allocatedSeats.add(new SeatDto(rowLabel, seatNum));
-          if (allocatedSeats.size() == tickets) break;
-        }
-        remaining = tickets - allocatedSeats.size();
+    SeatAllocationEvent event = beginEvent(seatingConfigId, "from-start-seat", tickets);
+    int rowsScanned = 1;
+    int committed = 0;
+    try {
+      // -----------------------------
+      // Plan allocation (no mutation yet)
+      // -----------------------------
+
+      // Start row → allocate to the right greedily
+      int allocated = allocateRightGreedy(seatMap, startRow, startCol, tickets, out);
+
+      // Overflow rows (toward screen, i.e. increasing row index)
+      for (int r = startRow + 1; r < rowCount && allocated < tickets; r++) {
+        allocated = allocateFromCenter(seatMap.row(r), r, seatsPerRow, tickets, out, allocated);
+        rowsScanned++;
       }
-    }
 
-    // -----------------------------
-    // Validation — all seats available?
-    // -----------------------------
-    if (allocatedSeats.size() < tickets) {
-      long available = allocatedSeats.size();
-      throw new NoAvailableSeatsException(
-          String.format("Only %d seat(s) available, requested %d.", available, tickets), available);
+      // -----------------------------
+      // Validation — all seats available?
+      // -----------------------------
+      if (allocated < tickets) {
+        throw noAvailableSeats(allocated, tickets);
+      }
+
+      // -----------------------------
+      // Commit (mutate row masks)
+      // -----------------------------
+      commit(seatMap, out, allocated);
+      committed = allocated;
+      return allocated;
+    } finally {
+      endEvent(event, rowsScanned, committed, 0);
     }
+  }
 
-    // -----------------------------
-    // Commit (mutate BitSets)
-    // -----------------------------
-    for (SeatDto seat : allocatedSeats) {
-      int rowIndex = SeatMapBuilder.toRowIndex(seat.rowLabel(), rowCount);
-      seatMap[rowIndex].set(seat.seatNumber() - 1); // BitSet is 0-based
+  private int allocateRightGreedy(SeatMap seatMap, int row, int startCol, int tickets, int[] out) {
+    long taken = seatMap.row(row);
+    int allocated = 0;
+
+    for (int c = startCol; c < seatMap.seatsPerRow() && allocated < tickets; c++) {
+      if (isTaken(taken, c)) continue; // skip taken; no contiguity requirement
+      out[allocated++] = SeatMap.seatIndex(row, c);
     }
+    return allocated;
+  }
 
-    return allocatedSeats;
+  // ---------------------------------------
+  // Utility
+  // ---------------------------------------
+
+  private static boolean isTaken(long row, int col) {
+    return (row & (1L << col)) != 0;
   }
 
-  private int allocateRightGreedy(
-      BitSet[] seatMap,
-      int rowCount,
-      int seatsPerRow,
-      int row,
-      int startCol,
-      int need,
-      List<SeatDto> out) {
+  /** Bit mask of the columns of {@code seats[from..to)}, which all lie in one row. */
+  private static long colMask(int[] seats, int from, int to) {
+    long mask = 0;
+    for (int i = from; i < to; i++) {
+      mask |= 1L << SeatMap.colOf(seats[i]);
+    }
+    return mask;
+  }
 
-    if (need <= 0) return 0;
-    String rowLabel = SeatMapBuilder.toRowLabel(row, rowCount);
-    int taken = 0;
+  private static void commit(SeatMap seatMap, int[] seats, int count) {
+    for (int i = 0; i < count; i++) {
+      seatMap.take(seats[i]);
+    }
+  }
 
-    for (int c = startCol; c < seatsPerRow && taken < need; c++) {
-      if (seatMap[row].get(c)) continue; // skip taken; no contiguity requirement
-      out.add(new SeatDto(rowLabel, c + 1)); // DTO is 1-based
-      seatMap[row].set(c); // mark taken in transient map
-      taken++;
+  private static SeatAllocationEvent beginEvent(
+      long seatingConfigId, String strategy, int tickets) {
+    SeatAllocationEvent event = new SeatAllocationEvent();
+    event.begin();
+    event.seatingConfigId = seatingConfigId;
+    event.strategy = strategy;
+    event.tickets = tickets;
+    return event;
+  }
+
+  private static void endEvent(
+      SeatAllocationEvent event, int rowsScanned, int seatsAllocated, int rowRetries) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.rowsScanned = rowsScanned;
+      event.rowRetries = rowRetries;
+      event.seatsAllocated = seatsAllocated;
+      event.commit();
     }
-    return taken;
+  }
+
+  /** Big enough for any successful allocation, without trusting {@code tickets} for its size. */
+  private static int[] newSeatBuffer(SeatMap seatMap, int tickets) {
+    return new int[seatBufferSize(seatMap.rowCount(), seatMap.seatsPerRow(), tickets)];
+  }
+
+  private static int seatBufferSize(int rowCount, int seatsPerRow, int tickets) {
+    return Math.max(0, Math.min(tickets, rowCount * seatsPerRow));
+  }
+
+  private static NoAvailableSeatsException noAvailableSeats(long available, int tickets) {
+    return new NoAvailableSeatsException(
+        String.format("Only %d seat(s) available, requested %d.", available, tickets), available);
   }
 }
@@ -0,0 +1,121 @@
+package com.gic.cinemas.backend.service;
+
+import com.gic.cinemas.backend.model.SeatingConfigEntity;
+import com.gic.cinemas.backend.repository.SeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatingConfigLock;
+import com.gic.cinemas.backend.repository.SeatingConfigRepository;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Rebuilds {@code seating_config.available_seats} from the seat occupancy store. The counter is
+ * updated in the same transaction as every claim and release, so drift only comes from writes made
+ * outside the booking services; this job puts it right.
+ *
+ * <p>No claim or release may commit between the count and the write, or its counter delta is
+ * overwritten. In {@link ReservationConcurrencyMode#LANES} mode each config is recounted on its
+ * reservation lane. The other modes claim off the lanes, so the recount first takes the config's
+ * row lock: every claim and release adjusts the counter on that row before it commits, so one that
+ * is already in flight either commits before the count or waits for the write to commit and then
+ * applies its delta on top. A config whose lock is busy is left for the next run.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(
+    name = "cinemas.seating.reconciler.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class SeatAvailabilityReconciler {
+
+  private final SeatingConfigRepository seatingConfigRepository;
+  private final SeatOccupancyRepository seatOccupancyRepository;
+  private final ReservationLanes reservationLanes;
+  private final TransactionTemplate transactionTemplate;
+  private final SeatingConfigVersions seatingConfigVersions;
+  private final SeatingConfigLock seatingConfigLock;
+  private final ReservationConcurrencyMode concurrencyMode;
+
+  public SeatAvailabilityReconciler(
+      SeatingConfigRepository seatingConfigRepository,
+      SeatOccupancyRepository seatOccupancyRepository,
+      ReservationLanes reservationLanes,
+      TransactionTemplate transactionTemplate,
+      SeatingConfigVersions seatingConfigVersions,
+      SeatingConfigLock seatingConfigLock,
+      @Value("${cinemas.booking.concurrency-mode:LANES}")
+          ReservationConcurrencyMode concurrencyMode) {
+    this.seatingConfigRepository = seatingConfigRepository;
+    this.seatOccupancyRepository = seatOccupancyRepository;
+    this.reservationLanes = reservationLanes;
+    this.transactionTemplate = transactionTemplate;
+    this.seatingConfigVersions = seatingConfigVersions;
+    this.seatingConfigLock = seatingConfigLock;
+    this.concurrencyMode = concurrencyMode;
+  }
+
+  @Scheduled(
+      initialDelayString = "${cinemas.seating.reconciler.interval:PT5M}",
+      fixedDelayString = "${cinemas.seating.reconciler.interval:PT5M}")
+  public void scheduledReconcile() {
+    reconcile();
+  }
+
+  /**
+   * @return number of seating configs whose counter was corrected
+   */
+  public int reconcile() {
+    List<Long> seatingConfigIds = seatingConfigRepository.findAllIds();
+    int corrected = 0;
+    for (long seatingConfigId : seatingConfigIds) {
+      boolean fixed;
+      try {
+        fixed = exclusively(seatingConfigId);
+      } catch (PessimisticLockingFailureException e) {
+        log.debug("Seating config {} is busy; recounting it next run", seatingConfigId);
+        continue;
+      }
+      if (fixed) {
+        seatingConfigVersions.bump(seatingConfigId); // committed: cached counts are stale
+        corrected++;
+      }
+    }
+    if (corrected > 0) {
+      log.warn(
+          "Corrected available-seat counter on {} of {} seating config(s)",
+          corrected,
+          seatingConfigIds.size());
+    }
+    return corrected;
+  }
+
+  /** Recounts one config with no claim or release able to commit in between. */
+  private boolean exclusively(long seatingConfigId) {
+    if (concurrencyMode == ReservationConcurrencyMode.LANES) {
+      return reservationLanes.run(
+          seatingConfigId,
+          () -> transactionTemplate.execute(status -> reconcile(seatingConfigId)));
+    }
+    return transactionTemplate.execute(
+        status -> {
+          seatingConfigLock.lock(seatingConfigId);
+          return reconcile(seatingConfigId);
+        });
+  }
+
+  private boolean reconcile(long seatingConfigId) {
+    SeatingConfigEntity seatingConfig =
+        seatingConfigRepository.findById(seatingConfigId).orElseThrow();
+    int rowCount = seatingConfig.getRowCount();
+    int seatsPerRow = seatingConfig.getSeatsPerRow();
+
+    long taken = seatOccupancyRepository.countTakenSeats(seatingConfigId);
+    long available = (long) rowCount * seatsPerRow - taken;
+    return seatingConfigRepository.resetAvailableSeats(seatingConfigId, available) > 0;
+  }
+}
@@ -0,0 +1,228 @@
+package com.gic.cinemas.backend.service;
+
+import com.gic.cinemas.backend.SeatMap;
+import com.gic.cinemas.backend.event.SeatOccupancyChangedEvent;
+import com.gic.cinemas.backend.exception.SeatingConfigNotFoundException;
+import com.gic.cinemas.backend.repository.SeatingConfigRepository;
+import com.gic.cinemas.common.dto.response.SeatAvailabilityUpdate;
+import com.gic.cinemas.common.dto.response.SeatingAvailabilityResponse;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes seat availability of a seating config to Server-Sent Events subscribers, so clients can
+ * keep their counts current without polling.
+ *
+ * <p>Committed {@link SeatOccupancyChangedEvent}s are folded into one pending delta per config and
+ * sent from a single publisher thread, never from the committing (lane) thread. A burst of bookings
+ * therefore costs one counter read and one event per subscriber, however many commits it spans.
+ */
+@Slf4j
+@Service
+public class SeatAvailabilityStream {
+
+  private final SeatingConfigHelper seatingConfigHelper;
+  private final SeatingConfigRepository seatingConfigRepository;
+  private final SeatStateCache seatStateCache;
+  private final long timeoutMillis;
+
+  private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+  private final Map<Long, PendingDelta> pending = new ConcurrentHashMap<>();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+  private final ExecutorService publisher;
+
+  public SeatAvailabilityStream(
+      SeatingConfigHelper seatingConfigHelper,
+      SeatingConfigRepository seatingConfigRepository,
+      SeatStateCache seatStateCache,
+      ThreadingMode threadingMode,
+      @Value("${cinemas.seating.stream.timeout:PT30M}") Duration timeout) {
+    this.seatingConfigHelper = seatingConfigHelper;
+    this.seatingConfigRepository = seatingConfigRepository;
+    this.seatStateCache = seatStateCache;
+    this.timeoutMillis = timeout.toMillis();
+    this.publisher =
+        Executors.newSingleThreadExecutor(threadingMode.threadFactory("seat-availability-stream"));
+  }
+
+  /**
+   * Opens a stream for an existing seating config. The first event carries the current count and
+   * the full seat map; it is sent from the publisher thread like every later update, so updates
+   * reach each subscriber in order.
+   */
+  public SseEmitter subscribe(String movieTitle, int rowCount, int seatsPerRow) {
+    String normalizedTitle = movieTitle.trim();
+    SeatingConfigRef seatingConfig =
+        seatingConfigHelper
+            .findSeatingConfig(normalizedTitle, rowCount, seatsPerRow)
+            .orElseThrow(
+                () -> new SeatingConfigNotFoundException(normalizedTitle, rowCount, seatsPerRow));
+    long seatingConfigId = seatingConfig.id();
+
+    SseEmitter emitter = new SseEmitter(timeoutMillis);
+    emitter.onCompletion(() -> unsubscribe(seatingConfigId, emitter));
+    emitter.onTimeout(emitter::complete);
+    emitter.onError(e -> unsubscribe(seatingConfigId, emitter));
+
+    // on the publisher thread, so no flush can reach this emitter ahead of its first event
+    try {
+      publisher.execute(() -> sendInitial(seatingConfigId, rowCount, seatsPerRow, emitter));
+    } catch (RejectedExecutionException e) {
+      emitter.completeWithError(e);
+    }
+    return emitter;
+  }
+
+  public int subscriberCount() {
+    return subscribers.values().stream().mapToInt(Set::size).sum();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onSeatOccupancyChanged(SeatOccupancyChangedEvent event) {
+    long seatingConfigId = event.seatingConfigId();
+    Set<SseEmitter> emitters = subscribers.get(seatingConfigId);
+    if (emitters == null || emitters.isEmpty()) return;
+
+    pending.compute(
+        seatingConfigId,
+        (id, delta) -> (delta != null ? delta : new PendingDelta(event)).apply(event));
+    if (flushScheduled.compareAndSet(false, true) && !publisher.isShutdown()) {
+      publisher.execute(this::flush);
+    }
+  }
+
+  /** Comment lines keep idle connections open through proxies and detect dead clients. */
+  @Scheduled(
+      initialDelayString = "${cinemas.seating.stream.heartbeat:PT30S}",
+      fixedDelayString = "${cinemas.seating.stream.heartbeat:PT30S}")
+  public void heartbeat() {
+    if (!publisher.isShutdown()) publisher.execute(this::sendHeartbeats);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    publisher.shutdownNow();
+    subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+    subscribers.clear();
+  }
+
+  private void sendHeartbeats() {
+    subscribers.forEach(
+        (seatingConfigId, emitters) -> {
+          for (SseEmitter emitter : emitters) {
+            try {
+              emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+              unsubscribe(seatingConfigId, emitter);
+            }
+          }
+        });
+  }
+
+  private void flush() {
+    flushScheduled.set(false);
+    for (Long seatingConfigId : pending.keySet()) {
+      PendingDelta delta = pending.remove(seatingConfigId);
+      Set<SseEmitter> emitters = subscribers.get(seatingConfigId);
+      if (delta == null || emitters == null || emitters.isEmpty()) continue;
+
+      SeatAvailabilityUpdate update =
+          new SeatAvailabilityUpdate(
+              availableSeats(seatingConfigId),
+              null,
+              delta.released.toBitmap(),
+              delta.claimed.toBitmap());
+      for (SseEmitter emitter : emitters) {
+        send(seatingConfigId, emitter, update);
+      }
+    }
+  }
+
+  private void sendInitial(
+      long seatingConfigId, int rowCount, int seatsPerRow, SseEmitter emitter) {
+    subscribers.compute(
+        seatingConfigId,
+        (id, emitters) -> {
+          Set<SseEmitter> subscribed = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+          subscribed.add(emitter);
+          return subscribed;
+        });
+
+    // registered before reading, so a commit in between is sent again rather than lost
+    try {
+      SeatMap takenSeats = seatStateCache.snapshot(seatingConfigId, rowCount, seatsPerRow);
+      long availableSeats = availableSeats(seatingConfigId);
+      send(
+          seatingConfigId,
+          emitter,
+          new SeatAvailabilityUpdate(availableSeats, takenSeats.toBitmap(), null, null));
+    } catch (RuntimeException e) {
+      unsubscribe(seatingConfigId, emitter);
+      emitter.completeWithError(e);
+    }
+  }
+
+  private long availableSeats(long seatingConfigId) {
+    return seatingConfigRepository
+        .findAvailabilityById(seatingConfigId)
+        .map(SeatingAvailabilityResponse::availableSeatsCount)
+        .orElse(0L);
+  }
+
+  private void send(long seatingConfigId, SseEmitter emitter, SeatAvailabilityUpdate update) {
+    try {
+      emitter.send(
+          SseEmitter.event()
+              .name(SeatAvailabilityUpdate.EVENT_NAME)
+              .data(update, MediaType.APPLICATION_JSON));
+    } catch (IOException | IllegalStateException e) {
+      log.debug("Dropping availability subscriber of seating config {}", seatingConfigId, e);
+      unsubscribe(seatingConfigId, emitter);
+    }
+  }
+
+  private void unsubscribe(long seatingConfigId, SseEmitter emitter) {
+    subscribers.computeIfPresent(
+        seatingConfigId,
+        (id, emitters) -> {
+          emitters.remove(emitter);
+          return emitters.isEmpty() ? null : emitters;
+        });
+  }
+
+  /**
+   * Net effect of several occupancy changes: release {@code released}, then take {@code claimed}.
+   */
+  private static final class PendingDelta {
+    private final SeatMap released;
+    private final SeatMap claimed;
+
+    PendingDelta(SeatOccupancyChangedEvent first) {
+      SeatMap layout = first.claimed();
+      this.released = new SeatMap(layout.rowCount(), layout.seatsPerRow());
+      this.claimed = new SeatMap(layout.rowCount(), layout.seatsPerRow());
+    }
+
+    PendingDelta apply(SeatOccupancyChangedEvent event) {
+      released.takeAll(event.released());
+      claimed.releaseAll(event.released());
+      claimed.takeAll(event.claimed());
+      return this;
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.gic.cinemas.backend.service;
+
+import com.gic.cinemas.backend.exception.SeatJustTakenException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded server-side retry for seat claims that lose a race on the booked-seat unique constraint.
+ * Each attempt must run in its own transaction and re-read the taken seats, so a retry re-plans
+ * against the seats that beat it. Backoff is exponential with full jitter, capped by both {@code
+ * max-attempts} and a wall-clock {@code budget}; when either runs out the last {@link
+ * SeatJustTakenException} reaches the client as a 409.
+ *
+ * <p>Inside a caller's transaction there is nothing to retry: the failed flush has already marked
+ * it rollback-only, so the claim runs exactly once.
+ */
+@Component
+public class SeatClaimRetry {
+
+  private final int maxAttempts;
+  private final long initialBackoffNanos;
+  private final long maxBackoffNanos;
+  private final long budgetNanos;
+
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder exhausted = new LongAdder();
+
+  public SeatClaimRetry(
+      @Value("${cinemas.booking.retry.max-attempts:4}") int maxAttempts,
+      @Value("${cinemas.booking.retry.initial-backoff:2ms}") Duration initialBackoff,
+      @Value("${cinemas.booking.retry.max-backoff:25ms}") Duration maxBackoff,
+      @Value("${cinemas.booking.retry.budget:100ms}") Duration budget) {
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.initialBackoffNanos = initialBackoff.toNanos();
+    this.maxBackoffNanos = Math.max(initialBackoffNanos, maxBackoff.toNanos());
+    this.budgetNanos = budget.toNanos();
+  }
+
+  /**
+   * Runs {@code attempt}, retrying on {@link SeatJustTakenException} within the configured budget.
+   */
+  public <T> T run(Supplier<T> attempt) {
+    if (maxAttempts == 1 || TransactionSynchronizationManager.isActualTransactionActive()) {
+      return attempt.get();
+    }
+
+    long deadline = System.nanoTime() + budgetNanos;
+    long backoff = initialBackoffNanos;
+    for (int attemptNo = 1; ; attemptNo++) {
+      try {
+        return attempt.get();
+      } catch (SeatJustTakenException e) {
+        long pause = ThreadLocalRandom.current().nextLong(backoff + 1);
+        if (attemptNo >= maxAttempts || System.nanoTime() + pause >= deadline) {
+          exhausted.increment();
+          throw e;
+        }
+        retries.increment();
+        sleep(pause, e);
+        backoff = Math.min(backoff * 2, maxBackoffNanos);
+      }
+    }
+  }
+
+  /** Number of claims re-run after a conflict. */
+  public long retryCount() {
+    return retries.sum();
+  }
+
+  /** Number of claims that still conflicted when attempts or budget ran out. */
+  public long exhaustedCount() {
+    return exhausted.sum();
+  }
+
+  private static void sleep(long nanos, SeatJustTakenException conflict) {
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw conflict;
+    }
+  }
+}
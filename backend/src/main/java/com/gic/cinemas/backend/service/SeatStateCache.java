@@ -0,0 +1,82 @@
+package com.gic.cinemas.backend.service;
+
+import com.gic.cinemas.backend.SeatBoard;
+import com.gic.cinemas.backend.SeatMap;
+import com.gic.cinemas.backend.event.SeatOccupancyChangedEvent;
+import com.gic.cinemas.backend.repository.SeatOccupancyRepository;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory seat occupancy per seating config (seats held by PENDING or CONFIRMED bookings), kept
+ * on a lock-free {@link SeatBoard}.
+ *
+ * <p>An entry is loaded from the {@link SeatOccupancyRepository} on first use and from then on
+ * changes through {@link SeatOccupancyChangedEvent}s, applied once the publishing transaction has
+ * committed. The cache therefore never shows seats from a transaction that may still roll back,
+ * except in {@link ReservationConcurrencyMode#CAS} mode, where claims take their seats on the
+ * {@link #board} first and hand them back if they roll back.
+ *
+ * <p>A change that commits while an entry is loading may or may not be in the rows read, and finds
+ * no board to apply to. Every change therefore bumps a per-config generation, loaded or not, and a
+ * load that straddles a bump is thrown away and read again. A missed claim would only cost a
+ * unique-constraint conflict, but a missed release would keep its seats taken for good.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatStateCache {
+
+  private static final int MAX_LOAD_ATTEMPTS = 5;
+
+  private final SeatOccupancyRepository seatOccupancyRepository;
+  private final Map<Long, SeatBoard> boards = new ConcurrentHashMap<>();
+  private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+  /** Returns a private copy of the taken seats, loading the config on first use. */
+  public SeatMap snapshot(long seatingConfigId, int rowCount, int seatsPerRow) {
+    return board(seatingConfigId, rowCount, seatsPerRow).snapshot();
+  }
+
+  /** The live board of a config, loading it on first use. */
+  public SeatBoard board(long seatingConfigId, int rowCount, int seatsPerRow) {
+    SeatBoard board = boards.get(seatingConfigId);
+    for (int attempt = 1; board == null; attempt++) {
+      AtomicLong generation = generation(seatingConfigId);
+      long before = generation.get();
+      SeatBoard loaded =
+          SeatBoard.of(
+              seatOccupancyRepository.findTakenSeats(seatingConfigId, rowCount, seatsPerRow));
+      // installed only if no change committed since the read began; atomic with the check, so a
+      // change bumping right after still finds the board to apply to
+      board =
+          boards.compute(
+              seatingConfigId,
+              (id, existing) ->
+                  existing != null ? existing : generation.get() == before ? loaded : null);
+      if (board == null && attempt == MAX_LOAD_ATTEMPTS) {
+        return loaded; // config under constant change: serve this read uncached
+      }
+    }
+    return board;
+  }
+
+  public void evict(long seatingConfigId) {
+    boards.remove(seatingConfigId);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onSeatOccupancyChanged(SeatOccupancyChangedEvent event) {
+    generation(event.seatingConfigId()).incrementAndGet();
+    SeatBoard board = boards.get(event.seatingConfigId());
+    if (board == null) return; // not loaded yet; a load in flight sees the bump and reads again
+    board.apply(event.released(), event.claimed());
+  }
+
+  private AtomicLong generation(long seatingConfigId) {
+    return generations.computeIfAbsent(seatingConfigId, id -> new AtomicLong());
+  }
+}
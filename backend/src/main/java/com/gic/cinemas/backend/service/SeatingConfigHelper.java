@@ -2,45 +2,120 @@ package com.gic.cinemas.backend.service;
 
 import com.gic.cinemas.backend.model.SeatingConfigEntity;
 import com.gic.cinemas.backend.repository.SeatingConfigRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Resolves (title, rows, seats per row) to a seating config. Configs are never changed or removed,
+ * so resolved configs are kept in a bounded in-process cache; a cold key is loaded once even under
+ * concurrent callers.
+ *
+ * <p>The cache is bypassed inside a caller's transaction: a config created there may still roll
+ * back, and must not be remembered before it commits. Its hit, miss, load and eviction counts are
+ * exported as the {@code cache.*} meters tagged {@code cache=seating-config}.
+ */
 @Service
-@RequiredArgsConstructor
 public class SeatingConfigHelper {
 
+  private static final String CACHE_NAME = "seating-config";
+
+  private record Key(String movieTitle, int rowCount, int seatsPerRow) {}
+
   private final SeatingConfigRepository seatingConfigRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final Cache<Key, SeatingConfigRef> cache;
 
-  @Transactional
-  public SeatingConfigEntity findOrCreateSeatingConfig(
+  public SeatingConfigHelper(
+      SeatingConfigRepository seatingConfigRepository,
+      TransactionTemplate transactionTemplate,
+      MeterRegistry registry,
+      @Value("${cinemas.seating.config-cache.maximum-size:10000}") long maximumSize,
+      @Value("${cinemas.seating.config-cache.expire-after-write:PT10M}")
+          Duration expireAfterWrite) {
+    this.seatingConfigRepository = seatingConfigRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+  }
+
+  public SeatingConfigRef findOrCreateSeatingConfig(
       String movieTitle, int rowCount, int seatsPerRow) {
+    Key key = new Key(movieTitle.trim(), rowCount, seatsPerRow);
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return findOrCreate(key);
+    }
+    return cache.get(key, k -> transactionTemplate.execute(status -> findOrCreate(k)));
+  }
+
+  /** Looks up an existing config; a miss is not cached, since the config may be created later. */
+  public Optional<SeatingConfigRef> findSeatingConfig(
+      String movieTitle, int rowCount, int seatsPerRow) {
+    Key key = new Key(movieTitle.trim(), rowCount, seatsPerRow);
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return find(key);
+    }
+    return Optional.ofNullable(cache.get(key, k -> find(k).orElse(null)));
+  }
+
+  public CacheStats cacheStats() {
+    return cache.stats();
+  }
+
+  private Optional<SeatingConfigRef> find(Key key) {
+    return seatingConfigRepository
+        .findByTitleAndLayout(key.movieTitle(), key.rowCount(), key.seatsPerRow())
+        .map(SeatingConfigHelper::toRef);
+  }
+
+  private SeatingConfigRef findOrCreate(Key key) {
+    String movieTitle = key.movieTitle();
+    int rowCount = key.rowCount();
+    int seatsPerRow = key.seatsPerRow();
+
     Long seatingConfigId =
         seatingConfigRepository
             .findIdByTitleAndLayout(movieTitle, rowCount, seatsPerRow)
             .orElse(null);
 
-    SeatingConfigEntity seatingConfigEntity;
     if (seatingConfigId == null) {
       // create seating config since not found
       try {
-        seatingConfigEntity = new SeatingConfigEntity(movieTitle, rowCount, seatsPerRow);
-        seatingConfigEntity = seatingConfigRepository.saveAndFlush(seatingConfigEntity);
+        SeatingConfigEntity seatingConfigEntity =
+            new SeatingConfigEntity(movieTitle, rowCount, seatsPerRow);
+        seatingConfigId = seatingConfigRepository.saveAndFlush(seatingConfigEntity).getId();
         // in the case of race condition, runner-up fails to create config.
         // runner-up will use the seating config created by winner.
       } catch (DataIntegrityViolationException e) {
-        Long existingId =
+        seatingConfigId =
             seatingConfigRepository
                 .findIdByTitleAndLayout(movieTitle, rowCount, seatsPerRow)
                 .orElseThrow(() -> e);
-        seatingConfigEntity = seatingConfigRepository.getReferenceById(existingId);
       }
-      // seating config is found
-    } else {
-      seatingConfigEntity = seatingConfigRepository.getReferenceById(seatingConfigId);
     }
 
-    return seatingConfigEntity;
+    return new SeatingConfigRef(seatingConfigId, movieTitle, rowCount, seatsPerRow);
+  }
+
+  private static SeatingConfigRef toRef(SeatingConfigEntity seatingConfig) {
+    return new SeatingConfigRef(
+        seatingConfig.getId(),
+        seatingConfig.getMovieTitle(),
+        seatingConfig.getRowCount(),
+        seatingConfig.getSeatsPerRow());
   }
 }
@@ -0,0 +1,4 @@
+package com.gic.cinemas.backend.service;
+
+/** Identity and layout of a seating config, safe to share across threads and transactions. */
+public record SeatingConfigRef(long id, String movieTitle, int rowCount, int seatsPerRow) {}
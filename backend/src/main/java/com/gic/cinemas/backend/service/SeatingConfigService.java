@@ -1,19 +1,16 @@
 package com.gic.cinemas.backend.service;
 
 import com.gic.cinemas.backend.exception.SeatingConfigNotFoundException;
-import com.gic.cinemas.backend.model.SeatingConfigEntity;
-import com.gic.cinemas.backend.repository.BookedSeatRepository;
 import com.gic.cinemas.backend.repository.SeatingConfigRepository;
 import com.gic.cinemas.common.dto.response.SeatingAvailabilityResponse;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class SeatingConfigService {
 
-  private final BookedSeatRepository bookedSeatRepository;
   private final SeatingConfigRepository seatingConfigRepository;
   private final SeatingConfigHelper seatingConfigHelper;
 
@@ -21,48 +18,35 @@ public class SeatingConfigService {
    * Find a seating configuration by (movieTitle, rowCount, seatsPerRow). If not found, create one.
    * Then return a simple response.
    */
-  @Transactional
   public SeatingAvailabilityResponse findOrCreateSeatingConfig(
       String movieTitle, int rowCount, int seatsPerRow) {
     final String normalizedTitle = movieTitle.trim();
 
-    SeatingConfigEntity seatingConfigEntity =
+    SeatingConfigRef seatingConfig =
         seatingConfigHelper.findOrCreateSeatingConfig(normalizedTitle, rowCount, seatsPerRow);
 
-    Long availableSeatsCount =
-        bookedSeatRepository
-            .countAvailableSeatsByConfigId(seatingConfigEntity.getId())
-            .orElseThrow(
-                () -> new SeatingConfigNotFoundException(normalizedTitle, rowCount, seatsPerRow));
+    return seatingConfigRepository
+        .findAvailabilityById(seatingConfig.id())
+        .orElseThrow(
+            () -> new SeatingConfigNotFoundException(normalizedTitle, rowCount, seatsPerRow));
+  }
 
-    return new SeatingAvailabilityResponse(
-        seatingConfigEntity.getMovieTitle(),
-        seatingConfigEntity.getRowCount(),
-        seatingConfigEntity.getSeatsPerRow(),
-        availableSeatsCount);
+  /** Config id from the lookup cache, without touching the counter. */
+  public Optional<Long> findSeatingConfigId(String movieTitle, int rowCount, int seatsPerRow) {
+    return seatingConfigHelper
+        .findSeatingConfig(movieTitle.trim(), rowCount, seatsPerRow)
+        .map(SeatingConfigRef::id);
   }
 
-  @Transactional(readOnly = true)
   public SeatingAvailabilityResponse getSeatingAvailability(
       String movieTitle, int rowCount, int seatsPerRow) {
     final String normalizedTitle = movieTitle.trim();
 
-    SeatingConfigEntity seatingConfig =
-        seatingConfigRepository
-            .findByTitleAndLayout(movieTitle.trim(), rowCount, seatsPerRow)
-            .orElseThrow(
-                () -> new SeatingConfigNotFoundException(normalizedTitle, rowCount, seatsPerRow));
-
-    Long availableSeatsCount =
-        bookedSeatRepository
-            .countAvailableSeatsByConfigId(seatingConfig.getId())
-            .orElseThrow(
-                () -> new SeatingConfigNotFoundException(normalizedTitle, rowCount, seatsPerRow));
-
-    return new SeatingAvailabilityResponse(
-        seatingConfig.getMovieTitle(),
-        seatingConfig.getRowCount(),
-        seatingConfig.getSeatsPerRow(),
-        availableSeatsCount);
+    // config id comes from the cache; the counter is a primary-key lookup
+    return seatingConfigHelper
+        .findSeatingConfig(normalizedTitle, rowCount, seatsPerRow)
+        .flatMap(seatingConfig -> seatingConfigRepository.findAvailabilityById(seatingConfig.id()))
+        .orElseThrow(
+            () -> new SeatingConfigNotFoundException(normalizedTitle, rowCount, seatsPerRow));
   }
 }
@@ -0,0 +1,51 @@
+package com.gic.cinemas.backend.service;
+
+import com.gic.cinemas.backend.event.BookingStatusChangedEvent;
+import com.gic.cinemas.backend.event.SeatOccupancyChangedEvent;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Version counter per seating config, bumped after every committed seat or booking-status change.
+ * Responses derived from a config's bookings use it as their ETag, so a client revalidating an
+ * unchanged config gets a 304 without the count or seat queries being run.
+ *
+ * <p>Versions live in memory. The ETag carries a per-process epoch, so a restart (or another
+ * instance) can never answer 304 for a body it did not produce; it only costs one full response.
+ * Callers must read the version <em>before</em> building the body: a commit in between then yields
+ * an older tag on a newer body, which revalidates once more, never the reverse.
+ */
+@Component
+public class SeatingConfigVersions {
+
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+  private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+  public long current(long seatingConfigId) {
+    AtomicLong version = versions.get(seatingConfigId);
+    return version != null ? version.get() : 0;
+  }
+
+  public void bump(long seatingConfigId) {
+    versions.computeIfAbsent(seatingConfigId, id -> new AtomicLong()).incrementAndGet();
+  }
+
+  /** Strong ETag for the config's current version; {@code variant} tells representations apart. */
+  public String etag(long seatingConfigId, String variant) {
+    String tag = epoch + "." + seatingConfigId + "." + current(seatingConfigId);
+    return "\"" + (variant != null ? tag + "-" + variant : tag) + "\"";
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onSeatOccupancyChanged(SeatOccupancyChangedEvent event) {
+    bump(event.seatingConfigId());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+    bump(event.seatingConfigId());
+  }
+}
@@ -0,0 +1,54 @@
+package com.gic.cinemas.backend.service;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Whether the backend runs on virtual threads ({@code spring.threads.virtual.enabled}, see the
+ * {@code virtual-threads} profile). Spring Boot then serves requests and runs {@code @Scheduled}
+ * sweeps on virtual threads; this class hands the same choice to the backend's own background
+ * threads.
+ *
+ * <p>Virtual threads need a Java 21 runtime. On an older runtime the property is ignored by Spring
+ * Boot, and here too, with a warning, so the same build runs in either mode.
+ */
+@Slf4j
+@Component
+public class ThreadingMode {
+
+  private final boolean virtual;
+
+  public ThreadingMode(Environment environment) {
+    this.virtual = Threading.VIRTUAL.isActive(environment);
+    if (virtual) {
+      log.info("Request handling and background work run on virtual threads");
+    } else if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+      log.warn(
+          "spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+              + "running on platform threads (needs Java 21+)",
+          Runtime.version().feature());
+    }
+  }
+
+  public boolean isVirtual() {
+    return virtual;
+  }
+
+  /** Daemon threads named after {@code name}; virtual when the mode is on. */
+  public ThreadFactory threadFactory(String name) {
+    if (virtual) {
+      return new VirtualThreadTaskExecutor(name + "-").getVirtualThreadFactory();
+    }
+    AtomicInteger next = new AtomicInteger();
+    return task -> {
+      Thread thread = new Thread(task, name + "-" + next.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -0,0 +1,3 @@
+-- Booking codes (GIC0001, GIC0002, ...) are handed out in blocks by BookingIdAllocator.
+-- INCREMENT BY must match BookingIdAllocator.BLOCK_SIZE.
+CREATE SEQUENCE IF NOT EXISTS booking_code_seq START WITH 1 INCREMENT BY 50;
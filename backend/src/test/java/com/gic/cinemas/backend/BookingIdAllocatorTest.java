@@ -0,0 +1,79 @@
+package com.gic.cinemas.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.gic.cinemas.backend.repository.BookingRepository;
+import com.gic.cinemas.backend.service.BookingIdAllocator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BookingIdAllocatorTest {
+
+  private static final int BLOCK = BookingIdAllocator.BLOCK_SIZE;
+
+  private final BookingRepository bookingRepository = mock(BookingRepository.class);
+  private final BookingIdAllocator allocator = new BookingIdAllocator(bookingRepository);
+
+  @Test
+  @DisplayName("serves a whole block from memory, then refills at the block boundary")
+  void refillsAtBlockBoundary() {
+    when(bookingRepository.nextBookingCodeBlock()).thenReturn(1L, 1L + 4 * BLOCK);
+
+    List<String> ids =
+        IntStream.rangeClosed(0, BLOCK).mapToObj(i -> allocator.nextBookingId()).toList();
+
+    assertThat(ids.get(0)).isEqualTo("GIC0001");
+    assertThat(ids.get(BLOCK - 1)).isEqualTo(code(BLOCK));
+    assertThat(ids.get(BLOCK)).isEqualTo(code(1 + 4 * BLOCK));
+    verify(bookingRepository, times(2)).nextBookingCodeBlock();
+  }
+
+  @Test
+  @DisplayName("codes past 9999 grow a fifth digit instead of wrapping")
+  void formatsPastFourDigits() {
+    when(bookingRepository.nextBookingCodeBlock()).thenReturn(9998L);
+
+    assertThat(allocator.nextBookingId()).isEqualTo("GIC9998");
+    assertThat(allocator.nextBookingId()).isEqualTo("GIC9999");
+    assertThat(allocator.nextBookingId()).isEqualTo("GIC10000");
+  }
+
+  @Test
+  @DisplayName("concurrent callers never get the same code, across many refills")
+  void concurrentCallersGetDistinctCodes() {
+    AtomicLong sequence = new AtomicLong(1);
+    when(bookingRepository.nextBookingCodeBlock())
+        .thenAnswer(invocation -> sequence.getAndAdd(BLOCK));
+    int threads = 8;
+    int perThread = 20 * BLOCK;
+
+    Set<String> ids = ConcurrentHashMap.newKeySet();
+    IntStream.range(0, threads)
+        .mapToObj(
+            t ->
+                CompletableFuture.runAsync(
+                    () -> {
+                      for (int i = 0; i < perThread; i++) {
+                        ids.add(allocator.nextBookingId());
+                      }
+                    }))
+        .toList()
+        .forEach(CompletableFuture::join);
+
+    assertThat(ids).hasSize(threads * perThread);
+  }
+
+  private static String code(long number) {
+    return "GIC%04d".formatted(number);
+  }
+}
@@ -0,0 +1,153 @@
+package com.gic.cinemas.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.gic.cinemas.backend.exception.IdempotencyKeyReusedException;
+import com.gic.cinemas.backend.exception.SeatJustTakenException;
+import com.gic.cinemas.backend.service.IdempotencyStore;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class IdempotencyStoreTest {
+
+  private final IdempotencyStore store = new IdempotencyStore(100, Duration.ofMinutes(1));
+  private final AtomicInteger calls = new AtomicInteger();
+
+  @Test
+  @DisplayName("a repeated key replays the first response without running the action again")
+  void repeatedKeyReplays() {
+    IdempotencyStore.Result<String> first = store.execute("reserve", "k1", "req", this::book);
+    IdempotencyStore.Result<String> retry = store.execute("reserve", "k1", "req", this::book);
+
+    assertThat(first.replayed()).isFalse();
+    assertThat(retry.replayed()).isTrue();
+    assertThat(retry.response()).isEqualTo(first.response());
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("without a key every call runs, and keys are scoped per operation")
+  void noKeyOrOtherOperationRuns() {
+    store.execute("reserve", null, "req", this::book);
+    store.execute("reserve", " ", "req", this::book);
+    store.execute("reserve", "k1", "req", this::book);
+    store.execute("confirm", "k1", "req", this::book);
+
+    assertThat(calls).hasValue(4);
+  }
+
+  @Test
+  @DisplayName("reusing a key for a different request is rejected")
+  void keyReuseWithDifferentRequestIsRejected() {
+    store.execute("reserve", "k1", "req", this::book);
+
+    assertThatThrownBy(() -> store.execute("reserve", "k1", "other", this::book))
+        .isInstanceOf(IdempotencyKeyReusedException.class);
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("a failed attempt is forgotten so the retry runs for real")
+  void failureIsNotRemembered() {
+    assertThatThrownBy(
+            () ->
+                store.execute(
+                    "reserve",
+                    "k1",
+                    "req",
+                    () -> {
+                      throw new SeatJustTakenException();
+                    }))
+        .isInstanceOf(SeatJustTakenException.class);
+
+    IdempotencyStore.Result<String> retry = store.execute("reserve", "k1", "req", this::book);
+
+    assertThat(retry.replayed()).isFalse();
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("a retry that overlaps the first attempt waits for it instead of booking twice")
+  void concurrentRetryWaitsForFirstAttempt() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<IdempotencyStore.Result<String>> first =
+        CompletableFuture.supplyAsync(
+            () ->
+                store.execute(
+                    "reserve",
+                    "k1",
+                    "req",
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      return book();
+                    }));
+    started.await(5, TimeUnit.SECONDS);
+    CompletableFuture<IdempotencyStore.Result<String>> retry =
+        CompletableFuture.supplyAsync(() -> store.execute("reserve", "k1", "req", this::book));
+
+    Thread.sleep(50);
+    assertThat(retry).isNotDone();
+    release.countDown();
+
+    assertThat(retry.get(5, TimeUnit.SECONDS).response())
+        .isEqualTo(first.get(5, TimeUnit.SECONDS).response());
+    assertThat(retry.get().replayed()).isTrue();
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("an Error in the first attempt wakes the waiting retry and is forgotten")
+  void errorWakesWaitersAndIsForgotten() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<IdempotencyStore.Result<String>> first =
+        CompletableFuture.supplyAsync(
+            () ->
+                store.execute(
+                    "reserve",
+                    "k1",
+                    "req",
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      throw new StackOverflowError();
+                    }));
+    started.await(5, TimeUnit.SECONDS);
+    CompletableFuture<IdempotencyStore.Result<String>> retry =
+        CompletableFuture.supplyAsync(() -> store.execute("reserve", "k1", "req", this::book));
+
+    Thread.sleep(50);
+    release.countDown();
+
+    assertThatThrownBy(() -> retry.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(StackOverflowError.class);
+    assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(StackOverflowError.class);
+    assertThat(store.execute("reserve", "k1", "req", this::book).replayed()).isFalse();
+    assertThat(calls).hasValue(1);
+  }
+
+  private String book() {
+    return "GIC" + calls.incrementAndGet();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.gic.cinemas.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.gic.cinemas.backend.exception.SeatJustTakenException;
+import com.gic.cinemas.backend.service.ReservationLanes;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ReservationLanesTest {
+
+  private final ReservationLanes lanes = new ReservationLanes(4);
+
+  @AfterEach
+  void tearDown() {
+    lanes.shutdown();
+  }
+
+  @Test
+  @DisplayName("work for one seating config runs on a single lane, one task at a time")
+  void sameConfigRunsSeriallyOnOneLane() {
+    List<String> threads = new CopyOnWriteArrayList<>();
+    List<Integer> running = new CopyOnWriteArrayList<>();
+    List<Integer> maxRunning = new CopyOnWriteArrayList<>();
+
+    List<CompletableFuture<Void>> calls =
+        IntStream.range(0, 50)
+            .mapToObj(
+                i ->
+                    CompletableFuture.runAsync(
+                        () ->
+                            lanes.run(
+                                7L,
+                                () -> {
+                                  running.add(i);
+                                  maxRunning.add(running.size());
+                                  threads.add(Thread.currentThread().getName());
+                                  running.remove(Integer.valueOf(i));
+                                  return i;
+                                })))
+            .toList();
+    calls.forEach(CompletableFuture::join);
+
+    assertThat(threads).hasSize(50).allMatch(name -> name.equals(threads.get(0)));
+    assertThat(maxRunning).containsOnly(1);
+  }
+
+  @Test
+  @DisplayName("different seating configs make progress in parallel")
+  void differentConfigsRunInParallel() throws Exception {
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    Runnable awaitOther =
+        () -> {
+          bothStarted.countDown();
+          try {
+            assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        };
+
+    CompletableFuture<Void> first =
+        CompletableFuture.runAsync(() -> lanes.run(1L, () -> runAndReturn(awaitOther)));
+    CompletableFuture<Void> second =
+        CompletableFuture.runAsync(() -> lanes.run(2L, () -> runAndReturn(awaitOther)));
+
+    CompletableFuture.allOf(first, second).get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  @DisplayName("exceptions thrown on a lane reach the caller unwrapped")
+  void propagatesDomainExceptions() {
+    assertThatThrownBy(
+            () ->
+                lanes.run(
+                    3L,
+                    () -> {
+                      throw new SeatJustTakenException();
+                    }))
+        .isInstanceOf(SeatJustTakenException.class);
+  }
+
+  private static Void runAndReturn(Runnable runnable) {
+    runnable.run();
+    return null;
+  }
+}
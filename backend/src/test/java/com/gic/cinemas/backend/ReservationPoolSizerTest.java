@@ -0,0 +1,40 @@
+package com.gic.cinemas.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.gic.cinemas.backend.service.ReservationPoolSizer;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ReservationPoolSizerTest {
+
+  @Test
+  @DisplayName("a fixed-size pool smaller than lanes plus reads grows and stays fixed-size")
+  void growsPoolToFitLanesAndReads() {
+    HikariDataSource dataSource = pool(20, 20);
+
+    new ReservationPoolSizer(32, 4).postProcessAfterInitialization(dataSource, "dataSource");
+
+    assertThat(dataSource.getMaximumPoolSize()).isEqualTo(36);
+    assertThat(dataSource.getMinimumIdle()).isEqualTo(36);
+  }
+
+  @Test
+  @DisplayName("a pool already large enough is left as configured")
+  void leavesLargeEnoughPoolAlone() {
+    HikariDataSource dataSource = pool(20, 5);
+
+    new ReservationPoolSizer(8, 4).postProcessAfterInitialization(dataSource, "dataSource");
+
+    assertThat(dataSource.getMaximumPoolSize()).isEqualTo(20);
+    assertThat(dataSource.getMinimumIdle()).isEqualTo(5);
+  }
+
+  private static HikariDataSource pool(int maximumPoolSize, int minimumIdle) {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setMaximumPoolSize(maximumPoolSize);
+    dataSource.setMinimumIdle(minimumIdle);
+    return dataSource;
+  }
+}
@@ -1,13 +1,28 @@
 package com.gic.cinemas.backend;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.gic.cinemas.backend.exception.NoAvailableSeatsException;
+import com.gic.cinemas.backend.jfr.SeatAllocationEvent;
 import com.gic.cinemas.backend.service.SeatAllocator;
 import com.gic.cinemas.common.dto.SeatDto;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -171,6 +186,122 @@ class SeatAllocatorTest {
     assertThat(reservedSeats).containsExactlyInAnyOrderElementsOf(expectedReservedSeats);
   }
 
+  @Test
+  @DisplayName("index-based allocateDefault writes packed seat indices and marks them taken")
+  void testAllocateDefaultOnSeatIndices() {
+    SeatMap seatMap = SeatMapBuilder.buildSeatMap(4, 5, seats("A3"));
+    int[] out = new int[3];
+
+    int allocated = seatAllocator.allocateDefault(seatMap, 3, out);
+
+    assertThat(allocated).isEqualTo(3);
+    assertThat(SeatMap.toSeatDtos(out, allocated, 4))
+        .containsExactlyInAnyOrderElementsOf(seats("A2", "A4", "A1"));
+    assertThat(seatMap.toSeatDtos())
+        .containsExactlyInAnyOrderElementsOf(seats("A1", "A2", "A3", "A4"));
+  }
+
+  @Test
+  @DisplayName("failed allocation leaves the seat map untouched")
+  void testFailedAllocationDoesNotMutateSeatMap() {
+    SeatMap seatMap = SeatMapBuilder.buildSeatMap(2, 2, seats("A1", "B2"));
+    SeatMap before = seatMap.copy();
+
+    assertThatThrownBy(() -> seatAllocator.allocateDefault(seatMap, 3, new int[3]))
+        .isInstanceOf(NoAvailableSeatsException.class)
+        .hasMessage("Only 2 seat(s) available, requested 3.");
+    assertThatThrownBy(() -> seatAllocator.allocateFromStartSeat(seatMap, 2, 1, 0, new int[2]))
+        .isInstanceOf(NoAvailableSeatsException.class);
+    assertThat(seatMap).isEqualTo(before);
+  }
+
+  @Test
+  @DisplayName("claimDefault on a seat board picks the seats allocateDefault would")
+  void testClaimDefaultMatchesAllocateDefault() {
+    SeatMap seatMap = SeatMapBuilder.buildSeatMap(4, 5, seats("A3", "A4", "B2", "B3"));
+    SeatBoard board = SeatBoard.of(seatMap);
+
+    List<SeatDto> claimed = seatAllocator.claimDefault(7L, board, 6);
+    List<SeatDto> allocated = seatAllocator.allocateDefault(seatMap, 6);
+
+    assertThat(claimed).containsExactlyElementsOf(allocated);
+    assertThat(board.snapshot()).isEqualTo(seatMap);
+  }
+
+  @Test
+  @DisplayName("a claim the hall cannot hold leaves the seat board untouched")
+  void testFailedClaimDoesNotMutateSeatBoard() {
+    SeatBoard board = SeatBoard.of(SeatMapBuilder.buildSeatMap(2, 2, seats("A1", "B2")));
+    SeatMap before = board.snapshot();
+
+    assertThatThrownBy(() -> seatAllocator.claimDefault(board, 3, new int[3]))
+        .isInstanceOf(NoAvailableSeatsException.class)
+        .hasMessage("Only 2 seat(s) available, requested 3.");
+    assertThat(board.snapshot()).isEqualTo(before);
+  }
+
+  @Test
+  @DisplayName("concurrent claims on one seat board never take the same seat")
+  void testConcurrentClaimsNeverOverlap() {
+    SeatBoard board = SeatBoard.of(new SeatMap(10, 20));
+    List<int[]> claims = new CopyOnWriteArrayList<>();
+
+    List<CompletableFuture<Void>> claimants =
+        IntStream.range(0, 8)
+            .mapToObj(
+                t ->
+                    CompletableFuture.runAsync(
+                        () -> {
+                          while (true) {
+                            int[] out = new int[3];
+                            try {
+                              seatAllocator.claimDefault(board, 3, out);
+                            } catch (NoAvailableSeatsException e) {
+                              return;
+                            }
+                            claims.add(out);
+                          }
+                        }))
+            .toList();
+    claimants.forEach(CompletableFuture::join);
+
+    Set<Integer> taken = new HashSet<>();
+    List<Integer> all = new ArrayList<>();
+    claims.forEach(claim -> Arrays.stream(claim).forEach(all::add));
+    taken.addAll(all);
+    assertThat(taken).hasSameSizeAs(all); // no seat handed out twice
+    assertThat(all).hasSize(198); // 66 claims of 3 fit in 200 seats
+    assertThat(board.freeCount()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("each allocation is recorded as a Flight Recorder event")
+  void testAllocationEmitsJfrEvent() throws Exception {
+    SeatMap seatMap = SeatMapBuilder.buildSeatMap(3, 4, seats("A1", "A2", "A3", "A4"));
+    Path dump = Files.createTempFile("seat-allocation", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(SeatAllocationEvent.class);
+      recording.start();
+      seatAllocator.allocateDefault(42L, seatMap, 5);
+      recording.stop();
+      recording.dump(dump);
+
+      List<RecordedEvent> events =
+          RecordingFile.readAllEvents(dump).stream()
+              .filter(e -> e.getEventType().getName().equals("com.gic.cinemas.SeatAllocation"))
+              .toList();
+      assertThat(events).hasSize(1);
+      RecordedEvent event = events.get(0);
+      assertThat(event.getLong("seatingConfigId")).isEqualTo(42L);
+      assertThat(event.getString("strategy")).isEqualTo("default");
+      assertThat(event.getInt("tickets")).isEqualTo(5);
+      assertThat(event.getInt("rowsScanned")).isEqualTo(3); // full row A, then B and C
+      assertThat(event.getInt("seatsAllocated")).isEqualTo(5);
+    } finally {
+      Files.deleteIfExists(dump);
+    }
+  }
+
   private static List<SeatDto> seats(String... seatCodes) {
     return Arrays.stream(seatCodes)
         .map(
@@ -0,0 +1,90 @@
+package com.gic.cinemas.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.gic.cinemas.backend.exception.NoAvailableSeatsException;
+import com.gic.cinemas.backend.exception.SeatJustTakenException;
+import com.gic.cinemas.backend.service.SeatClaimRetry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SeatClaimRetryTest {
+
+  private final SeatClaimRetry retry =
+      new SeatClaimRetry(4, Duration.ofMillis(1), Duration.ofMillis(2), Duration.ofSeconds(5));
+
+  @Test
+  @DisplayName("a conflicting claim is re-run until it succeeds")
+  void retriesUntilClaimSucceeds() {
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result =
+        retry.run(
+            () -> {
+              if (attempts.incrementAndGet() < 3) throw new SeatJustTakenException();
+              return "booked";
+            });
+
+    assertThat(result).isEqualTo("booked");
+    assertThat(attempts).hasValue(3);
+    assertThat(retry.retryCount()).isEqualTo(2);
+    assertThat(retry.exhaustedCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("gives up with SeatJustTakenException after max attempts")
+  void givesUpAfterMaxAttempts() {
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThatThrownBy(
+            () ->
+                retry.run(
+                    () -> {
+                      attempts.incrementAndGet();
+                      throw new SeatJustTakenException();
+                    }))
+        .isInstanceOf(SeatJustTakenException.class);
+
+    assertThat(attempts).hasValue(4);
+    assertThat(retry.exhaustedCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("gives up early once the time budget is spent")
+  void respectsTimeBudget() {
+    SeatClaimRetry noBudget =
+        new SeatClaimRetry(10, Duration.ofMillis(5), Duration.ofMillis(5), Duration.ZERO);
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThatThrownBy(
+            () ->
+                noBudget.run(
+                    () -> {
+                      attempts.incrementAndGet();
+                      throw new SeatJustTakenException();
+                    }))
+        .isInstanceOf(SeatJustTakenException.class);
+
+    assertThat(attempts).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("other failures are not retried")
+  void doesNotRetryOtherFailures() {
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThatThrownBy(
+            () ->
+                retry.run(
+                    () -> {
+                      attempts.incrementAndGet();
+                      throw new NoAvailableSeatsException("full", 0);
+                    }))
+        .isInstanceOf(NoAvailableSeatsException.class);
+
+    assertThat(attempts).hasValue(1);
+  }
+}
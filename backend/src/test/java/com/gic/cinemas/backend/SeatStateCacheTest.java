@@ -0,0 +1,97 @@
+package com.gic.cinemas.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.gic.cinemas.backend.event.SeatOccupancyChangedEvent;
+import com.gic.cinemas.backend.repository.SeatOccupancyRepository;
+import com.gic.cinemas.backend.service.SeatStateCache;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+
+class SeatStateCacheTest {
+
+  private static final long CONFIG_ID = 7;
+
+  private final SeatOccupancyRepository seatOccupancyRepository =
+      mock(SeatOccupancyRepository.class);
+  private final SeatStateCache cache = new SeatStateCache(seatOccupancyRepository);
+  private final Deque<Answer<SeatMap>> loads = new ArrayDeque<>();
+
+  @BeforeEach
+  void scriptLoads() {
+    when(seatOccupancyRepository.findTakenSeats(anyLong(), anyInt(), anyInt()))
+        .thenAnswer(invocation -> loads.remove().answer(invocation));
+  }
+
+  @Test
+  @DisplayName("a release committing while the config loads is not lost")
+  void releaseDuringLoadIsNotLost() {
+    SeatMap a1 = seats(0, 0);
+    // the first read still sees A1, and the release commits before the board is installed
+    load(a1, () -> cache.onSeatOccupancyChanged(SeatOccupancyChangedEvent.released(CONFIG_ID, a1)));
+    load(seats(), () -> {});
+
+    assertThat(cache.snapshot(CONFIG_ID, 2, 3).isEmpty()).isTrue();
+    verifyLoads(2);
+  }
+
+  @Test
+  @DisplayName("changes to a loaded config are applied to its board")
+  void changesApplyToLoadedBoard() {
+    load(seats(0, 0), () -> {});
+    cache.snapshot(CONFIG_ID, 2, 3);
+
+    cache.onSeatOccupancyChanged(
+        new SeatOccupancyChangedEvent(CONFIG_ID, seats(0, 0), seats(1, 2)));
+
+    assertThat(cache.snapshot(CONFIG_ID, 2, 3)).isEqualTo(seats(1, 2));
+    verifyLoads(1);
+  }
+
+  @Test
+  @DisplayName("a config that changes during every load is served uncached")
+  void constantChangeServesUncached() {
+    Runnable change =
+        () -> cache.onSeatOccupancyChanged(SeatOccupancyChangedEvent.claimed(CONFIG_ID, seats()));
+    for (int i = 0; i < 10; i++) {
+      load(seats(0, 1), change);
+    }
+
+    assertThat(cache.snapshot(CONFIG_ID, 2, 3)).isEqualTo(seats(0, 1));
+    verifyLoads(5);
+    cache.snapshot(CONFIG_ID, 2, 3);
+    verifyLoads(10); // nothing was cached
+  }
+
+  private static SeatMap seats(int... rowCols) {
+    SeatMap seats = new SeatMap(2, 3);
+    for (int i = 0; i < rowCols.length; i += 2) {
+      seats.take(rowCols[i], rowCols[i + 1]);
+    }
+    return seats;
+  }
+
+  /** Answers the next load with {@code result}, running {@code hook} before returning. */
+  private void load(SeatMap result, Runnable hook) {
+    loads.add(
+        invocation -> {
+          SeatMap seats = result.copy();
+          hook.run();
+          return seats;
+        });
+  }
+
+  private void verifyLoads(int count) {
+    verify(seatOccupancyRepository, times(count)).findTakenSeats(CONFIG_ID, 2, 3);
+  }
+}
@@ -0,0 +1,37 @@
+package com.gic.cinemas.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.gic.cinemas.backend.service.ThreadingMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class ThreadingModeTest {
+
+  @Test
+  @DisplayName("platform threads unless spring.threads.virtual.enabled is set")
+  void platformThreadsByDefault() {
+    ThreadingMode mode = new ThreadingMode(new MockEnvironment());
+
+    Thread thread = mode.threadFactory("worker").newThread(() -> {});
+
+    assertThat(mode.isVirtual()).isFalse();
+    assertThat(thread.isDaemon()).isTrue();
+    assertThat(thread.getName()).isEqualTo("worker-1");
+  }
+
+  @Test
+  @DisplayName("virtual-threads mode falls back to platform threads before Java 21")
+  void virtualThreadsOnlyWhereTheRuntimeHasThem() {
+    ThreadingMode mode =
+        new ThreadingMode(
+            new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"));
+
+    Thread thread = mode.threadFactory("worker").newThread(() -> {});
+
+    assertThat(mode.isVirtual()).isEqualTo(Runtime.version().feature() >= 21);
+    assertThat(thread.isDaemon()).isTrue();
+    assertThat(thread.getName()).startsWith("worker-");
+  }
+}
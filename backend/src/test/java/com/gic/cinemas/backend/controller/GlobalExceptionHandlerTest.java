@@ -0,0 +1,47 @@
+package com.gic.cinemas.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.gic.cinemas.backend.exception.BookingNotFoundException;
+import com.gic.cinemas.common.dto.response.ErrorResponse;
+import java.lang.reflect.Method;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.WebRequest;
+
+class GlobalExceptionHandlerTest {
+
+  @Test
+  @DisplayName("the handler catches exactly the exceptions the mapping table knows")
+  void handlerCoversTheMappingTable() throws Exception {
+    Method handler =
+        GlobalExceptionHandler.class.getMethod(
+            "handleDomainException", RuntimeException.class, WebRequest.class);
+
+    assertThat(List.of(handler.getAnnotation(ExceptionHandler.class).value()))
+        .containsExactlyInAnyOrderElementsOf(GlobalExceptionHandler.ERRORS.keySet());
+  }
+
+  @Test
+  @DisplayName("per-item errors carry the handler's status and title")
+  void toErrorResponseUsesTheTable() {
+    ErrorResponse error =
+        GlobalExceptionHandler.toErrorResponse(new BookingNotFoundException("GIC0001"));
+
+    assertThat(error.status()).isEqualTo(404);
+    assertThat(error.error()).isEqualTo("Booking Not Found");
+  }
+
+  @Test
+  @DisplayName("anything the handler does not catch is reported as an internal error")
+  void unmappedExceptionsAreInternalErrors() {
+    ErrorResponse error =
+        GlobalExceptionHandler.toErrorResponse(new IllegalArgumentException("bad"));
+
+    assertThat(error.status()).isEqualTo(500);
+    assertThat(error.error()).isEqualTo("Internal Server Error");
+    assertThat(error.message()).isEqualTo("bad");
+  }
+}
@@ -0,0 +1,96 @@
+package com.gic.cinemas.backend.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.gic.cinemas.backend.CinemaApplication;
+import com.gic.cinemas.common.dto.request.ReserveSeatsRequest;
+import com.gic.cinemas.common.dto.request.SeatingConfigRequest;
+import com.gic.cinemas.common.dto.response.CheckBookingResponse;
+import com.gic.cinemas.common.dto.response.ReservedSeatsResponse;
+import com.gic.cinemas.common.dto.response.SeatingAvailabilityResponse;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+
+@SpringBootTest(
+    classes = CinemaApplication.class,
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "spring.profiles.active=test",
+      "spring.datasource.url=jdbc:h2:mem:conditionalgete2e;DB_CLOSE_DELAY=-1"
+    })
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConditionalGetE2ETest {
+
+  @LocalServerPort int port;
+  @Autowired TestRestTemplate rest;
+  String base;
+  HttpTestClient client;
+
+  @BeforeAll
+  void setUp() {
+    base = "http://localhost:" + port + "/api";
+    client = new HttpTestClient(rest, base);
+  }
+
+  @Test
+  @DisplayName("E2E: availability answers 304 until a booking commits")
+  void availabilityRevalidatesAgainstConfigVersion() {
+    String movieTitle = "Dune";
+    String path = "/seating-config?movieTitle=Dune&rowCount=5&seatsPerRow=8";
+    client.postSeatingConfigRequest(new SeatingConfigRequest(movieTitle, 5, 8));
+
+    ResponseEntity<SeatingAvailabilityResponse> first =
+        get(path, null, SeatingAvailabilityResponse.class);
+    String etag = first.getHeaders().getETag();
+    assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(etag).isNotBlank();
+
+    ResponseEntity<SeatingAvailabilityResponse> unchanged =
+        get(path, etag, SeatingAvailabilityResponse.class);
+    assertThat(unchanged.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    assertThat(unchanged.getBody()).isNull();
+
+    client.postReserveSeatsRequest(new ReserveSeatsRequest(movieTitle, 5, 8, 2));
+
+    ResponseEntity<SeatingAvailabilityResponse> changed =
+        get(path, etag, SeatingAvailabilityResponse.class);
+    assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+    assertThat(changed.getBody().availableSeatsCount()).isEqualTo(38);
+  }
+
+  @Test
+  @DisplayName("E2E: booking check answers 304 until the booking or its hall changes")
+  void checkRevalidatesAgainstConfigVersion() {
+    ReservedSeatsResponse reserved =
+        client.postReserveSeatsRequest(new ReserveSeatsRequest("Tenet", 3, 6, 2)).getBody();
+    String path = "/booking/check/" + reserved.bookingId();
+
+    ResponseEntity<CheckBookingResponse> first = get(path, null, CheckBookingResponse.class);
+    String etag = first.getHeaders().getETag();
+    assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(get(path, etag, CheckBookingResponse.class).getStatusCode())
+        .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+    // other representations have their own tag
+    assertThat(get(path + "?seatFormat=bitmap", etag, CheckBookingResponse.class).getStatusCode())
+        .isEqualTo(HttpStatus.OK);
+
+    client.postConfirmBookingRequest(reserved.bookingId());
+
+    ResponseEntity<CheckBookingResponse> confirmed = get(path, etag, CheckBookingResponse.class);
+    assertThat(confirmed.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(confirmed.getBody().bookedSeats())
+        .containsExactlyInAnyOrderElementsOf(reserved.reservedSeats());
+  }
+
+  private <T> ResponseEntity<T> get(String path, String ifNoneMatch, Class<T> type) {
+    HttpHeaders headers = new HttpHeaders();
+    if (ifNoneMatch != null) headers.setIfNoneMatch(ifNoneMatch);
+    return rest.exchange(base + path, HttpMethod.GET, new HttpEntity<>(headers), type);
+  }
+}
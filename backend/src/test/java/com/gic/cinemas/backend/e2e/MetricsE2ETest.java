@@ -0,0 +1,64 @@
+package com.gic.cinemas.backend.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.gic.cinemas.backend.CinemaApplication;
+import com.gic.cinemas.common.dto.request.ReserveSeatsRequest;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+@SpringBootTest(
+    classes = CinemaApplication.class,
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "spring.profiles.active=test",
+      "spring.datasource.url=jdbc:h2:mem:metricse2e;DB_CLOSE_DELAY=-1"
+    })
+@AutoConfigureObservability // tests otherwise swap the Prometheus registry for a simple one
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MetricsE2ETest {
+
+  @LocalServerPort int port;
+  @LocalManagementPort int managementPort;
+  @Autowired TestRestTemplate rest;
+  HttpTestClient client;
+
+  @BeforeAll
+  void setUp() {
+    client = new HttpTestClient(rest, "http://localhost:" + port + "/api");
+  }
+
+  @Test
+  @DisplayName("E2E: booking meters are scraped from the actuator's Prometheus endpoint")
+  void prometheusEndpointExposesBookingMeters() {
+    assertThat(
+            client
+                .postReserveSeatsRequest(new ReserveSeatsRequest("Dune", 3, 5, 2))
+                .getStatusCode())
+        .isEqualTo(HttpStatus.OK);
+
+    ResponseEntity<String> scrape =
+        rest.getForEntity(
+            "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+    assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(scrape.getBody())
+        .contains("cinemas_booking_operation_seconds_bucket{")
+        .contains("cinemas_booking_seats_total{")
+        .contains("state=\"held\"")
+        .contains("cinemas_booking_tickets_count{")
+        .contains("cinemas_seat_allocation_seconds_count{")
+        .contains("cinemas_booking_claim_retries_total")
+        .contains("cinemas_booking_reaper_expired_bookings_total")
+        .contains("cinemas_booking_reaper_sweep_seconds_count")
+        .contains("cache_gets_total{")
+        .contains("cache=\"seating-config\"");
+  }
+}
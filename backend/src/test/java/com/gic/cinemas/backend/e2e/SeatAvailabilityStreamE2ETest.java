@@ -0,0 +1,117 @@
+package com.gic.cinemas.backend.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gic.cinemas.backend.CinemaApplication;
+import com.gic.cinemas.common.dto.SeatBitmapCodec;
+import com.gic.cinemas.common.dto.request.ReserveSeatsRequest;
+import com.gic.cinemas.common.dto.request.SeatingConfigRequest;
+import com.gic.cinemas.common.dto.response.ReservedSeatsResponse;
+import com.gic.cinemas.common.dto.response.SeatAvailabilityUpdate;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+@SpringBootTest(
+    classes = CinemaApplication.class,
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "spring.profiles.active=test",
+      "spring.datasource.url=jdbc:h2:mem:streame2e;DB_CLOSE_DELAY=-1"
+    })
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SeatAvailabilityStreamE2ETest {
+
+  @LocalServerPort int port;
+  @Autowired TestRestTemplate rest;
+  String base;
+  HttpTestClient client;
+  final ObjectMapper mapper = new ObjectMapper();
+
+  @BeforeAll
+  void setUp() {
+    base = "http://localhost:" + port + "/api";
+    client = new HttpTestClient(rest, base);
+  }
+
+  @Test
+  @DisplayName("E2E: stream sends the current availability, then a delta per committed reserve")
+  void streamPushesAvailabilityOnReserve() throws Exception {
+    String movieTitle = "Arrival";
+    int rowCount = 4, seatsPerRow = 6, tickets = 3;
+    assertThat(
+            client
+                .postSeatingConfigRequest(
+                    new SeatingConfigRequest(movieTitle, rowCount, seatsPerRow))
+                .getStatusCode())
+        .isEqualTo(HttpStatus.OK);
+
+    HttpRequest request =
+        HttpRequest.newBuilder()
+            .uri(
+                URI.create(
+                    base
+                        + "/seating-config/stream?movieTitle=%s&rowCount=%d&seatsPerRow=%d"
+                            .formatted(movieTitle, rowCount, seatsPerRow)))
+            .header("Accept", "text/event-stream")
+            .GET()
+            .build();
+    HttpResponse<Stream<String>> stream =
+        HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofLines());
+    assertThat(stream.statusCode()).isEqualTo(200);
+
+    BlockingQueue<SeatAvailabilityUpdate> updates = new LinkedBlockingQueue<>();
+    Thread reader = new Thread(() -> readUpdates(stream.body().iterator(), updates));
+    reader.setDaemon(true);
+    reader.start();
+
+    try {
+      SeatAvailabilityUpdate initial = updates.poll(5, TimeUnit.SECONDS);
+      assertThat(initial).isNotNull();
+      assertThat(initial.availableSeatsCount()).isEqualTo(rowCount * seatsPerRow);
+      assertThat(initial.takenSeatsBitmap()).isEqualTo("0.0.0.0");
+
+      ReservedSeatsResponse reserved =
+          client
+              .postReserveSeatsRequest(
+                  new ReserveSeatsRequest(movieTitle, rowCount, seatsPerRow, tickets))
+              .getBody();
+      assertThat(reserved).isNotNull();
+
+      SeatAvailabilityUpdate delta = updates.poll(5, TimeUnit.SECONDS);
+      assertThat(delta).isNotNull();
+      assertThat(delta.availableSeatsCount()).isEqualTo(rowCount * seatsPerRow - tickets);
+      assertThat(SeatBitmapCodec.decode(delta.claimedSeatsBitmap(), rowCount))
+          .containsExactly(SeatBitmapCodec.toRowMasks(reserved.reservedSeats(), rowCount));
+      assertThat(SeatBitmapCodec.decode(delta.releasedSeatsBitmap(), rowCount)).containsOnly(0L);
+    } finally {
+      stream.body().close();
+    }
+  }
+
+  private void readUpdates(Iterator<String> lines, BlockingQueue<SeatAvailabilityUpdate> out) {
+    try {
+      while (lines.hasNext()) {
+        String line = lines.next();
+        if (line.startsWith("data:")) {
+          out.add(mapper.readValue(line.substring("data:".length()), SeatAvailabilityUpdate.class));
+        }
+      }
+    } catch (Exception e) {
+      // stream closed by the test
+    }
+  }
+}
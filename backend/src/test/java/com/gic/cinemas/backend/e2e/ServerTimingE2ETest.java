@@ -0,0 +1,55 @@
+package com.gic.cinemas.backend.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.gic.cinemas.backend.CinemaApplication;
+import com.gic.cinemas.common.dto.request.ReserveSeatsRequest;
+import com.gic.cinemas.common.dto.response.ReservedSeatsResponse;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+@SpringBootTest(
+    classes = CinemaApplication.class,
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "spring.profiles.active=test",
+      "spring.datasource.url=jdbc:h2:mem:servertiminge2e;DB_CLOSE_DELAY=-1"
+    })
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ServerTimingE2ETest {
+
+  @LocalServerPort int port;
+  @Autowired TestRestTemplate rest;
+  HttpTestClient client;
+
+  @BeforeAll
+  void setUp() {
+    client = new HttpTestClient(rest, "http://localhost:" + port + "/api");
+  }
+
+  @Test
+  @DisplayName("E2E: reserve answers with a Server-Timing entry per phase")
+  void reserveReportsPhaseTimings() {
+    ResponseEntity<ReservedSeatsResponse> reserved =
+        client.postReserveSeatsRequest(new ReserveSeatsRequest("Heat", 4, 6, 3));
+
+    assertThat(reserved.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(reserved.getHeaders().getFirst("Server-Timing"))
+        .isNotNull()
+        .contains("config;dur=")
+        .contains("lane-wait;dur=")
+        .contains("seat-load;dur=")
+        .contains("allocate;dur=")
+        .contains("booking-id;dur=")
+        .contains("booking-insert;dur=")
+        .contains("seat-flush;dur=")
+        .contains("counter;dur=")
+        .contains("commit;dur=")
+        .matches(".*total;dur=\\d+\\.\\d{3}$");
+  }
+}
@@ -4,22 +4,45 @@ import static org.assertj.core.api.Assertions.*;
 
 import com.gic.cinemas.backend.SeatMapBuilder;
 import com.gic.cinemas.backend.exception.BookingNotFoundException;
+import com.gic.cinemas.backend.exception.NoAvailableSeatsException;
+import com.gic.cinemas.backend.model.BookedSeatEntity;
 import com.gic.cinemas.backend.model.BookingEntity;
 import com.gic.cinemas.backend.repository.BookedSeatRepository;
 import com.gic.cinemas.backend.repository.BookingRepository;
+import com.gic.cinemas.backend.repository.PerSeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.RowMaskOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatingConfigLock;
 import com.gic.cinemas.backend.repository.SeatingConfigRepository;
+import com.gic.cinemas.backend.service.BatchReservation;
+import com.gic.cinemas.backend.service.BookingIdAllocator;
+import com.gic.cinemas.backend.service.BookingMetrics;
 import com.gic.cinemas.backend.service.BookingService;
+import com.gic.cinemas.backend.service.ReservationLanes;
 import com.gic.cinemas.backend.service.SeatAllocator;
+import com.gic.cinemas.backend.service.SeatClaimRetry;
+import com.gic.cinemas.backend.service.SeatStateCache;
 import com.gic.cinemas.backend.service.SeatingConfigHelper;
 import com.gic.cinemas.backend.validation.BookingValidator;
 import com.gic.cinemas.backend.validation.SeatingConfigValidator;
 import com.gic.cinemas.common.dto.BookingStatus;
+import com.gic.cinemas.common.dto.SeatBitmapCodec;
 import com.gic.cinemas.common.dto.SeatDto;
+import com.gic.cinemas.common.dto.SeatFormat;
+import com.gic.cinemas.common.dto.request.ReserveSeatsRequest;
+import com.gic.cinemas.common.dto.response.BookingCancelledResponse;
 import com.gic.cinemas.common.dto.response.BookingConfirmedResponse;
 import com.gic.cinemas.common.dto.response.CheckBookingResponse;
 import com.gic.cinemas.common.dto.response.ReservedSeatsResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -37,7 +60,16 @@ import org.springframework.context.annotation.Import;
   SeatMapBuilder.class,
   SeatingConfigValidator.class,
   BookingValidator.class,
-  SeatingConfigHelper.class
+  SeatingConfigHelper.class,
+  SeatStateCache.class,
+  ReservationLanes.class,
+  SeatClaimRetry.class,
+  BookingIdAllocator.class,
+  SeatingConfigLock.class,
+  PerSeatOccupancyRepository.class,
+  RowMaskOccupancyRepository.class,
+  BookingMetrics.class,
+  SimpleMeterRegistry.class
 })
 class BookingServiceIntegrationTest {
 
@@ -45,6 +77,15 @@ class BookingServiceIntegrationTest {
   @Autowired private BookingRepository bookingRepository;
   @Autowired private BookedSeatRepository bookedSeatRepository;
   @Autowired private SeatingConfigRepository seatingConfigRepository;
+  @Autowired private MeterRegistry meterRegistry;
+
+  /** The available-seat counter the availability endpoint serves. */
+  private long availableSeats(long seatingConfigId) {
+    return seatingConfigRepository
+        .findAvailabilityById(seatingConfigId)
+        .orElseThrow()
+        .availableSeatsCount();
+  }
 
   private static Stream<Arguments> provideBookingScenarios() {
     return Stream.of(
@@ -64,17 +105,15 @@ class BookingServiceIntegrationTest {
     ReservedSeatsResponse response =
         bookingService.reserveSeats(movieTitle, rowCount, seatsPerRow, numberOfTickets);
 
-    assertThat(response.bookingId()).isEqualTo("GIC0001");
+    assertThat(response.bookingId()).matches("GIC\\d{4,}");
     assertThat(response.reservedSeats()).hasSize(numberOfTickets);
     assertThat(response.takenSeats()).isNotNull();
 
-    Long availableSeatsCount =
-        bookedSeatRepository
-            .countAvailableSeatsByConfigId(
-                seatingConfigRepository
-                    .findIdByTitleAndLayout(movieTitle, rowCount, seatsPerRow)
-                    .orElseThrow())
-            .orElseThrow();
+    long availableSeatsCount =
+        availableSeats(
+            seatingConfigRepository
+                .findIdByTitleAndLayout(movieTitle, rowCount, seatsPerRow)
+                .orElseThrow());
 
     assertThat(availableSeatsCount).isEqualTo((long) rowCount * seatsPerRow - numberOfTickets);
     assertThat(bookingRepository.findAll()).hasSize(1);
@@ -118,7 +157,7 @@ class BookingServiceIntegrationTest {
         seatingConfigRepository
             .findIdByTitleAndLayout(movieTitle, rowCount, seatsPerRow)
             .orElseThrow();
-    long available = bookedSeatRepository.countAvailableSeatsByConfigId(cfgId).orElseThrow();
+    long available = availableSeats(cfgId);
     assertThat(available).isEqualTo((long) rowCount * seatsPerRow - numberOfTickets);
   }
 
@@ -139,8 +178,7 @@ class BookingServiceIntegrationTest {
     // Check available seats have reduced
     Long seatingConfigId =
         seatingConfigRepository.findIdByTitleAndLayout(movie, rows, perRow).orElseThrow();
-    long availableSeatsCount =
-        bookedSeatRepository.countAvailableSeatsByConfigId(seatingConfigId).orElseThrow();
+    long availableSeatsCount = availableSeats(seatingConfigId);
     assertThat(availableSeatsCount).isEqualTo((long) rows * perRow - tickets);
 
     SeatDto startSeat = new SeatDto("B", 3);
@@ -162,14 +200,46 @@ class BookingServiceIntegrationTest {
     assertThat(after.getReservedUntil()).isAfter(oldReservedUntil);
 
     // Availability stays the same (same number of seats held, but seats were replaced)
-    long availableAfter =
-        bookedSeatRepository.countAvailableSeatsByConfigId(seatingConfigId).orElseThrow();
+    long availableAfter = availableSeats(seatingConfigId);
     assertThat(availableAfter).isEqualTo((long) rows * perRow - tickets);
 
     // Ensure didn't create a new booking row
     assertThat(bookingRepository.findAll()).hasSize(1);
   }
 
+  @Test
+  @DisplayName("changeBooking rewrites only the seats that move and keeps the others' rows")
+  void changeBookingMovesOnlyChangedSeats() {
+    ReservedSeatsResponse reserved = bookingService.reserveSeats("Sicario", 2, 5, 4);
+    BookingEntity booking = bookingRepository.findByBookingId(reserved.bookingId()).orElseThrow();
+    assertThat(reserved.reservedSeats())
+        .containsExactlyInAnyOrder(
+            new SeatDto("A", 1), new SeatDto("A", 2), new SeatDto("A", 3), new SeatDto("A", 4));
+    Map<SeatDto, Long> idsBefore = bookedSeatIds(booking.getId());
+
+    ReservedSeatsResponse changed =
+        bookingService.changeBooking(reserved.bookingId(), new SeatDto("A", 2));
+
+    assertThat(changed.reservedSeats())
+        .containsExactlyInAnyOrder(
+            new SeatDto("A", 2), new SeatDto("A", 3), new SeatDto("A", 4), new SeatDto("A", 5));
+    Map<SeatDto, Long> idsAfter = bookedSeatIds(booking.getId());
+    // A2-A4 are untouched; the row that held A1 now holds A5
+    for (int seat = 2; seat <= 4; seat++) {
+      SeatDto kept = new SeatDto("A", seat);
+      assertThat(idsAfter.get(kept)).isEqualTo(idsBefore.get(kept));
+    }
+    assertThat(idsAfter.get(new SeatDto("A", 5))).isEqualTo(idsBefore.get(new SeatDto("A", 1)));
+  }
+
+  private Map<SeatDto, Long> bookedSeatIds(long bookingId) {
+    return bookedSeatRepository.findAllByBooking_Id(bookingId).stream()
+        .collect(
+            Collectors.toMap(
+                seat -> new SeatDto(seat.getRowLabel(), seat.getSeatNumber()),
+                BookedSeatEntity::getId));
+  }
+
   @Test
   @DisplayName("checkBookings returns own reserved seats and others' booked seats correctly")
   void testCheckBookingsReturnsCorrectSeatPartitions() {
@@ -184,4 +254,135 @@ class BookingServiceIntegrationTest {
     assertThat(bookings.bookedSeats())
         .containsExactlyInAnyOrderElementsOf(reservedSeats.reservedSeats());
   }
+
+  @Test
+  @DisplayName("bitmap seat format returns taken seats as row masks instead of DTOs")
+  void bitmapSeatFormatEncodesTakenSeats() {
+    int rowCount = 3, seatsPerRow = 5;
+
+    ReservedSeatsResponse reserved =
+        bookingService.reserveSeats("Arrival", rowCount, seatsPerRow, 3, SeatFormat.BITMAP);
+    assertThat(reserved.takenSeats()).isNull();
+    assertThat(reserved.takenSeatsBitmap()).isEqualTo("0.0.0");
+
+    // a pending hold is reported with everyone else's seats
+    CheckBookingResponse check =
+        bookingService.checkBookings(reserved.bookingId(), SeatFormat.BITMAP);
+    assertThat(check.takenSeats()).isNull();
+    assertThat(check.bookedSeats()).isEmpty();
+    assertThat(check.takenSeatMasks(rowCount))
+        .containsExactly(SeatBitmapCodec.toRowMasks(reserved.reservedSeats(), rowCount));
+  }
+
+  @Test
+  @DisplayName("reserveSeatsBatch allocates parties of a hall together and fails only misfits")
+  void reserveSeatsBatchAllocatesPerHallInOnePass() {
+    List<BatchReservation> outcomes =
+        bookingService.reserveSeatsBatch(
+            List.of(
+                new ReserveSeatsRequest("Heat", 2, 5, 3),
+                new ReserveSeatsRequest("Heat", 2, 5, 4),
+                new ReserveSeatsRequest("Heat", 2, 5, 4),
+                new ReserveSeatsRequest("Ronin", 3, 4, 2)),
+            SeatFormat.LIST);
+
+    assertThat(outcomes).hasSize(4);
+    BatchReservation first = outcomes.get(0), second = outcomes.get(1);
+    assertThat(first.reservation().reservedSeats()).hasSize(3);
+    assertThat(second.reservation().reservedSeats())
+        .hasSize(4)
+        .doesNotContainAnyElementsOf(first.reservation().reservedSeats());
+    // the second party is planned around the first
+    assertThat(second.reservation().takenSeats())
+        .containsExactlyInAnyOrderElementsOf(first.reservation().reservedSeats());
+    assertThat(outcomes.get(2).failure()).isInstanceOf(NoAvailableSeatsException.class);
+    assertThat(outcomes.get(3).reservation().reservedSeats()).hasSize(2);
+
+    long heatId = seatingConfigRepository.findIdByTitleAndLayout("Heat", 2, 5).orElseThrow();
+    assertThat(
+            seatingConfigRepository
+                .findAvailabilityById(heatId)
+                .orElseThrow()
+                .availableSeatsCount())
+        .isEqualTo(3);
+    assertThat(bookingRepository.findAll()).hasSize(3);
+  }
+
+  @Test
+  @DisplayName("cancelBooking releases held seats at once and is a no-op the second time")
+  void cancelBookingReleasesSeatsImmediately() {
+    int rowCount = 2, seatsPerRow = 6;
+    ReservedSeatsResponse reserved =
+        bookingService.reserveSeats("Memento", rowCount, seatsPerRow, 4);
+    long seatingConfigId =
+        seatingConfigRepository
+            .findIdByTitleAndLayout("Memento", rowCount, seatsPerRow)
+            .orElseThrow();
+
+    BookingCancelledResponse cancelled = bookingService.cancelBooking(reserved.bookingId());
+
+    assertThat(cancelled.status()).isEqualTo(BookingStatus.CANCELLED);
+    assertThat(cancelled.releasedSeats()).isEqualTo(4);
+    assertThat(bookingRepository.findByBookingId(reserved.bookingId()).orElseThrow().getStatus())
+        .isEqualTo(BookingStatus.CANCELLED);
+    assertThat(bookingService.checkBookings(reserved.bookingId()).bookedSeats()).isEmpty();
+    assertThat(
+            seatingConfigRepository
+                .findAvailabilityById(seatingConfigId)
+                .orElseThrow()
+                .availableSeatsCount())
+        .isEqualTo(rowCount * seatsPerRow);
+
+    BookingCancelledResponse again = bookingService.cancelBooking(reserved.bookingId());
+    assertThat(again.status()).isEqualTo(BookingStatus.CANCELLED);
+    assertThat(again.releasedSeats()).isZero();
+  }
+
+  @Test
+  @DisplayName("booking operations record latency, tickets and per-config seat counters")
+  void bookingOperationsAreMetered() {
+    // the registry is shared with the other tests of this context, so compare deltas
+    long reservesBefore = reserveTimer().count();
+    double rejectionsBefore = noSeatsRejections().count();
+    double ticketsBefore = reserveTickets().totalAmount();
+
+    ReservedSeatsResponse reserved = bookingService.reserveSeats("Tenet", 2, 5, 3);
+    bookingService.confirmBooking(reserved.bookingId());
+    assertThatThrownBy(() -> bookingService.reserveSeats("Tenet", 2, 5, 11))
+        .isInstanceOf(NoAvailableSeatsException.class);
+
+    String seatingConfigId =
+        seatingConfigRepository.findIdByTitleAndLayout("Tenet", 2, 5).orElseThrow().toString();
+    assertThat(seatCounter(seatingConfigId, "held")).isEqualTo(3);
+    assertThat(seatCounter(seatingConfigId, "confirmed")).isEqualTo(3);
+    assertThat(reserveTimer().count()).isEqualTo(reservesBefore + 1);
+    assertThat(noSeatsRejections().count()).isEqualTo(rejectionsBefore + 1);
+    assertThat(reserveTickets().totalAmount()).isEqualTo(ticketsBefore + 14);
+  }
+
+  private Timer reserveTimer() {
+    return meterRegistry.timer(
+        "cinemas.booking.operation",
+        "operation",
+        "reserve",
+        "outcome",
+        BookingMetrics.OUTCOME_SUCCESS);
+  }
+
+  private DistributionSummary reserveTickets() {
+    return meterRegistry.summary("cinemas.booking.tickets", "operation", "reserve");
+  }
+
+  private Counter noSeatsRejections() {
+    return meterRegistry.counter(
+        "cinemas.booking.rejections", "operation", "reserve", "reason", "no_available_seats");
+  }
+
+  private double seatCounter(String seatingConfigId, String state) {
+    return meterRegistry
+        .get("cinemas.booking.seats")
+        .tags("seating.config", seatingConfigId, "state", state)
+        .counter()
+        .count();
+  }
 }
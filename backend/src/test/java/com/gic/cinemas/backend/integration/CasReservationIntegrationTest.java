@@ -0,0 +1,84 @@
+package com.gic.cinemas.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.gic.cinemas.backend.SeatMapBuilder;
+import com.gic.cinemas.backend.repository.PerSeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.RowMaskOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatingConfigLock;
+import com.gic.cinemas.backend.service.BookingIdAllocator;
+import com.gic.cinemas.backend.service.BookingMetrics;
+import com.gic.cinemas.backend.service.BookingService;
+import com.gic.cinemas.backend.service.ReservationLanes;
+import com.gic.cinemas.backend.service.SeatAllocator;
+import com.gic.cinemas.backend.service.SeatClaimRetry;
+import com.gic.cinemas.backend.service.SeatStateCache;
+import com.gic.cinemas.backend.service.SeatingConfigHelper;
+import com.gic.cinemas.backend.validation.BookingValidator;
+import com.gic.cinemas.backend.validation.SeatingConfigValidator;
+import com.gic.cinemas.common.dto.SeatDto;
+import com.gic.cinemas.common.dto.response.ReservedSeatsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+
+@DataJpaTest(properties = "cinemas.booking.concurrency-mode=CAS")
+@Import({
+  BookingService.class,
+  SeatAllocator.class,
+  SeatMapBuilder.class,
+  SeatingConfigValidator.class,
+  BookingValidator.class,
+  SeatingConfigHelper.class,
+  SeatStateCache.class,
+  ReservationLanes.class,
+  SeatClaimRetry.class,
+  BookingIdAllocator.class,
+  SeatingConfigLock.class,
+  PerSeatOccupancyRepository.class,
+  RowMaskOccupancyRepository.class,
+  BookingMetrics.class,
+  SimpleMeterRegistry.class
+})
+class CasReservationIntegrationTest {
+
+  @Autowired private BookingService bookingService;
+  @Autowired private SeatStateCache seatStateCache;
+
+  @Test
+  @DisplayName("CAS reserve takes its seats on the board at once and hands them back on rollback")
+  void reserveHoldsSeatsOnTheBoardUntilRollback() {
+    ReservedSeatsResponse reserved = bookingService.reserveSeats("Oppenheimer", 3, 5, 4);
+    long seatingConfigId = bookingService.findSeatingConfigId(reserved.bookingId()).orElseThrow();
+
+    assertThat(reserved.reservedSeats())
+        .containsExactly(seat("A3"), seat("A2"), seat("A4"), seat("A1"));
+    assertThat(seatStateCache.snapshot(seatingConfigId, 3, 5).toSeatDtos())
+        .containsExactlyInAnyOrderElementsOf(reserved.reservedSeats());
+
+    TestTransaction.end(); // rolls the reservation back
+
+    assertThat(seatStateCache.snapshot(seatingConfigId, 3, 5).isEmpty()).isTrue();
+  }
+
+  @Test
+  @DisplayName("CAS change keeps the booking's own seats available to it")
+  void changeMayReuseTheBookingsOwnSeats() {
+    ReservedSeatsResponse reserved = bookingService.reserveSeats("Dunkirk", 2, 4, 2);
+
+    ReservedSeatsResponse changed = bookingService.changeBooking(reserved.bookingId(), seat("A2"));
+
+    assertThat(reserved.reservedSeats()).containsExactly(seat("A2"), seat("A3"));
+    assertThat(changed.reservedSeats()).containsExactly(seat("A2"), seat("A3"));
+    assertThat(changed.takenSeats()).isEqualTo(List.of());
+  }
+
+  private static SeatDto seat(String code) {
+    return new SeatDto(code.substring(0, 1), Integer.parseInt(code.substring(1)));
+  }
+}
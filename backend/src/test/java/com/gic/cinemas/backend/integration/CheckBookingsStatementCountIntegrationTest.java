@@ -0,0 +1,108 @@
+package com.gic.cinemas.backend.integration;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.gic.cinemas.backend.SeatMapBuilder;
+import com.gic.cinemas.backend.model.BookedSeatEntity;
+import com.gic.cinemas.backend.model.BookingEntity;
+import com.gic.cinemas.backend.model.SeatingConfigEntity;
+import com.gic.cinemas.backend.repository.BookedSeatRepository;
+import com.gic.cinemas.backend.repository.BookingRepository;
+import com.gic.cinemas.backend.repository.PerSeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.RowMaskOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatingConfigLock;
+import com.gic.cinemas.backend.repository.SeatingConfigRepository;
+import com.gic.cinemas.backend.service.BookingIdAllocator;
+import com.gic.cinemas.backend.service.BookingMetrics;
+import com.gic.cinemas.backend.service.BookingService;
+import com.gic.cinemas.backend.service.ReservationLanes;
+import com.gic.cinemas.backend.service.SeatAllocator;
+import com.gic.cinemas.backend.service.SeatClaimRetry;
+import com.gic.cinemas.backend.service.SeatStateCache;
+import com.gic.cinemas.backend.service.SeatingConfigHelper;
+import com.gic.cinemas.backend.validation.BookingValidator;
+import com.gic.cinemas.backend.validation.SeatingConfigValidator;
+import com.gic.cinemas.common.dto.BookingStatus;
+import com.gic.cinemas.common.dto.response.CheckBookingResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({
+  BookingService.class,
+  SeatAllocator.class,
+  SeatMapBuilder.class,
+  SeatingConfigValidator.class,
+  BookingValidator.class,
+  SeatingConfigHelper.class,
+  SeatStateCache.class,
+  ReservationLanes.class,
+  SeatClaimRetry.class,
+  BookingIdAllocator.class,
+  SeatingConfigLock.class,
+  PerSeatOccupancyRepository.class,
+  RowMaskOccupancyRepository.class,
+  BookingMetrics.class,
+  SimpleMeterRegistry.class
+})
+class CheckBookingsStatementCountIntegrationTest {
+
+  private static final int ROWS = 26;
+  private static final int SEATS_PER_ROW = 50;
+  private static final int SEATS_PER_BOOKING = 10;
+
+  @Autowired private BookingService bookingService;
+  @Autowired private SeatingConfigRepository seatingConfigRepository;
+  @Autowired private BookingRepository bookingRepository;
+  @Autowired private BookedSeatRepository bookedSeatRepository;
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  @DisplayName("checkBookings on a full 1300-seat hall issues two statements")
+  void checkBookingsOnFullHallIsTwoStatements() {
+    SeatingConfigEntity hall =
+        seatingConfigRepository.save(new SeatingConfigEntity("Dune", ROWS, SEATS_PER_ROW));
+
+    // 130 bookings of 10 seats fill every seat; every other booking is confirmed
+    List<BookedSeatEntity> seats = new ArrayList<>();
+    BookingEntity booking = null;
+    for (int seat = 0; seat < ROWS * SEATS_PER_ROW; seat++) {
+      if (seat % SEATS_PER_BOOKING == 0) {
+        int bookingNo = seat / SEATS_PER_BOOKING;
+        booking =
+            bookingRepository.save(
+                new BookingEntity(
+                    "GIC%04d".formatted(bookingNo + 1),
+                    hall,
+                    LocalDateTime.now().plusMinutes(5),
+                    bookingNo % 2 == 0 ? BookingStatus.CONFIRMED : BookingStatus.PENDING));
+      }
+      String rowLabel = SeatMapBuilder.toRowLabel(seat / SEATS_PER_ROW, ROWS);
+      seats.add(new BookedSeatEntity(booking, hall, rowLabel, seat % SEATS_PER_ROW + 1));
+    }
+    bookedSeatRepository.saveAll(seats);
+    entityManager.flush();
+    entityManager.clear();
+
+    Statistics statistics =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    CheckBookingResponse response = bookingService.checkBookings("GIC0001");
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(response.bookedSeats()).hasSize(SEATS_PER_BOOKING);
+    assertThat(response.takenSeats()).hasSize(ROWS * SEATS_PER_ROW - SEATS_PER_BOOKING);
+  }
+}
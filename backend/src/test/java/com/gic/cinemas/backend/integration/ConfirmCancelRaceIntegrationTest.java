@@ -0,0 +1,146 @@
+package com.gic.cinemas.backend.integration;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.gic.cinemas.backend.SeatMapBuilder;
+import com.gic.cinemas.backend.exception.BookingNotPendingException;
+import com.gic.cinemas.backend.model.BookingEntity;
+import com.gic.cinemas.backend.repository.BookedSeatRepository;
+import com.gic.cinemas.backend.repository.BookingRepository;
+import com.gic.cinemas.backend.repository.PerSeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.RowMaskOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatingConfigLock;
+import com.gic.cinemas.backend.service.BookingIdAllocator;
+import com.gic.cinemas.backend.service.BookingMetrics;
+import com.gic.cinemas.backend.service.BookingService;
+import com.gic.cinemas.backend.service.ReservationLanes;
+import com.gic.cinemas.backend.service.SeatAllocator;
+import com.gic.cinemas.backend.service.SeatClaimRetry;
+import com.gic.cinemas.backend.service.SeatStateCache;
+import com.gic.cinemas.backend.service.SeatingConfigHelper;
+import com.gic.cinemas.backend.validation.BookingValidator;
+import com.gic.cinemas.backend.validation.SeatingConfigValidator;
+import com.gic.cinemas.common.dto.BookingStatus;
+import com.gic.cinemas.common.dto.response.ReservedSeatsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs outside a test transaction: every call commits, so confirm and cancel really race. The
+ * committed rows would leak into tests sharing this context, so it is discarded afterwards.
+ */
+@DataJpaTest
+@DirtiesContext
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+  BookingService.class,
+  SeatAllocator.class,
+  SeatMapBuilder.class,
+  SeatingConfigValidator.class,
+  BookingValidator.class,
+  SeatingConfigHelper.class,
+  SeatStateCache.class,
+  ReservationLanes.class,
+  SeatClaimRetry.class,
+  BookingIdAllocator.class,
+  SeatingConfigLock.class,
+  PerSeatOccupancyRepository.class,
+  RowMaskOccupancyRepository.class,
+  BookingMetrics.class,
+  SimpleMeterRegistry.class
+})
+class ConfirmCancelRaceIntegrationTest {
+
+  @Autowired private BookingService bookingService;
+  @Autowired private BookingRepository bookingRepository;
+  @Autowired private BookedSeatRepository bookedSeatRepository;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Test
+  @DisplayName("a confirm waiting on an uncommitted cancel fails once the cancel commits")
+  void confirmLosesToInFlightCancel() throws Exception {
+    ReservedSeatsResponse held = bookingService.reserveSeats("Insomnia", 2, 5, 2);
+    long id = bookingRepository.findByBookingId(held.bookingId()).orElseThrow().getId();
+
+    CountDownLatch cancelled = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Void> cancel =
+        CompletableFuture.runAsync(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    status -> {
+                      bookingRepository.markCancelled(id);
+                      cancelled.countDown();
+                      try {
+                        release.await(10, TimeUnit.SECONDS);
+                      } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                      }
+                    }));
+    assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+
+    CompletableFuture<?> confirm =
+        CompletableFuture.supplyAsync(() -> bookingService.confirmBooking(held.bookingId()));
+    Thread.sleep(200); // let the confirm reach the locked row
+    release.countDown();
+    cancel.join();
+
+    assertThatThrownBy(confirm::join)
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(BookingNotPendingException.class);
+    assertThat(bookingRepository.findByBookingId(held.bookingId()).orElseThrow().getStatus())
+        .isEqualTo(BookingStatus.CANCELLED);
+  }
+
+  @Test
+  @DisplayName("racing confirms and cancels never leave a confirmed booking without seats")
+  void confirmedBookingsKeepTheirSeats() {
+    List<String> bookingIds =
+        IntStream.range(0, 10)
+            .mapToObj(i -> bookingService.reserveSeats("Following", 5, 10, 2).bookingId())
+            .toList();
+
+    List<CompletableFuture<?>> calls =
+        bookingIds.stream()
+            .flatMap(
+                bookingId ->
+                    List.<CompletableFuture<?>>of(
+                        CompletableFuture.runAsync(
+                            () -> ignoreRefusal(() -> bookingService.confirmBooking(bookingId))),
+                        CompletableFuture.runAsync(
+                            () -> ignoreRefusal(() -> bookingService.cancelBooking(bookingId))))
+                        .stream())
+            .toList();
+    calls.forEach(CompletableFuture::join);
+
+    for (String bookingId : bookingIds) {
+      BookingEntity booking = bookingRepository.findByBookingId(bookingId).orElseThrow();
+      int seats = bookedSeatRepository.countByBooking_BookingId(bookingId);
+      assertThat(booking.getStatus()).isIn(BookingStatus.CONFIRMED, BookingStatus.CANCELLED);
+      assertThat(seats).isEqualTo(booking.getStatus() == BookingStatus.CONFIRMED ? 2 : 0);
+    }
+  }
+
+  /** Runs a confirm or cancel that may legitimately find the booking no longer pending. */
+  private static void ignoreRefusal(Runnable call) {
+    try {
+      call.run();
+    } catch (BookingNotPendingException e) {
+      // the other call got there first
+    }
+  }
+}
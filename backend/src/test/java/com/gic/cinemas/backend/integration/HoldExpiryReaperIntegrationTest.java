@@ -0,0 +1,172 @@
+package com.gic.cinemas.backend.integration;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.gic.cinemas.backend.SeatMapBuilder;
+import com.gic.cinemas.backend.repository.BookedSeatRepository;
+import com.gic.cinemas.backend.repository.BookingRepository;
+import com.gic.cinemas.backend.repository.PerSeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.RowMaskOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatingConfigLock;
+import com.gic.cinemas.backend.repository.SeatingConfigRepository;
+import com.gic.cinemas.backend.service.BookingIdAllocator;
+import com.gic.cinemas.backend.service.BookingMetrics;
+import com.gic.cinemas.backend.service.BookingService;
+import com.gic.cinemas.backend.service.HoldExpiryReaper;
+import com.gic.cinemas.backend.service.ReservationLanes;
+import com.gic.cinemas.backend.service.SeatAllocator;
+import com.gic.cinemas.backend.service.SeatClaimRetry;
+import com.gic.cinemas.backend.service.SeatStateCache;
+import com.gic.cinemas.backend.service.SeatingConfigHelper;
+import com.gic.cinemas.backend.validation.BookingValidator;
+import com.gic.cinemas.backend.validation.SeatingConfigValidator;
+import com.gic.cinemas.common.dto.BookingStatus;
+import com.gic.cinemas.common.dto.response.ReservedSeatsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@Import({
+  BookingService.class,
+  HoldExpiryReaper.class,
+  SeatAllocator.class,
+  SeatMapBuilder.class,
+  SeatingConfigValidator.class,
+  BookingValidator.class,
+  SeatingConfigHelper.class,
+  SeatStateCache.class,
+  ReservationLanes.class,
+  SeatClaimRetry.class,
+  BookingIdAllocator.class,
+  SeatingConfigLock.class,
+  PerSeatOccupancyRepository.class,
+  RowMaskOccupancyRepository.class,
+  BookingMetrics.class,
+  SimpleMeterRegistry.class
+})
+class HoldExpiryReaperIntegrationTest {
+
+  @Autowired private BookingService bookingService;
+  @Autowired private HoldExpiryReaper holdExpiryReaper;
+  @Autowired private BookingRepository bookingRepository;
+  @Autowired private BookedSeatRepository bookedSeatRepository;
+  @Autowired private SeatingConfigRepository seatingConfigRepository;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private MeterRegistry meterRegistry;
+
+  private long availableSeats(String movieTitle, int rowCount, int seatsPerRow) {
+    return seatingConfigRepository
+        .findAvailabilityByTitleAndLayout(movieTitle, rowCount, seatsPerRow)
+        .orElseThrow()
+        .availableSeatsCount();
+  }
+
+  @Test
+  @Transactional
+  @DisplayName("reaper expires overdue holds and frees their seats")
+  void reapsOverdueHolds() {
+    ReservedSeatsResponse overdue = bookingService.reserveSeats("Inception", 3, 10, 4);
+    ReservedSeatsResponse confirmed = bookingService.reserveSeats("Interstellar", 5, 5, 2);
+    bookingService.confirmBooking(confirmed.bookingId());
+
+    int reaped = holdExpiryReaper.reapExpiredHolds(LocalDateTime.now().plusMinutes(10));
+
+    assertThat(reaped).isEqualTo(1);
+    assertThat(bookingRepository.findByBookingId(overdue.bookingId()).orElseThrow().getStatus())
+        .isEqualTo(BookingStatus.EXPIRED);
+    assertThat(bookingRepository.findByBookingId(confirmed.bookingId()).orElseThrow().getStatus())
+        .isEqualTo(BookingStatus.CONFIRMED);
+    assertThat(bookedSeatRepository.countByBooking_BookingId(overdue.bookingId())).isZero();
+    assertThat(bookedSeatRepository.countByBooking_BookingId(confirmed.bookingId())).isEqualTo(2);
+    assertThat(holdExpiryReaper.reapedCount()).isEqualTo(1);
+    assertThat(meterRegistry.get("cinemas.booking.reaper.expired").functionCounter().count())
+        .isEqualTo(holdExpiryReaper.reapedCount());
+    assertThat(meterRegistry.get("cinemas.booking.reaper.sweep").timer().count()).isPositive();
+    assertThat(availableSeats("Inception", 3, 10)).isEqualTo(30);
+    assertThat(availableSeats("Interstellar", 5, 5)).isEqualTo(23);
+  }
+
+  @Test
+  @Transactional
+  @DisplayName("reaper leaves holds that have not expired yet")
+  void leavesLiveHolds() {
+    ReservedSeatsResponse live = bookingService.reserveSeats("Tenet", 2, 8, 3);
+
+    int reaped = holdExpiryReaper.reapExpiredHolds(LocalDateTime.now());
+
+    assertThat(reaped).isZero();
+    assertThat(bookingRepository.findByBookingId(live.bookingId()).orElseThrow().getStatus())
+        .isEqualTo(BookingStatus.PENDING);
+    assertThat(bookedSeatRepository.countByBooking_BookingId(live.bookingId())).isEqualTo(3);
+  }
+
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  @DirtiesContext // its rows are committed, so later tests get a fresh database
+  @DisplayName("a hold confirmed while the reaper waits for it keeps its seats")
+  void holdConfirmedDuringSweepKeepsSeats() throws Exception {
+    ReservedSeatsResponse held = bookingService.reserveSeats("Prestige", 2, 5, 2);
+
+    // a confirm that has written the booking row but not committed yet
+    CountDownLatch written = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Void> confirm =
+        CompletableFuture.runAsync(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    status -> {
+                      bookingRepository
+                          .findByBookingId(held.bookingId())
+                          .orElseThrow()
+                          .setStatus(BookingStatus.CONFIRMED);
+                      bookingRepository.flush();
+                      written.countDown();
+                      try {
+                        release.await(10, TimeUnit.SECONDS);
+                      } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                      }
+                    }));
+    assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+
+    CompletableFuture<Integer> sweep =
+        CompletableFuture.supplyAsync(
+            () -> holdExpiryReaper.reapExpiredHolds(LocalDateTime.now().plusMinutes(10)));
+    Thread.sleep(200); // let the sweep reach the locked row
+    release.countDown();
+    confirm.join();
+
+    assertThat(sweep.join()).isZero();
+    assertThat(bookingRepository.findByBookingId(held.bookingId()).orElseThrow().getStatus())
+        .isEqualTo(BookingStatus.CONFIRMED);
+    assertThat(bookedSeatRepository.countByBooking_BookingId(held.bookingId())).isEqualTo(2);
+    assertThat(availableSeats("Prestige", 2, 5)).isEqualTo(8);
+  }
+
+  @Test
+  @Transactional
+  @DisplayName("a hold the reaper expired is not extended again by a late change")
+  void expiredHoldIsNotExtended() {
+    ReservedSeatsResponse held = bookingService.reserveSeats("Memento", 2, 5, 2);
+    long id = bookingRepository.findByBookingId(held.bookingId()).orElseThrow().getId();
+    holdExpiryReaper.reapExpiredHolds(LocalDateTime.now().plusMinutes(10));
+
+    LocalDateTime now = LocalDateTime.now();
+    assertThat(bookingRepository.extendHold(id, now, now.plusMinutes(5))).isZero();
+    assertThat(bookingRepository.findByBookingId(held.bookingId()).orElseThrow().getStatus())
+        .isEqualTo(BookingStatus.EXPIRED);
+  }
+}
@@ -0,0 +1,177 @@
+package com.gic.cinemas.backend.integration;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.gic.cinemas.backend.SeatMapBuilder;
+import com.gic.cinemas.backend.repository.BookedSeatRepository;
+import com.gic.cinemas.backend.repository.BookingRepository;
+import com.gic.cinemas.backend.repository.PerSeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.RowMaskOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatingConfigLock;
+import com.gic.cinemas.backend.repository.SeatingConfigRepository;
+import com.gic.cinemas.backend.service.BookingIdAllocator;
+import com.gic.cinemas.backend.service.BookingMetrics;
+import com.gic.cinemas.backend.service.BookingService;
+import com.gic.cinemas.backend.service.HoldExpiryReaper;
+import com.gic.cinemas.backend.service.ReservationLanes;
+import com.gic.cinemas.backend.service.SeatAllocator;
+import com.gic.cinemas.backend.service.SeatClaimRetry;
+import com.gic.cinemas.backend.service.SeatStateCache;
+import com.gic.cinemas.backend.service.SeatingConfigHelper;
+import com.gic.cinemas.backend.validation.BookingValidator;
+import com.gic.cinemas.backend.validation.SeatingConfigValidator;
+import com.gic.cinemas.common.dto.BookingStatus;
+import com.gic.cinemas.common.dto.response.BookingCancelledResponse;
+import com.gic.cinemas.common.dto.response.ReservedSeatsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs outside a test transaction in OPTIMISTIC mode, where the reaper runs off the lanes: every
+ * call commits, so a sweep really overlaps a cancel. The committed rows would leak into tests
+ * sharing this context, so it is discarded afterwards.
+ */
+@DataJpaTest(properties = "cinemas.booking.concurrency-mode=OPTIMISTIC")
+@DirtiesContext
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+  BookingService.class,
+  HoldExpiryReaper.class,
+  SeatAllocator.class,
+  SeatMapBuilder.class,
+  SeatingConfigValidator.class,
+  BookingValidator.class,
+  SeatingConfigHelper.class,
+  SeatStateCache.class,
+  ReservationLanes.class,
+  SeatClaimRetry.class,
+  BookingIdAllocator.class,
+  SeatingConfigLock.class,
+  PerSeatOccupancyRepository.class,
+  RowMaskOccupancyRepository.class,
+  BookingMetrics.class,
+  SimpleMeterRegistry.class
+})
+class OptimisticHoldExpiryReaperIntegrationTest {
+
+  @Autowired private BookingService bookingService;
+  @Autowired private HoldExpiryReaper holdExpiryReaper;
+  @Autowired private BookingRepository bookingRepository;
+  @Autowired private BookedSeatRepository bookedSeatRepository;
+  @Autowired private SeatOccupancyRepository seatOccupancyRepository;
+  @Autowired private SeatingConfigRepository seatingConfigRepository;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Test
+  @DisplayName("a sweep overlapping a cancel waits for it instead of deadlocking")
+  void sweepOverlappingCancelDoesNotDeadlock() throws Exception {
+    ReservedSeatsResponse held = bookingService.reserveSeats("Magnolia", 2, 5, 2);
+    ReservedSeatsResponse abandoned = bookingService.reserveSeats("Magnolia", 2, 5, 3);
+    long id = bookingRepository.findByBookingId(held.bookingId()).orElseThrow().getId();
+    long seatingConfigId =
+        seatingConfigRepository.findIdByTitleAndLayout("Magnolia", 2, 5).orElseThrow();
+
+    // a cancel that has locked the booking row but not yet reached the seating_config row;
+    // the statements are cancelBookingOnLane's, paused in between
+    CountDownLatch cancelled = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Void> cancel =
+        CompletableFuture.runAsync(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    status -> {
+                      bookingRepository.markCancelled(id);
+                      cancelled.countDown();
+                      try {
+                        release.await(10, TimeUnit.SECONDS);
+                      } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                      }
+                      int released =
+                          seatOccupancyRepository
+                              .releaseAllSeats(seatingConfigId, 2, 5, List.of(id))
+                              .takenCount();
+                      seatingConfigRepository.adjustAvailableSeats(seatingConfigId, released);
+                    }));
+    assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+
+    CompletableFuture<Integer> sweep =
+        CompletableFuture.supplyAsync(
+            () -> holdExpiryReaper.reapExpiredHolds(LocalDateTime.now().plusMinutes(10)));
+    Thread.sleep(200); // let the sweep reach the locked booking row
+    release.countDown();
+    cancel.join();
+
+    // a sweep that gave up on a lock timeout would have left the abandoned hold alone
+    assertThat(sweep.join()).isEqualTo(1);
+    assertThat(bookingRepository.findByBookingId(held.bookingId()).orElseThrow().getStatus())
+        .isEqualTo(BookingStatus.CANCELLED);
+    assertThat(bookingRepository.findByBookingId(abandoned.bookingId()).orElseThrow().getStatus())
+        .isEqualTo(BookingStatus.EXPIRED);
+    assertThat(bookedSeatRepository.countByBooking_BookingId(held.bookingId())).isZero();
+    assertThat(
+            seatingConfigRepository
+                .findAvailabilityById(seatingConfigId)
+                .orElseThrow()
+                .availableSeatsCount())
+        .isEqualTo(10);
+  }
+
+  @Test
+  @DisplayName("a cancel that loses to an overlapping sweep reports the booking EXPIRED")
+  void cancelLosingToSweepReportsExpired() throws Exception {
+    ReservedSeatsResponse held = bookingService.reserveSeats("Rashomon", 2, 5, 2);
+    long id = bookingRepository.findByBookingId(held.bookingId()).orElseThrow().getId();
+    long seatingConfigId =
+        seatingConfigRepository.findIdByTitleAndLayout("Rashomon", 2, 5).orElseThrow();
+
+    // a sweep that has expired the hold but not yet committed; the statements are reapBatch's
+    CountDownLatch expired = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Void> sweep =
+        CompletableFuture.runAsync(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    status -> {
+                      bookingRepository.markExpired(
+                          List.of(id), LocalDateTime.now().plusMinutes(10));
+                      expired.countDown();
+                      try {
+                        release.await(10, TimeUnit.SECONDS);
+                      } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                      }
+                      int released =
+                          seatOccupancyRepository
+                              .releaseAllSeats(seatingConfigId, 2, 5, List.of(id))
+                              .takenCount();
+                      seatingConfigRepository.adjustAvailableSeats(seatingConfigId, released);
+                    }));
+    assertThat(expired.await(5, TimeUnit.SECONDS)).isTrue();
+
+    // the cancel still reads PENDING, then waits on the booking row the sweep holds
+    CompletableFuture<BookingCancelledResponse> cancel =
+        CompletableFuture.supplyAsync(() -> bookingService.cancelBooking(held.bookingId()));
+    Thread.sleep(200);
+    release.countDown();
+    sweep.join();
+
+    BookingCancelledResponse cancelled = cancel.join();
+    assertThat(cancelled.status()).isEqualTo(BookingStatus.EXPIRED);
+    assertThat(cancelled.releasedSeats()).isZero();
+  }
+}
@@ -0,0 +1,177 @@
+package com.gic.cinemas.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.gic.cinemas.backend.SeatMapBuilder;
+import com.gic.cinemas.backend.exception.SeatingConfigBusyException;
+import com.gic.cinemas.backend.repository.PerSeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.RowMaskOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatingConfigLock;
+import com.gic.cinemas.backend.repository.SeatingConfigRepository;
+import com.gic.cinemas.backend.service.BookingIdAllocator;
+import com.gic.cinemas.backend.service.BookingMetrics;
+import com.gic.cinemas.backend.service.BookingService;
+import com.gic.cinemas.backend.service.ReservationLanes;
+import com.gic.cinemas.backend.service.SeatAllocator;
+import com.gic.cinemas.backend.service.SeatClaimRetry;
+import com.gic.cinemas.backend.service.SeatStateCache;
+import com.gic.cinemas.backend.service.SeatingConfigHelper;
+import com.gic.cinemas.backend.validation.BookingValidator;
+import com.gic.cinemas.backend.validation.SeatingConfigValidator;
+import com.gic.cinemas.common.dto.SeatDto;
+import com.gic.cinemas.common.dto.response.ReservedSeatsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Runs outside a test transaction: every call commits, so concurrent claims really contend. */
+@DataJpaTest(
+    properties = {
+      "cinemas.booking.concurrency-mode=PESSIMISTIC",
+      "cinemas.booking.lock-timeout=PT3S" // longer than H2's own 2 s default
+    })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+  BookingService.class,
+  SeatAllocator.class,
+  SeatMapBuilder.class,
+  SeatingConfigValidator.class,
+  BookingValidator.class,
+  SeatingConfigHelper.class,
+  SeatStateCache.class,
+  ReservationLanes.class,
+  SeatClaimRetry.class,
+  BookingIdAllocator.class,
+  SeatingConfigLock.class,
+  PerSeatOccupancyRepository.class,
+  RowMaskOccupancyRepository.class,
+  BookingMetrics.class,
+  SimpleMeterRegistry.class
+})
+class PessimisticReservationIntegrationTest {
+
+  @Autowired private BookingService bookingService;
+  @Autowired private SeatingConfigRepository seatingConfigRepository;
+  @Autowired private SeatingConfigLock seatingConfigLock;
+  @Autowired private SeatClaimRetry seatClaimRetry;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  @DisplayName("concurrent reservations on one show queue on the row lock and never collide")
+  void concurrentReservationsNeverConflict() {
+    bookingService.reserveSeats("Heat", 4, 10, 1); // creates the hall
+    long retriesBefore = seatClaimRetry.retryCount();
+
+    List<ReservedSeatsResponse> reserved =
+        IntStream.range(0, 12)
+            .mapToObj(
+                i ->
+                    CompletableFuture.supplyAsync(
+                        () -> bookingService.reserveSeats("Heat", 4, 10, 3)))
+            .toList()
+            .stream()
+            .map(CompletableFuture::join)
+            .toList();
+
+    Set<SeatDto> seats = new HashSet<>();
+    reserved.forEach(r -> seats.addAll(r.reservedSeats()));
+    assertThat(seats).hasSize(36);
+    assertThat(seatClaimRetry.retryCount()).isEqualTo(retriesBefore);
+  }
+
+  @Test
+  @DisplayName("a claim waits for the row lock for as long as cinemas.booking.lock-timeout allows")
+  void waitsForConfiguredLockTimeout() throws Exception {
+    bookingService.reserveSeats("Collateral", 2, 5, 1); // creates the hall
+    long seatingConfigId =
+        seatingConfigRepository.findIdByTitleAndLayout("Collateral", 2, 5).orElseThrow();
+
+    CountDownLatch locked = new CountDownLatch(1);
+    CompletableFuture<Void> holder =
+        CompletableFuture.runAsync(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    status -> {
+                      seatingConfigLock.lock(seatingConfigId);
+                      locked.countDown();
+                      try {
+                        Thread.sleep(2500);
+                      } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                      }
+                    }));
+    assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(bookingService.reserveSeats("Collateral", 2, 5, 2).reservedSeats()).hasSize(2);
+    holder.join();
+  }
+
+  @Test
+  @DisplayName("a claim that cannot get the row lock in time fails as busy")
+  void lockTimeoutFailsAsBusy() throws Exception {
+    bookingService.reserveSeats("Ronin", 2, 5, 1); // creates the hall
+    long seatingConfigId =
+        seatingConfigRepository.findIdByTitleAndLayout("Ronin", 2, 5).orElseThrow();
+
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Void> holder =
+        CompletableFuture.runAsync(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    status -> {
+                      seatingConfigLock.lock(seatingConfigId);
+                      locked.countDown();
+                      try {
+                        release.await(10, TimeUnit.SECONDS);
+                      } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                      }
+                    }));
+    assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+    try {
+      assertThatThrownBy(() -> bookingService.reserveSeats("Ronin", 2, 5, 2))
+          .isInstanceOf(SeatingConfigBusyException.class);
+    } finally {
+      release.countDown();
+      holder.join();
+    }
+    assertThat(bookingService.reserveSeats("Ronin", 2, 5, 2).reservedSeats()).hasSize(2);
+  }
+
+  @Test
+  @DisplayName("the lock's timeout does not stay on the pooled connection afterwards")
+  void lockTimeoutIsRestoredAfterTheLock() {
+    bookingService.reserveSeats("Thief", 2, 5, 1); // creates the hall
+    long seatingConfigId =
+        seatingConfigRepository.findIdByTitleAndLayout("Thief", 2, 5).orElseThrow();
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          Number before = h2LockTimeout();
+          seatingConfigLock.lock(seatingConfigId);
+          assertThat(h2LockTimeout()).isEqualTo(before);
+        });
+  }
+
+  private Number h2LockTimeout() {
+    return (Number) entityManager.createNativeQuery("SELECT LOCK_TIMEOUT()").getSingleResult();
+  }
+}
@@ -0,0 +1,155 @@
+package com.gic.cinemas.backend.integration;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.gic.cinemas.backend.SeatMapBuilder;
+import com.gic.cinemas.backend.model.BookedSeatEntity;
+import com.gic.cinemas.backend.model.BookingEntity;
+import com.gic.cinemas.backend.model.SeatingConfigEntity;
+import com.gic.cinemas.backend.repository.PerSeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.RowMaskOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatingConfigLock;
+import com.gic.cinemas.backend.service.BookingIdAllocator;
+import com.gic.cinemas.backend.service.BookingMetrics;
+import com.gic.cinemas.backend.service.BookingService;
+import com.gic.cinemas.backend.service.ReservationLanes;
+import com.gic.cinemas.backend.service.SeatAllocator;
+import com.gic.cinemas.backend.service.SeatClaimRetry;
+import com.gic.cinemas.backend.service.SeatStateCache;
+import com.gic.cinemas.backend.service.SeatingConfigHelper;
+import com.gic.cinemas.backend.validation.BookingValidator;
+import com.gic.cinemas.backend.validation.SeatingConfigValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.SessionEventListener;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Runs outside a test transaction so that the first reservation commits before the second. */
+@DataJpaTest(
+    properties = {
+      "spring.jpa.properties.hibernate.generate_statistics=true",
+      "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+          + "com.gic.cinemas.backend.integration.ReserveSeatsStatementCountIntegrationTest"
+          + "$SeatInsertCounter",
+      "spring.jpa.properties.hibernate.session.events.auto="
+          + "com.gic.cinemas.backend.integration.ReserveSeatsStatementCountIntegrationTest"
+          + "$SeatExecutionCounter"
+    })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+  BookingService.class,
+  SeatAllocator.class,
+  SeatMapBuilder.class,
+  SeatingConfigValidator.class,
+  BookingValidator.class,
+  SeatingConfigHelper.class,
+  SeatStateCache.class,
+  ReservationLanes.class,
+  SeatClaimRetry.class,
+  BookingIdAllocator.class,
+  SeatingConfigLock.class,
+  PerSeatOccupancyRepository.class,
+  RowMaskOccupancyRepository.class,
+  BookingMetrics.class,
+  SimpleMeterRegistry.class
+})
+class ReserveSeatsStatementCountIntegrationTest {
+
+  private static final AtomicInteger seatInsertsPrepared = new AtomicInteger();
+  private static final AtomicInteger seatBatchesExecuted = new AtomicInteger();
+  private static final AtomicInteger seatInsertsExecutedAlone = new AtomicInteger();
+
+  /** Whether the statement this thread prepared last is a {@code booked_seat} insert. */
+  private static final ThreadLocal<Boolean> seatInsertPreparedLast =
+      ThreadLocal.withInitial(() -> false);
+
+  @Autowired private BookingService bookingService;
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  @DisplayName("a 10-seat reservation writes its seats as one batched insert")
+  void tenSeatReservationIsOneInsertBatch() {
+    bookingService.reserveSeats("Arrival", 10, 20, 1); // creates the hall
+
+    Statistics statistics =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    seatInsertsPrepared.set(0);
+    seatBatchesExecuted.set(0);
+    seatInsertsExecutedAlone.set(0);
+
+    bookingService.reserveSeats("Arrival", 10, 20, 10);
+
+    assertThat(statistics.getEntityStatistics(BookedSeatEntity.class.getName()).getInsertCount())
+        .isEqualTo(10);
+    assertThat(seatInsertsPrepared).hasValue(1);
+    assertThat(seatBatchesExecuted).as("booked_seat batches sent").hasValue(1);
+    assertThat(seatInsertsExecutedAlone).as("booked_seat rows sent on their own").hasValue(0);
+  }
+
+  @Test
+  @DisplayName("ids come from sequences, so no insert has to run on its own to learn its id")
+  void noEntityUsesIdentityInserts() {
+    SessionFactoryImplementor sessionFactory =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+
+    for (Class<?> entity :
+        new Class<?>[] {SeatingConfigEntity.class, BookingEntity.class, BookedSeatEntity.class}) {
+      assertThat(
+              sessionFactory
+                  .getMappingMetamodel()
+                  .getEntityDescriptor(entity)
+                  .getGenerator()
+                  .generatedOnExecution())
+          .as(entity.getSimpleName())
+          .isFalse();
+    }
+  }
+
+  /** Counts prepared {@code booked_seat} inserts: once per JDBC batch, once per row otherwise. */
+  public static class SeatInsertCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+      boolean seatInsert = sql.toLowerCase(Locale.ROOT).startsWith("insert into booked_seat");
+      if (seatInsert) {
+        seatInsertsPrepared.incrementAndGet();
+      }
+      seatInsertPreparedLast.set(seatInsert);
+      return sql;
+    }
+  }
+
+  /**
+   * Counts how the prepared {@code booked_seat} insert reaches the database: as a JDBC batch, or
+   * row by row as an IDENTITY-generated insert would have to.
+   */
+  public static class SeatExecutionCounter implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+      if (seatInsertPreparedLast.get()) {
+        seatBatchesExecuted.incrementAndGet();
+      }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+      if (seatInsertPreparedLast.get()) {
+        seatInsertsExecutedAlone.incrementAndGet();
+      }
+    }
+  }
+}
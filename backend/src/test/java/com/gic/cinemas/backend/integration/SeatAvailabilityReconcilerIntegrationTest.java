@@ -0,0 +1,87 @@
+package com.gic.cinemas.backend.integration;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.gic.cinemas.backend.SeatMapBuilder;
+import com.gic.cinemas.backend.repository.PerSeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.RowMaskOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatingConfigLock;
+import com.gic.cinemas.backend.repository.SeatingConfigRepository;
+import com.gic.cinemas.backend.service.BookingIdAllocator;
+import com.gic.cinemas.backend.service.BookingMetrics;
+import com.gic.cinemas.backend.service.BookingService;
+import com.gic.cinemas.backend.service.ReservationLanes;
+import com.gic.cinemas.backend.service.SeatAllocator;
+import com.gic.cinemas.backend.service.SeatAvailabilityReconciler;
+import com.gic.cinemas.backend.service.SeatClaimRetry;
+import com.gic.cinemas.backend.service.SeatStateCache;
+import com.gic.cinemas.backend.service.SeatingConfigHelper;
+import com.gic.cinemas.backend.service.SeatingConfigVersions;
+import com.gic.cinemas.backend.validation.BookingValidator;
+import com.gic.cinemas.backend.validation.SeatingConfigValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@Import({
+  BookingService.class,
+  SeatAvailabilityReconciler.class,
+  SeatingConfigVersions.class,
+  SeatAllocator.class,
+  SeatMapBuilder.class,
+  SeatingConfigValidator.class,
+  BookingValidator.class,
+  SeatingConfigHelper.class,
+  SeatStateCache.class,
+  ReservationLanes.class,
+  SeatClaimRetry.class,
+  BookingIdAllocator.class,
+  SeatingConfigLock.class,
+  PerSeatOccupancyRepository.class,
+  RowMaskOccupancyRepository.class,
+  BookingMetrics.class,
+  SimpleMeterRegistry.class
+})
+class SeatAvailabilityReconcilerIntegrationTest {
+
+  @Autowired private BookingService bookingService;
+  @Autowired private SeatAvailabilityReconciler reconciler;
+  @Autowired private SeatingConfigRepository seatingConfigRepository;
+
+  @Test
+  @Transactional
+  @DisplayName("reconcile rebuilds a drifted available-seat counter from held seats")
+  void rebuildsDriftedCounter() {
+    bookingService.reserveSeats("Inception", 8, 10, 4);
+    long seatingConfigId =
+        seatingConfigRepository.findIdByTitleAndLayout("Inception", 8, 10).orElseThrow();
+    seatingConfigRepository.resetAvailableSeats(seatingConfigId, 1);
+
+    assertThat(reconciler.reconcile()).isEqualTo(1);
+    assertThat(availableSeats(seatingConfigId)).isEqualTo(76);
+  }
+
+  @Test
+  @Transactional
+  @DisplayName("reconcile leaves a correct counter alone")
+  void leavesCorrectCounter() {
+    bookingService.reserveSeats("Tenet", 2, 8, 3);
+    long seatingConfigId =
+        seatingConfigRepository.findIdByTitleAndLayout("Tenet", 2, 8).orElseThrow();
+
+    assertThat(reconciler.reconcile()).isZero();
+    assertThat(availableSeats(seatingConfigId)).isEqualTo(13);
+  }
+
+  private long availableSeats(long seatingConfigId) {
+    return seatingConfigRepository
+        .findAvailabilityById(seatingConfigId)
+        .orElseThrow()
+        .availableSeatsCount();
+  }
+}
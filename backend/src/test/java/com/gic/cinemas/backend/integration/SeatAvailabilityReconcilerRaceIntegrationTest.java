@@ -0,0 +1,109 @@
+package com.gic.cinemas.backend.integration;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.gic.cinemas.backend.SeatMapBuilder;
+import com.gic.cinemas.backend.repository.PerSeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.RowMaskOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatingConfigLock;
+import com.gic.cinemas.backend.repository.SeatingConfigRepository;
+import com.gic.cinemas.backend.service.BookingIdAllocator;
+import com.gic.cinemas.backend.service.BookingMetrics;
+import com.gic.cinemas.backend.service.BookingService;
+import com.gic.cinemas.backend.service.ReservationLanes;
+import com.gic.cinemas.backend.service.SeatAllocator;
+import com.gic.cinemas.backend.service.SeatAvailabilityReconciler;
+import com.gic.cinemas.backend.service.SeatClaimRetry;
+import com.gic.cinemas.backend.service.SeatStateCache;
+import com.gic.cinemas.backend.service.SeatingConfigHelper;
+import com.gic.cinemas.backend.service.SeatingConfigVersions;
+import com.gic.cinemas.backend.validation.BookingValidator;
+import com.gic.cinemas.backend.validation.SeatingConfigValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs outside a test transaction in OPTIMISTIC mode, where claims skip the lanes: every call
+ * commits, so a recount really races an in-flight claim. The committed rows would leak into tests
+ * sharing this context, so it is discarded afterwards.
+ */
+@DataJpaTest(properties = "cinemas.booking.concurrency-mode=OPTIMISTIC")
+@DirtiesContext
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+  BookingService.class,
+  SeatAvailabilityReconciler.class,
+  SeatingConfigVersions.class,
+  SeatAllocator.class,
+  SeatMapBuilder.class,
+  SeatingConfigValidator.class,
+  BookingValidator.class,
+  SeatingConfigHelper.class,
+  SeatStateCache.class,
+  ReservationLanes.class,
+  SeatClaimRetry.class,
+  BookingIdAllocator.class,
+  SeatingConfigLock.class,
+  PerSeatOccupancyRepository.class,
+  RowMaskOccupancyRepository.class,
+  BookingMetrics.class,
+  SimpleMeterRegistry.class
+})
+class SeatAvailabilityReconcilerRaceIntegrationTest {
+
+  @Autowired private BookingService bookingService;
+  @Autowired private SeatAvailabilityReconciler reconciler;
+  @Autowired private SeatingConfigRepository seatingConfigRepository;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Test
+  @DisplayName("a recount waits for an in-flight claim instead of overwriting its counter delta")
+  void recountKeepsInFlightClaim() throws Exception {
+    bookingService.reserveSeats("Thief", 3, 10, 1); // creates the hall
+    long seatingConfigId =
+        seatingConfigRepository.findIdByTitleAndLayout("Thief", 3, 10).orElseThrow();
+
+    CountDownLatch reserved = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Void> claim =
+        CompletableFuture.runAsync(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    status -> {
+                      bookingService.reserveSeats("Thief", 3, 10, 4);
+                      reserved.countDown();
+                      try {
+                        release.await(10, TimeUnit.SECONDS);
+                      } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                      }
+                    }));
+    assertThat(reserved.await(5, TimeUnit.SECONDS)).isTrue();
+
+    CompletableFuture<Integer> recount = CompletableFuture.supplyAsync(reconciler::reconcile);
+    Thread.sleep(200); // let the recount reach the locked row
+    release.countDown();
+    claim.join();
+
+    assertThat(recount.join()).isZero();
+    assertThat(availableSeats(seatingConfigId)).isEqualTo(25);
+  }
+
+  private long availableSeats(long seatingConfigId) {
+    return seatingConfigRepository
+        .findAvailabilityById(seatingConfigId)
+        .orElseThrow()
+        .availableSeatsCount();
+  }
+}
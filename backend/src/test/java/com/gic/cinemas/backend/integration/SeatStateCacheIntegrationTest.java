@@ -0,0 +1,155 @@
+package com.gic.cinemas.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.gic.cinemas.backend.SeatMap;
+import com.gic.cinemas.backend.SeatMapBuilder;
+import com.gic.cinemas.backend.event.SeatOccupancyChangedEvent;
+import com.gic.cinemas.backend.model.BookedSeatEntity;
+import com.gic.cinemas.backend.model.BookingEntity;
+import com.gic.cinemas.backend.model.SeatingConfigEntity;
+import com.gic.cinemas.backend.repository.BookedSeatRepository;
+import com.gic.cinemas.backend.repository.BookingRepository;
+import com.gic.cinemas.backend.repository.PerSeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.RowMaskOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatingConfigLock;
+import com.gic.cinemas.backend.repository.SeatingConfigRepository;
+import com.gic.cinemas.backend.service.BookingIdAllocator;
+import com.gic.cinemas.backend.service.BookingMetrics;
+import com.gic.cinemas.backend.service.BookingService;
+import com.gic.cinemas.backend.service.ReservationLanes;
+import com.gic.cinemas.backend.service.SeatAllocator;
+import com.gic.cinemas.backend.service.SeatClaimRetry;
+import com.gic.cinemas.backend.service.SeatStateCache;
+import com.gic.cinemas.backend.service.SeatingConfigHelper;
+import com.gic.cinemas.backend.validation.BookingValidator;
+import com.gic.cinemas.backend.validation.SeatingConfigValidator;
+import com.gic.cinemas.common.dto.BookingStatus;
+import com.gic.cinemas.common.dto.SeatDto;
+import com.gic.cinemas.common.dto.response.ReservedSeatsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs outside a test transaction so that events really see their transaction commit. The committed
+ * rows would leak into tests sharing this context, so it is discarded afterwards.
+ */
+@DataJpaTest
+@DirtiesContext
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+  BookingService.class,
+  SeatAllocator.class,
+  SeatMapBuilder.class,
+  SeatingConfigValidator.class,
+  BookingValidator.class,
+  SeatingConfigHelper.class,
+  SeatStateCache.class,
+  ReservationLanes.class,
+  SeatClaimRetry.class,
+  BookingIdAllocator.class,
+  SeatingConfigLock.class,
+  PerSeatOccupancyRepository.class,
+  RowMaskOccupancyRepository.class,
+  BookingMetrics.class,
+  SimpleMeterRegistry.class
+})
+class SeatStateCacheIntegrationTest {
+
+  @Autowired private BookingService bookingService;
+  @Autowired private SeatStateCache seatStateCache;
+  @Autowired private SeatClaimRetry seatClaimRetry;
+  @Autowired private SeatingConfigRepository seatingConfigRepository;
+  @Autowired private BookingRepository bookingRepository;
+  @Autowired private BookedSeatRepository bookedSeatRepository;
+  @Autowired private ApplicationEventPublisher eventPublisher;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Test
+  @DisplayName("a change is applied once its transaction commits")
+  void appliesCommittedChange() {
+    long seatingConfigId = hall("Gravity");
+    SeatMap before = seatStateCache.snapshot(seatingConfigId, 2, 4);
+    SeatMap claimed = seats(1, 3);
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          eventPublisher.publishEvent(SeatOccupancyChangedEvent.claimed(seatingConfigId, claimed));
+          assertThat(seatStateCache.snapshot(seatingConfigId, 2, 4)).isEqualTo(before);
+        });
+
+    SeatMap expected = before.copy();
+    expected.takeAll(claimed);
+    assertThat(seatStateCache.snapshot(seatingConfigId, 2, 4)).isEqualTo(expected);
+  }
+
+  @Test
+  @DisplayName("a change whose transaction rolls back is ignored")
+  void ignoresRolledBackChange() {
+    long seatingConfigId = hall("Solaris");
+    SeatMap before = seatStateCache.snapshot(seatingConfigId, 2, 4);
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          eventPublisher.publishEvent(
+              SeatOccupancyChangedEvent.claimed(seatingConfigId, seats(1, 3)));
+          status.setRollbackOnly();
+        });
+
+    assertThat(seatStateCache.snapshot(seatingConfigId, 2, 4)).isEqualTo(before);
+  }
+
+  @Test
+  @DisplayName("a claim that conflicts with seats the cache missed evicts it and re-plans")
+  void conflictEvictsStaleEntry() {
+    long seatingConfigId = hall("Contact");
+    SeatingConfigEntity seatingConfig = seatingConfigRepository.findById(seatingConfigId).get();
+    SeatMap cached = seatStateCache.snapshot(seatingConfigId, 2, 4);
+
+    // row A fills up behind the cache's back
+    BookingEntity other =
+        bookingRepository.saveAndFlush(
+            new BookingEntity(
+                "GIC9901",
+                seatingConfig,
+                LocalDateTime.now().plusMinutes(5),
+                BookingStatus.PENDING));
+    for (int col = 0; col < 4; col++) {
+      if (!cached.isTaken(0, col)) {
+        bookedSeatRepository.saveAndFlush(new BookedSeatEntity(other, seatingConfig, "A", col + 1));
+      }
+    }
+    long retriesBefore = seatClaimRetry.retryCount();
+
+    ReservedSeatsResponse reserved = bookingService.reserveSeats("Contact", 2, 4, 2);
+
+    assertThat(reserved.reservedSeats()).extracting(SeatDto::rowLabel).containsOnly("B");
+    assertThat(seatClaimRetry.retryCount()).isGreaterThan(retriesBefore);
+    assertThat(seatStateCache.snapshot(seatingConfigId, 2, 4).row(0))
+        .isEqualTo(cached.fullRowMask());
+  }
+
+  /** Creates a 2x4 hall holding one reserved seat, and loads it into the cache. */
+  private long hall(String movieTitle) {
+    bookingService.reserveSeats(movieTitle, 2, 4, 1);
+    return seatingConfigRepository.findIdByTitleAndLayout(movieTitle, 2, 4).orElseThrow();
+  }
+
+  private static SeatMap seats(int... rowCols) {
+    SeatMap seats = new SeatMap(2, 4);
+    for (int i = 0; i < rowCols.length; i += 2) {
+      seats.take(rowCols[i], rowCols[i + 1]);
+    }
+    return seats;
+  }
+}
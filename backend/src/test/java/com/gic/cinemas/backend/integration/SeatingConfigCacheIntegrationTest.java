@@ -0,0 +1,108 @@
+package com.gic.cinemas.backend.integration;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.gic.cinemas.backend.repository.SeatingConfigRepository;
+import com.gic.cinemas.backend.service.SeatingConfigHelper;
+import com.gic.cinemas.backend.service.SeatingConfigRef;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// The cache is only used outside a caller's transaction, so these tests commit for real and use
+// titles no other test uses.
+@DataJpaTest
+@Import({SeatingConfigHelper.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SeatingConfigCacheIntegrationTest {
+
+  @Autowired private SeatingConfigHelper seatingConfigHelper;
+  @Autowired private SeatingConfigRepository seatingConfigRepository;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Test
+  @DisplayName("a resolved config is served from the cache on later lookups")
+  void secondLookupIsACacheHit() {
+    long hitsBefore = seatingConfigHelper.cacheStats().hitCount();
+
+    SeatingConfigRef created = seatingConfigHelper.findOrCreateSeatingConfig("Oppenheimer", 6, 12);
+    SeatingConfigRef again = seatingConfigHelper.findOrCreateSeatingConfig(" Oppenheimer ", 6, 12);
+    SeatingConfigRef found =
+        seatingConfigHelper.findSeatingConfig("Oppenheimer", 6, 12).orElseThrow();
+
+    assertThat(again).isEqualTo(created);
+    assertThat(found).isEqualTo(created);
+    assertThat(seatingConfigHelper.cacheStats().hitCount() - hitsBefore).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("cache hits and misses are exported as meters")
+  void statsAreExportedAsMeters() {
+    seatingConfigHelper.findOrCreateSeatingConfig("Maestro", 5, 8);
+    seatingConfigHelper.findOrCreateSeatingConfig("Maestro", 5, 8);
+
+    assertThat(cacheGets("hit")).isEqualTo(seatingConfigHelper.cacheStats().hitCount());
+    assertThat(cacheGets("miss")).isEqualTo(seatingConfigHelper.cacheStats().missCount());
+    assertThat(cacheGets("hit")).isPositive();
+  }
+
+  private double cacheGets(String result) {
+    return meterRegistry
+        .get("cache.gets")
+        .tag("cache", "seating-config")
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+
+  @Test
+  @DisplayName("unknown configs are not cached")
+  void missesAreNotCached() {
+    assertThat(seatingConfigHelper.findSeatingConfig("Barbie", 4, 9)).isEmpty();
+
+    seatingConfigHelper.findOrCreateSeatingConfig("Barbie", 4, 9);
+
+    assertThat(seatingConfigHelper.findSeatingConfig("Barbie", 4, 9)).isPresent();
+  }
+
+  @Test
+  @DisplayName("concurrent lookups of a cold key create and load the config once")
+  void coldKeyIsLoadedOnce() {
+    long loadsBefore = seatingConfigHelper.cacheStats().loadCount();
+    CountDownLatch start = new CountDownLatch(1);
+
+    List<CompletableFuture<SeatingConfigRef>> lookups =
+        IntStream.range(0, 8)
+            .mapToObj(
+                i ->
+                    CompletableFuture.supplyAsync(
+                        () -> {
+                          awaitQuietly(start);
+                          return seatingConfigHelper.findOrCreateSeatingConfig("Wonka", 7, 11);
+                        }))
+            .toList();
+    start.countDown();
+
+    assertThat(lookups.stream().map(CompletableFuture::join).distinct()).hasSize(1);
+    assertThat(seatingConfigHelper.cacheStats().loadCount() - loadsBefore).isEqualTo(1);
+    assertThat(seatingConfigRepository.findIdByTitleAndLayout("Wonka", 7, 11)).isPresent();
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
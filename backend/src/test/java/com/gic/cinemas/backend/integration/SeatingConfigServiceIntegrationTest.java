@@ -6,14 +6,23 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.gic.cinemas.backend.exception.SeatingConfigNotFoundException;
 import com.gic.cinemas.backend.repository.BookedSeatRepository;
+import com.gic.cinemas.backend.repository.PerSeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.RowMaskOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatingConfigLock;
 import com.gic.cinemas.backend.repository.SeatingConfigRepository;
+import com.gic.cinemas.backend.service.BookingIdAllocator;
+import com.gic.cinemas.backend.service.BookingMetrics;
 import com.gic.cinemas.backend.service.BookingService;
+import com.gic.cinemas.backend.service.ReservationLanes;
 import com.gic.cinemas.backend.service.SeatAllocator;
+import com.gic.cinemas.backend.service.SeatClaimRetry;
+import com.gic.cinemas.backend.service.SeatStateCache;
 import com.gic.cinemas.backend.service.SeatingConfigHelper;
 import com.gic.cinemas.backend.service.SeatingConfigService;
 import com.gic.cinemas.backend.validation.BookingValidator;
 import com.gic.cinemas.backend.validation.SeatingConfigValidator;
 import com.gic.cinemas.common.dto.response.SeatingAvailabilityResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -32,7 +41,16 @@ import org.springframework.context.annotation.Import;
   SeatAllocator.class,
   SeatingConfigService.class,
   SeatingConfigValidator.class,
-  SeatingConfigHelper.class
+  SeatingConfigHelper.class,
+  SeatStateCache.class,
+  ReservationLanes.class,
+  SeatClaimRetry.class,
+  BookingIdAllocator.class,
+  SeatingConfigLock.class,
+  PerSeatOccupancyRepository.class,
+  RowMaskOccupancyRepository.class,
+  BookingMetrics.class,
+  SimpleMeterRegistry.class
 })
 class SeatingConfigServiceIntegrationTest {
 
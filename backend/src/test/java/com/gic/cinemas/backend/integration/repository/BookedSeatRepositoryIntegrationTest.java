@@ -12,12 +12,10 @@ import com.gic.cinemas.common.dto.BookingStatus;
 import com.gic.cinemas.common.dto.SeatDto;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.transaction.annotation.Transactional;
 
 @DataJpaTest
 class BookedSeatRepositoryIntegrationTest {
@@ -67,25 +65,6 @@ class BookedSeatRepositoryIntegrationTest {
     bookedSeatRepository.saveAndFlush(seat("C", 2, bCancelled, sc));
   }
 
-  @Test
-  @DisplayName("countAvailableSeatsByConfigId: returns total - all booked (any status)")
-  void countAvailableSeats() {
-    seedBasicData();
-
-    Long scId = seatingConfigRepository.findAll().get(0).getId();
-    // total seats = 12, total booked rows = 7 (includes CANCELLED in this JPQL)
-    Optional<Long> available = bookedSeatRepository.countAvailableSeatsByConfigId(scId);
-    assertThat(available).isPresent();
-    assertThat(available.get()).isEqualTo(12L - 7L);
-  }
-
-  @Test
-  @DisplayName("countAvailableSeatsByConfigId: empty Optional for non-existent config")
-  void countAvailableSeats_nonExistentConfig() {
-    Optional<Long> available = bookedSeatRepository.countAvailableSeatsByConfigId(999_999L);
-    assertThat(available).isEmpty();
-  }
-
   @Test
   @DisplayName("findBookedSeats: returns only PENDING & CONFIRMED as SeatDto")
   void findBookedSeats_filtersByStatus() {
@@ -99,35 +78,6 @@ class BookedSeatRepositoryIntegrationTest {
     assertThat(seats).extracting(SeatDto::seatNumber).contains(1, 2, 3);
   }
 
-  @Test
-  @DisplayName("findBySeatingConfigIdAndBookingStatusIn: derived projection obeys status filter")
-  void findByConfigAndStatusIn() {
-    seedBasicData();
-    Long scId = seatingConfigRepository.findAll().get(0).getId();
-
-    List<SeatDto> seats =
-        bookedSeatRepository.findBySeatingConfigIdAndBookingStatusIn(
-            scId, List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED));
-
-    assertThat(seats).hasSize(5);
-  }
-
-  @Test
-  @DisplayName("findBySeatingConfigIdAndBookingIdNotAndBookingStatusIn: excludes given booking")
-  void findByConfigAndNotBookingAndStatusIn() {
-    seedBasicData();
-    Long scId = seatingConfigRepository.findAll().get(0).getId();
-    // Exclude PENDING booking "GIC0001" which has 2 seats
-    BookingEntity pending = bookingRepository.findByBookingId("GIC0001").orElseThrow();
-
-    List<SeatDto> seats =
-        bookedSeatRepository.findBySeatingConfigIdAndBookingIdNotAndBookingStatusIn(
-            scId, pending.getId(), List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED));
-
-    // Total PENDING+CONFIRMED = 5; excluding the 2 from GIC0001 leaves 3
-    assertThat(seats).hasSize(3);
-  }
-
   @Test
   @DisplayName("countByBooking_BookingId counts seats under public bookingId")
   void countByBookingPublicId() {
@@ -137,34 +87,4 @@ class BookedSeatRepositoryIntegrationTest {
             "GIC0002"); // confirmed: B1, B2 plus A3 => 3 seats
     assertThat(count).isEqualTo(3);
   }
-
-  @Test
-  @Transactional
-  @DisplayName("deleteAllByBooking_BookingId removes seats for that booking only")
-  void deleteByBookingPublicId() {
-    seedBasicData();
-    // Before
-    int before = bookedSeatRepository.countByBooking_BookingId("GIC0001");
-    assertThat(before).isEqualTo(2);
-
-    bookedSeatRepository.deleteAllByBooking_BookingId("GIC0001");
-
-    int after = bookedSeatRepository.countByBooking_BookingId("GIC0001");
-    assertThat(after).isZero();
-
-    // Other bookings untouched
-    assertThat(bookedSeatRepository.countByBooking_BookingId("GIC0002")).isEqualTo(3);
-  }
-
-  @Test
-  @DisplayName("findAllByBooking_SeatingConfig_Id returns all BookedSeatEntity rows for config")
-  void findAllByBookingSeatingConfigId() {
-    seedBasicData();
-    Long scId = seatingConfigRepository.findAll().get(0).getId();
-
-    List<BookedSeatEntity> all = bookedSeatRepository.findAllByBooking_SeatingConfig_Id(scId);
-    // All 7 rows across all statuses
-    assertThat(all).hasSize(7);
-    assertThat(all).extracting(BookedSeatEntity::getRowLabel).contains("A", "B", "C");
-  }
 }
@@ -6,6 +6,7 @@ import com.gic.cinemas.backend.model.BookingEntity;
 import com.gic.cinemas.backend.model.SeatingConfigEntity;
 import com.gic.cinemas.backend.repository.BookingRepository;
 import com.gic.cinemas.backend.repository.SeatingConfigRepository;
+import com.gic.cinemas.backend.service.BookingIdAllocator;
 import com.gic.cinemas.common.dto.BookingStatus;
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -21,27 +22,13 @@ class BookingRepositoryIntegrationTest {
   @Autowired private SeatingConfigRepository seatingConfigRepository;
 
   @Test
-  @DisplayName("findMaxId returns 0 when repository is empty")
-  void testFindMaxIdWhenEmpty() {
-    Long maxId = bookingRepository.findMaxId();
-    assertThat(maxId).isZero();
-  }
-
-  @Test
-  @DisplayName("findMaxId returns highest ID when bookings exist")
-  void testFindMaxIdWhenBookingsExist() {
-    SeatingConfigEntity seatingConfig = new SeatingConfigEntity("Inception", 8, 10);
-    seatingConfigRepository.save(seatingConfig);
-
-    BookingEntity b1 = new BookingEntity("GIC0001", seatingConfig, LocalDateTime.now());
-    bookingRepository.save(b1);
-
-    BookingEntity b2 =
-        new BookingEntity("GIC0002", seatingConfig, LocalDateTime.now(), BookingStatus.CONFIRMED);
-    bookingRepository.save(b2);
+  @DisplayName("nextBookingCodeBlock reserves consecutive blocks of BookingIdAllocator.BLOCK_SIZE")
+  void testNextBookingCodeBlock() {
+    long first = bookingRepository.nextBookingCodeBlock();
+    long second = bookingRepository.nextBookingCodeBlock();
 
-    Long maxId = bookingRepository.findMaxId();
-    assertThat(maxId).isEqualTo(b2.getId());
+    assertThat(first).isPositive();
+    assertThat(second - first).isEqualTo(BookingIdAllocator.BLOCK_SIZE);
   }
 
   @Test
@@ -0,0 +1,103 @@
+package com.gic.cinemas.backend.integration.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.gic.cinemas.backend.SeatMap;
+import com.gic.cinemas.backend.model.BookingEntity;
+import com.gic.cinemas.backend.model.SeatingConfigEntity;
+import com.gic.cinemas.backend.repository.BookedSeatRepository;
+import com.gic.cinemas.backend.repository.BookingRepository;
+import com.gic.cinemas.backend.repository.PerSeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatingConfigRepository;
+import com.gic.cinemas.common.dto.BookingStatus;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest(properties = "cinemas.seat-storage=per-seat")
+@Import(PerSeatOccupancyRepository.class)
+class PerSeatOccupancyRepositoryIntegrationTest {
+
+  @Autowired private SeatOccupancyRepository seatOccupancyRepository;
+  @Autowired private BookingRepository bookingRepository;
+  @Autowired private BookedSeatRepository bookedSeatRepository;
+  @Autowired private SeatingConfigRepository seatingConfigRepository;
+
+  private SeatingConfigEntity seatingConfig;
+  private BookingEntity first;
+  private BookingEntity second;
+
+  @BeforeEach
+  void setUp() {
+    seatingConfig =
+        seatingConfigRepository.saveAndFlush(new SeatingConfigEntity("Inception", 3, 4));
+    first = bookingRepository.saveAndFlush(booking("GIC0001"));
+    second = bookingRepository.saveAndFlush(booking("GIC0002"));
+  }
+
+  private BookingEntity booking(String bookingId) {
+    return new BookingEntity(
+        bookingId, seatingConfig, LocalDateTime.now().plusMinutes(5), BookingStatus.PENDING);
+  }
+
+  private static SeatMap seats(int... rowCols) {
+    SeatMap seats = new SeatMap(3, 4);
+    for (int i = 0; i < rowCols.length; i += 2) {
+      seats.take(rowCols[i], rowCols[i + 1]);
+    }
+    return seats;
+  }
+
+  @Test
+  @DisplayName("a move that frees more seats than it adds deletes the surplus rows")
+  void shrinkingMoveDeletesSurplus() {
+    SeatMap held = seats(0, 0, 0, 1, 0, 2);
+    SeatMap moved = seats(0, 2, 1, 3);
+    seatOccupancyRepository.claimSeats(first, held);
+
+    assertThat(seatOccupancyRepository.moveSeats(first, held, moved)).isTrue();
+
+    assertThat(seatOccupancyRepository.findBookingSeats(first)).isEqualTo(moved);
+    assertThat(bookedSeatRepository.countByBooking_BookingId("GIC0001")).isEqualTo(2);
+    assertThat(seatOccupancyRepository.claimSeats(second, seats(0, 0, 0, 1))).isTrue();
+  }
+
+  @Test
+  @DisplayName("a move that adds more seats than it frees inserts the surplus rows")
+  void growingMoveInsertsSurplus() {
+    SeatMap held = seats(0, 0, 0, 1);
+    SeatMap moved = seats(0, 1, 1, 0, 1, 1, 2, 3);
+    seatOccupancyRepository.claimSeats(first, held);
+
+    assertThat(seatOccupancyRepository.moveSeats(first, held, moved)).isTrue();
+
+    assertThat(seatOccupancyRepository.findBookingSeats(first)).isEqualTo(moved);
+    assertThat(bookedSeatRepository.countByBooking_BookingId("GIC0001")).isEqualTo(4);
+    assertThat(seatOccupancyRepository.claimSeats(second, seats(0, 0))).isTrue();
+  }
+
+  @Test
+  @DisplayName("a move whose re-pointed seat is held by another booking fails without throwing")
+  void movedSeatOntoHeldSeatIsRejected() {
+    SeatMap held = seats(0, 0, 0, 1);
+    seatOccupancyRepository.claimSeats(first, held);
+    seatOccupancyRepository.claimSeats(second, seats(2, 2));
+
+    assertThat(seatOccupancyRepository.moveSeats(first, held, seats(0, 1, 2, 2))).isFalse();
+  }
+
+  @Test
+  @DisplayName("a move whose surplus seat is held by another booking fails without throwing")
+  void insertedSeatOntoHeldSeatIsRejected() {
+    SeatMap held = seats(0, 0);
+    seatOccupancyRepository.claimSeats(first, held);
+    seatOccupancyRepository.claimSeats(second, seats(2, 2));
+
+    assertThat(seatOccupancyRepository.moveSeats(first, held, seats(1, 0, 2, 2))).isFalse();
+  }
+}
@@ -0,0 +1,118 @@
+package com.gic.cinemas.backend.integration.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.gic.cinemas.backend.SeatMap;
+import com.gic.cinemas.backend.model.BookingEntity;
+import com.gic.cinemas.backend.model.SeatingConfigEntity;
+import com.gic.cinemas.backend.repository.BookingRepository;
+import com.gic.cinemas.backend.repository.RowMaskOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatOccupancyRepository;
+import com.gic.cinemas.backend.repository.SeatingConfigRepository;
+import com.gic.cinemas.common.dto.BookingStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest(properties = "cinemas.seat-storage=row-mask")
+@Import(RowMaskOccupancyRepository.class)
+class RowMaskOccupancyRepositoryIntegrationTest {
+
+  @Autowired private SeatOccupancyRepository seatOccupancyRepository;
+  @Autowired private BookingRepository bookingRepository;
+  @Autowired private SeatingConfigRepository seatingConfigRepository;
+
+  private SeatingConfigEntity seatingConfig;
+  private BookingEntity first;
+  private BookingEntity second;
+
+  @BeforeEach
+  void setUp() {
+    seatingConfig =
+        seatingConfigRepository.saveAndFlush(new SeatingConfigEntity("Inception", 3, 4));
+    first = bookingRepository.saveAndFlush(booking("GIC0001"));
+    second = bookingRepository.saveAndFlush(booking("GIC0002"));
+  }
+
+  private BookingEntity booking(String bookingId) {
+    return new BookingEntity(
+        bookingId, seatingConfig, LocalDateTime.now().plusMinutes(5), BookingStatus.PENDING);
+  }
+
+  private static SeatMap seats(int... rowCols) {
+    SeatMap seats = new SeatMap(3, 4);
+    for (int i = 0; i < rowCols.length; i += 2) {
+      seats.take(rowCols[i], rowCols[i + 1]);
+    }
+    return seats;
+  }
+
+  @Test
+  @DisplayName("claimed seats are visible per config and per booking")
+  void claimThenLoad() {
+    assertThat(seatOccupancyRepository.claimSeats(first, seats(0, 1, 0, 2, 2, 0))).isTrue();
+
+    assertThat(seatOccupancyRepository.findTakenSeats(seatingConfig.getId(), 3, 4))
+        .isEqualTo(seats(0, 1, 0, 2, 2, 0));
+    assertThat(seatOccupancyRepository.findBookingSeats(first)).isEqualTo(seats(0, 1, 0, 2, 2, 0));
+    assertThat(seatOccupancyRepository.countTakenSeats(seatingConfig.getId())).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("a claim overlapping held seats fails the compare-and-set")
+  void overlappingClaimIsRejected() {
+    assertThat(seatOccupancyRepository.claimSeats(first, seats(1, 0, 1, 1))).isTrue();
+
+    assertThat(seatOccupancyRepository.claimSeats(second, seats(1, 1, 1, 2))).isFalse();
+    assertThat(seatOccupancyRepository.claimSeats(second, seats(1, 2, 1, 3))).isTrue();
+
+    assertThat(seatOccupancyRepository.findTakenSeats(seatingConfig.getId(), 3, 4))
+        .isEqualTo(seats(1, 0, 1, 1, 1, 2, 1, 3));
+  }
+
+  @Test
+  @DisplayName("a move frees the dropped seats and claims the added ones, keeping the rest")
+  void moveSeatsTouchesOnlyChangedSeats() {
+    SeatMap held = seats(0, 0, 0, 1, 1, 1);
+    SeatMap moved = seats(0, 1, 1, 1, 2, 2);
+    seatOccupancyRepository.claimSeats(first, held);
+
+    assertThat(seatOccupancyRepository.moveSeats(first, held, moved)).isTrue();
+
+    assertThat(seatOccupancyRepository.findBookingSeats(first)).isEqualTo(moved);
+    assertThat(seatOccupancyRepository.findTakenSeats(seatingConfig.getId(), 3, 4))
+        .isEqualTo(moved);
+    assertThat(seatOccupancyRepository.claimSeats(second, seats(0, 0))).isTrue();
+  }
+
+  @Test
+  @DisplayName("a move onto a seat held by another booking fails")
+  void moveOntoHeldSeatIsRejected() {
+    SeatMap held = seats(0, 0, 0, 1);
+    seatOccupancyRepository.claimSeats(first, held);
+    seatOccupancyRepository.claimSeats(second, seats(2, 2));
+
+    assertThat(seatOccupancyRepository.moveSeats(first, held, seats(0, 1, 2, 2))).isFalse();
+  }
+
+  @Test
+  @DisplayName("released seats can be claimed again")
+  void releaseFreesSeats() {
+    SeatMap held = seats(0, 0, 0, 3);
+    seatOccupancyRepository.claimSeats(first, held);
+
+    assertThat(
+            seatOccupancyRepository.releaseAllSeats(
+                seatingConfig.getId(), 3, 4, List.of(first.getId())))
+        .isEqualTo(held);
+
+    assertThat(seatOccupancyRepository.findBookingSeats(first).isEmpty()).isTrue();
+    assertThat(seatOccupancyRepository.countTakenSeats(seatingConfig.getId())).isZero();
+    assertThat(seatOccupancyRepository.claimSeats(second, held)).isTrue();
+  }
+}
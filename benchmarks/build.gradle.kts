@@ -0,0 +1,32 @@
+plugins {
+    id("java")
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+group = "com.gic.cinemas.benchmarks"
+version = "1.0-SNAPSHOT"
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    // backend declares its dependencies without versions; resolve them against the same BOM
+    jmh(platform("org.springframework.boot:spring-boot-dependencies:3.3.4"))
+    jmh(project(":backend"))
+    jmh(project(":common"))
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    // ops/s plus allocation rate and bytes per op (gc.alloc.rate.norm)
+    benchmarkMode.set(listOf("thrpt"))
+    timeUnit.set("s")
+    profilers.add("gc")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+    // e.g. ./gradlew :benchmarks:jmh -Pjmh.includes=SeatAllocatorBenchmark
+    (project.findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+}
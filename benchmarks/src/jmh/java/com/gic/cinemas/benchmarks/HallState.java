@@ -0,0 +1,70 @@
+package com.gic.cinemas.benchmarks;
+
+import com.gic.cinemas.backend.SeatMap;
+import com.gic.cinemas.common.dto.SeatDto;
+import java.util.List;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A hall filled to a given occupancy of all its seats. Rows get an equal share of the taken seats,
+ * chosen at random with a fixed seed; the remainder fills one more seat in the rows furthest from
+ * the screen, so at high occupancy those rows may be full. The hall keeps at least one free seat,
+ * always in the row nearest the screen, so every scenario can allocate.
+ */
+@State(Scope.Thread)
+public class HallState {
+
+  /** Layout as {@code <rows>x<seatsPerRow>}. */
+  @Param({"26x50", "5x10"})
+  public String hall;
+
+  @Param({"0", "0.5", "0.9", "0.99"})
+  public double occupancy;
+
+  public int rowCount;
+  public int seatsPerRow;
+  public SeatMap seatMap;
+  public List<SeatDto> bookedSeats;
+
+  private long[] initialRows;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    String[] layout = hall.split("x");
+    rowCount = Integer.parseInt(layout[0]);
+    seatsPerRow = Integer.parseInt(layout[1]);
+
+    Random random = new Random(42);
+    int seats = rowCount * seatsPerRow;
+    int takenSeats = Math.min(seats - 1, (int) Math.round(occupancy * seats));
+    seatMap = new SeatMap(rowCount, seatsPerRow);
+    for (int r = 0; r < rowCount; r++) {
+      int takenInRow = takenSeats / rowCount + (r < takenSeats % rowCount ? 1 : 0);
+      for (int taken = 0; taken < takenInRow; ) {
+        int col = random.nextInt(seatsPerRow);
+        if (!seatMap.isTaken(r, col)) {
+          seatMap.take(r, col);
+          taken++;
+        }
+      }
+    }
+
+    bookedSeats = seatMap.toSeatDtos();
+    initialRows = new long[rowCount];
+    for (int r = 0; r < rowCount; r++) {
+      initialRows[r] = seatMap.row(r);
+    }
+  }
+
+  /** Undoes the seats committed by the last allocation without allocating. */
+  public void reset() {
+    for (int r = 0; r < rowCount; r++) {
+      seatMap.setRow(r, initialRows[r]);
+    }
+  }
+}
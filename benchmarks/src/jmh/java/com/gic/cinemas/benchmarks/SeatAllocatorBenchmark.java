@@ -0,0 +1,101 @@
+package com.gic.cinemas.benchmarks;
+
+import com.gic.cinemas.backend.SeatMap;
+import com.gic.cinemas.backend.SeatMapBuilder;
+import com.gic.cinemas.backend.service.SeatAllocator;
+import com.gic.cinemas.common.dto.SeatDto;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Throughput and allocations per op of {@link SeatAllocator}. Each op allocates on the shared hall
+ * and then restores it, so every invocation sees the same occupancy.
+ */
+public class SeatAllocatorBenchmark {
+
+  private static final SeatAllocator ALLOCATOR = new SeatAllocator();
+
+  @State(Scope.Thread)
+  public static class Tickets {
+    @Param({"4"})
+    public int requested;
+
+    public int tickets;
+    public int[] seats;
+
+    @Setup(Level.Trial)
+    public void setUp(HallState hall) {
+      tickets = Math.min(requested, hall.seatMap.freeCount());
+      seats = new int[tickets];
+    }
+  }
+
+  /** Start seat in row A (furthest from the screen) or in the last row (nearest the screen). */
+  @State(Scope.Thread)
+  public static class StartSeat {
+    @Param({"back", "screen"})
+    public String position;
+
+    public int row;
+    public int tickets;
+    public int[] seats;
+    public SeatDto seat;
+
+    @Setup(Level.Trial)
+    public void setUp(HallState hall, Tickets requested) {
+      row = "back".equals(position) ? 0 : hall.rowCount - 1;
+      int reachable = 0;
+      for (int r = row; r < hall.rowCount; r++) {
+        reachable += hall.seatsPerRow - Long.bitCount(hall.seatMap.row(r));
+      }
+      tickets = Math.min(requested.requested, reachable);
+      seats = new int[tickets];
+      seat = new SeatDto(SeatMapBuilder.toRowLabel(row, hall.rowCount), 1);
+    }
+  }
+
+  @Benchmark
+  public int allocateDefault(HallState hall, Tickets tickets) {
+    int allocated = ALLOCATOR.allocateDefault(hall.seatMap, tickets.tickets, tickets.seats);
+    hall.reset();
+    return allocated;
+  }
+
+  @Benchmark
+  public List<SeatDto> allocateDefaultDtos(HallState hall, Tickets tickets) {
+    List<SeatDto> seats = ALLOCATOR.allocateDefault(hall.seatMap, tickets.tickets);
+    hall.reset();
+    return seats;
+  }
+
+  @Benchmark
+  public List<SeatDto> allocateDefaultFromBookedSeats(HallState hall, Tickets tickets) {
+    return ALLOCATOR.allocateDefault(
+        hall.rowCount, hall.seatsPerRow, tickets.tickets, hall.bookedSeats);
+  }
+
+  @Benchmark
+  public int allocateFromStartSeat(HallState hall, StartSeat start) {
+    int allocated =
+        ALLOCATOR.allocateFromStartSeat(hall.seatMap, start.tickets, start.row, 0, start.seats);
+    hall.reset();
+    return allocated;
+  }
+
+  @Benchmark
+  public List<SeatDto> allocateFromStartSeatDtos(HallState hall, StartSeat start) {
+    List<SeatDto> seats = ALLOCATOR.allocateFromStartSeat(hall.seatMap, start.tickets, start.seat);
+    hall.reset();
+    return seats;
+  }
+
+  @Benchmark
+  public SeatMap copySnapshot(HallState hall) {
+    return hall.seatMap.copy();
+  }
+}
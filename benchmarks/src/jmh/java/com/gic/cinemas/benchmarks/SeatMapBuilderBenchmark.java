@@ -0,0 +1,38 @@
+package com.gic.cinemas.benchmarks;
+
+import com.gic.cinemas.backend.SeatMap;
+import com.gic.cinemas.backend.SeatMapBuilder;
+import com.gic.cinemas.common.dto.SeatDto;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Building seat maps from booked-seat rows, converting back to DTOs, and row-label mapping. */
+public class SeatMapBuilderBenchmark {
+
+  @Benchmark
+  public SeatMap buildSeatMap(HallState hall) {
+    return SeatMapBuilder.buildSeatMap(hall.rowCount, hall.seatsPerRow, hall.bookedSeats);
+  }
+
+  @Benchmark
+  public List<SeatDto> toSeatDtos(HallState hall) {
+    return hall.seatMap.toSeatDtos();
+  }
+
+  @Benchmark
+  public void toRowLabel(HallState hall, Blackhole blackhole) {
+    for (int r = 0; r < hall.rowCount; r++) {
+      blackhole.consume(SeatMapBuilder.toRowLabel(r, hall.rowCount));
+    }
+  }
+
+  @Benchmark
+  public int toRowIndex(HallState hall) {
+    int sum = 0;
+    for (SeatDto seat : hall.bookedSeats) {
+      sum += SeatMapBuilder.toRowIndex(seat.rowLabel(), hall.rowCount);
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,129 @@
+package com.gic.cinemas.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gic.cinemas.common.dto.response.SeatAvailabilityUpdate;
+import java.net.http.HttpResponse;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+/**
+ * Follows the backend's seat-availability stream for one layout on a background thread and keeps
+ * the latest available-seat count, so the menu does not have to poll. While the stream is down
+ * {@link #availableSeats()} is empty and callers fall back to a normal request.
+ *
+ * <p>The push for this client's own reserve, change or cancel can arrive after the write returns.
+ * {@link #localWrite()} therefore stops trusting the pushed count until the caller has {@link
+ * #revalidated()} it with a normal request and a newer push has arrived.
+ */
+public class AvailabilitySubscription implements AutoCloseable {
+
+  private final CinemaApiClient cinemaApiClient;
+  private final ObjectMapper mapper;
+  private final String movieTitle;
+  private final int rowCount;
+  private final int seatsPerRow;
+
+  private volatile long availableSeats = -1; // -1 = no live value
+  private volatile long updatesReceived; // written by the reader thread only
+  private volatile long trustedFrom; // the pushed count is trusted once updatesReceived reaches it
+  private volatile Thread reader;
+  private volatile Stream<String> lines;
+  private volatile boolean closed;
+
+  public AvailabilitySubscription(
+      CinemaApiClient cinemaApiClient,
+      ObjectMapper mapper,
+      String movieTitle,
+      int rowCount,
+      int seatsPerRow) {
+    this.cinemaApiClient = cinemaApiClient;
+    this.mapper = mapper;
+    this.movieTitle = movieTitle;
+    this.rowCount = rowCount;
+    this.seatsPerRow = seatsPerRow;
+  }
+
+  /**
+   * Latest pushed count, or empty while not connected or while a local write is outstanding.
+   * Reconnects a dropped stream.
+   */
+  public OptionalLong availableSeats() {
+    long latest = availableSeats;
+    if (latest < 0) {
+      start();
+      return OptionalLong.empty();
+    }
+    if (updatesReceived < trustedFrom) return OptionalLong.empty();
+    return OptionalLong.of(latest);
+  }
+
+  /** This client is about to change the count itself; ignore pushes until revalidated. */
+  public void localWrite() {
+    trustedFrom = Long.MAX_VALUE;
+  }
+
+  /** The count was just fetched directly; trust the next push again. */
+  public void revalidated() {
+    if (trustedFrom == Long.MAX_VALUE) trustedFrom = updatesReceived + 1;
+  }
+
+  /** Connects in the background unless already connected or connecting. */
+  public synchronized void start() {
+    if (closed || (reader != null && reader.isAlive())) return;
+    reader = new Thread(this::follow, "availability-stream");
+    reader.setDaemon(true);
+    reader.start();
+  }
+
+  @Override
+  public synchronized void close() {
+    closed = true;
+    availableSeats = -1;
+    Stream<String> open = lines;
+    if (open != null) open.close();
+    if (reader != null) reader.interrupt();
+  }
+
+  private void follow() {
+    try {
+      HttpResponse<Stream<String>> resp =
+          cinemaApiClient.getSeatingAvailabilityStream(movieTitle, rowCount, seatsPerRow);
+      if (resp.statusCode() != 200) {
+        resp.body().close();
+        return;
+      }
+      lines = resp.body();
+      if (closed) return;
+
+      // SSE framing: "event:" and "data:" lines, a blank line ends the event, ":" is a comment
+      String event = null;
+      StringBuilder data = new StringBuilder();
+      for (String line : (Iterable<String>) lines::iterator) {
+        if (line.isEmpty()) {
+          if (SeatAvailabilityUpdate.EVENT_NAME.equals(event) && !data.isEmpty()) {
+            onUpdate(mapper.readValue(data.toString(), SeatAvailabilityUpdate.class));
+          }
+          event = null;
+          data.setLength(0);
+        } else if (line.startsWith("event:")) {
+          event = line.substring("event:".length()).strip();
+        } else if (line.startsWith("data:")) {
+          if (!data.isEmpty()) data.append('\n');
+          data.append(line.substring("data:".length()));
+        }
+      }
+    } catch (Exception e) {
+      // stream dropped or backend down: fall back to polling until the next reconnect
+    } finally {
+      availableSeats = -1;
+      Stream<String> open = lines;
+      lines = null;
+      if (open != null) open.close();
+    }
+  }
+
+  private void onUpdate(SeatAvailabilityUpdate update) {
+    availableSeats = update.availableSeatsCount();
+    updatesReceived++;
+  }
+}
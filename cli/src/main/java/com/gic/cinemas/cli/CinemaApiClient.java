@@ -2,6 +2,7 @@ package com.gic.cinemas.cli;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gic.cinemas.common.dto.SeatDto;
+import com.gic.cinemas.common.dto.SeatFormat;
 import com.gic.cinemas.common.dto.request.ChangeSeatsRequest;
 import com.gic.cinemas.common.dto.request.ReserveSeatsRequest;
 import com.gic.cinemas.common.dto.request.SeatingConfigRequest;
@@ -10,15 +11,63 @@ import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.*;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+import javax.net.ssl.SSLSession;
 
 public class CinemaApiClient {
 
+  /** Seat maps are decoded client-side, so ask for the compact bitmap format. */
+  private static final String BITMAP_SEATS =
+      "?" + SeatFormat.PARAMETER + "=" + SeatFormat.BITMAP.value();
+
+  /** Most GET URLs whose last ETag and body are kept for revalidation. */
+  private static final int ETAG_CACHE_SIZE = 64;
+
+  /** Default tries per POST, and how long each may take, before {@link #post} gives up. */
+  private static final int DEFAULT_POST_ATTEMPTS = 3;
+  private static final Duration POST_TIMEOUT = Duration.ofSeconds(10);
+
   private final HttpClient client = HttpClient.newHttpClient();
   private final ObjectMapper objectMapper;
   private final String baseUrl;
+  private final boolean verbose;
+  private final int postAttempts;
+
+  /** Last ETag and body per GET URL; small and least-recently-used, a session touches few URLs. */
+  private final Map<URI, CachedBody> etagCache =
+      Collections.synchronizedMap(
+          new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<URI, CachedBody> eldest) {
+              return size() > ETAG_CACHE_SIZE;
+            }
+          });
 
   public CinemaApiClient(String baseUrl, ObjectMapper objectMapper) {
+    this(baseUrl, objectMapper, false);
+  }
+
+  /** With {@code verbose}, the backend's per-phase Server-Timing of each call goes to stderr. */
+  public CinemaApiClient(String baseUrl, ObjectMapper objectMapper, boolean verbose) {
+    this(baseUrl, objectMapper, verbose, DEFAULT_POST_ATTEMPTS);
+  }
+
+  /**
+   * With {@code postAttempts} of 1, a POST that times out or loses its connection fails at once,
+   * for callers such as the load generator that must see every attempt they measure.
+   */
+  public CinemaApiClient(
+      String baseUrl, ObjectMapper objectMapper, boolean verbose, int postAttempts) {
+    if (postAttempts < 1) throw new IllegalArgumentException("postAttempts must be >= 1");
     this.objectMapper = objectMapper;
+    this.verbose = verbose;
+    this.postAttempts = postAttempts;
     this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
   }
 
@@ -34,17 +83,24 @@ public class CinemaApiClient {
   /** GET /seating-config — Check availability (query params) */
   public HttpResponse<String> getSeatingAvailability(
       String movieTitle, int rowCount, int seatsPerRow) throws IOException, InterruptedException {
-    String query =
-        String.format(
-            "?movieTitle=%s&rowCount=%d&seatsPerRow=%d",
-            URLEncoder.encode(movieTitle, StandardCharsets.UTF_8), rowCount, seatsPerRow);
+    return getRevalidated(
+        "/seating-config" + seatingConfigQuery(movieTitle, rowCount, seatsPerRow));
+  }
+
+  /**
+   * GET /seating-config/stream — Server-Sent Events of seat availability. Returns once the headers
+   * arrive; the body lines follow as the server pushes them, until the stream is closed.
+   */
+  public HttpResponse<Stream<String>> getSeatingAvailabilityStream(
+      String movieTitle, int rowCount, int seatsPerRow) throws IOException, InterruptedException {
+    String query = seatingConfigQuery(movieTitle, rowCount, seatsPerRow);
     HttpRequest request =
         HttpRequest.newBuilder()
-            .uri(URI.create(baseUrl + "/seating-config" + query))
-            .header("Accept", "application/json")
+            .uri(URI.create(baseUrl + "/seating-config/stream" + query))
+            .header("Accept", "text/event-stream")
             .GET()
             .build();
-    return client.send(request, HttpResponse.BodyHandlers.ofString());
+    return client.send(request, HttpResponse.BodyHandlers.ofLines());
   }
 
   // ==== BOOKINGS ====
@@ -55,7 +111,7 @@ public class CinemaApiClient {
       throws IOException, InterruptedException {
     ReserveSeatsRequest dto =
         new ReserveSeatsRequest(movieTitle, rowCount, seatsPerRow, numberOfTickets);
-    return post("/booking/reserve", dto);
+    return post("/booking/reserve" + BITMAP_SEATS, dto);
   }
 
   /** POST /booking/confirm/{bookingId} — Confirm a pending booking */
@@ -64,27 +120,63 @@ public class CinemaApiClient {
     return post("/booking/confirm/" + bookingId, null);
   }
 
+  /** POST /booking/cancel/{bookingId} — Cancel a booking and release its seats */
+  public HttpResponse<String> postCancelBooking(String bookingId)
+      throws IOException, InterruptedException {
+    return post("/booking/cancel/" + bookingId, null);
+  }
+
   /** POST /booking/change-booking — Change reserved seats */
   public HttpResponse<String> postChangeBooking(String bookingId, SeatDto startSeat)
       throws IOException, InterruptedException {
     ChangeSeatsRequest dto = new ChangeSeatsRequest(bookingId, startSeat);
-    return post("/booking/change-booking", dto);
+    return post("/booking/change-booking" + BITMAP_SEATS, dto);
   }
 
   /** GET /booking/check/{bookingId} — Check current booking and seat map */
   public HttpResponse<String> getBookingById(String bookingId)
       throws IOException, InterruptedException {
-    HttpRequest request =
-        HttpRequest.newBuilder()
-            .uri(URI.create(baseUrl + "/booking/check/" + bookingId))
-            .GET()
-            .header("Accept", "application/json")
-            .build();
-    return client.send(request, HttpResponse.BodyHandlers.ofString());
+    return getRevalidated("/booking/check/" + bookingId + BITMAP_SEATS);
   }
 
   // ==== INTERNAL HELPERS ====
 
+  /**
+   * GET that remembers the last ETag per URL and sends it back as {@code If-None-Match}. A 304 is
+   * returned to callers as a 200 carrying the remembered body, so they never see the difference.
+   */
+  private HttpResponse<String> getRevalidated(String endpoint)
+      throws IOException, InterruptedException {
+    URI uri = URI.create(baseUrl + endpoint);
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder().uri(uri).header("Accept", "application/json").GET();
+    CachedBody cached = etagCache.get(uri);
+    if (cached != null) request.header("If-None-Match", cached.etag());
+
+    HttpResponse<String> resp = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    printTimings(resp);
+    if (resp.statusCode() == 304 && cached != null) {
+      return new RevalidatedResponse(resp, cached.body());
+    }
+    Optional<String> etag = resp.headers().firstValue("ETag");
+    if (resp.statusCode() == 200 && etag.isPresent()) {
+      etagCache.put(uri, new CachedBody(etag.get(), resp.body()));
+    } else {
+      etagCache.remove(uri);
+    }
+    return resp;
+  }
+
+  private static String seatingConfigQuery(String movieTitle, int rowCount, int seatsPerRow) {
+    return String.format(
+        "?movieTitle=%s&rowCount=%d&seatsPerRow=%d",
+        URLEncoder.encode(movieTitle, StandardCharsets.UTF_8), rowCount, seatsPerRow);
+  }
+
+  /**
+   * POST with one Idempotency-Key per call, retried on timeouts and connection errors. The backend
+   * replays the first response for a repeated key, so a retry never books twice.
+   */
   private HttpResponse<String> post(String endpoint, Object dto)
       throws IOException, InterruptedException {
     String jsonBody = (dto != null) ? objectMapper.writeValueAsString(dto) : "";
@@ -92,8 +184,90 @@ public class CinemaApiClient {
         HttpRequest.newBuilder()
             .uri(URI.create(baseUrl + endpoint))
             .header("Content-Type", "application/json")
+            .header("Idempotency-Key", UUID.randomUUID().toString())
+            .timeout(POST_TIMEOUT)
             .POST(HttpRequest.BodyPublishers.ofString(jsonBody, StandardCharsets.UTF_8))
             .build();
-    return client.send(request, HttpResponse.BodyHandlers.ofString());
+    for (int attempt = 1; ; attempt++) {
+      try {
+        HttpResponse<String> resp = client.send(request, HttpResponse.BodyHandlers.ofString());
+        printTimings(resp);
+        return resp;
+      } catch (IOException e) {
+        if (attempt >= postAttempts) throw e;
+      }
+    }
+  }
+
+  /** {@code [timing] POST /api/booking/reserve 200: config 0.210 ms, …, total 2.404 ms} */
+  private void printTimings(HttpResponse<?> resp) {
+    if (!verbose) return;
+    resp.headers()
+        .firstValue("Server-Timing")
+        .ifPresent(
+            header ->
+                System.err.printf(
+                    "[timing] %s %s %d: %s%n",
+                    resp.request().method(),
+                    resp.uri().getPath(),
+                    resp.statusCode(),
+                    formatServerTiming(header)));
+  }
+
+  /** {@code config;dur=0.210, total;dur=2.404} as {@code config 0.210 ms, total 2.404 ms}. */
+  static String formatServerTiming(String header) {
+    StringBuilder out = new StringBuilder();
+    for (String metric : header.split(",")) {
+      String[] parts = metric.strip().split(";");
+      String duration = "";
+      for (int i = 1; i < parts.length; i++) {
+        String param = parts[i].strip();
+        if (param.startsWith("dur=")) duration = " " + param.substring("dur=".length()) + " ms";
+      }
+      if (!out.isEmpty()) out.append(", ");
+      out.append(parts[0].strip()).append(duration);
+    }
+    return out.toString();
+  }
+
+  private record CachedBody(String etag, String body) {}
+
+  /** A 304 answer presented as the 200 it stands for. */
+  private record RevalidatedResponse(HttpResponse<String> notModified, String body)
+      implements HttpResponse<String> {
+    @Override
+    public int statusCode() {
+      return 200;
+    }
+
+    @Override
+    public HttpRequest request() {
+      return notModified.request();
+    }
+
+    @Override
+    public Optional<HttpResponse<String>> previousResponse() {
+      return Optional.of(notModified);
+    }
+
+    @Override
+    public HttpHeaders headers() {
+      return notModified.headers();
+    }
+
+    @Override
+    public Optional<SSLSession> sslSession() {
+      return notModified.sslSession();
+    }
+
+    @Override
+    public URI uri() {
+      return notModified.uri();
+    }
+
+    @Override
+    public HttpClient.Version version() {
+      return notModified.version();
+    }
   }
 }
@@ -1,6 +1,7 @@
 package com.gic.cinemas.cli;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Arrays;
 import java.util.Scanner;
 
 public class CinemaCli {
@@ -19,9 +20,15 @@ public class CinemaCli {
                         // JVM prop: -Dapi.base=...
                         System.getProperty("api.base", DEFAULT_BASE)));
 
+    // --verbose, CINEMA_VERBOSE=true or -Dcli.verbose=true: print the backend's phase timings
+    boolean verbose =
+        Arrays.asList(args).contains("--verbose")
+            || Boolean.parseBoolean(System.getenv("CINEMA_VERBOSE"))
+            || Boolean.getBoolean("cli.verbose");
+
     try (Scanner scanner = new Scanner(System.in)) {
       ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
-      CinemaApiClient client = new CinemaApiClient(base, mapper);
+      CinemaApiClient client = new CinemaApiClient(base, mapper, verbose);
       CinemaCliService service = new CinemaCliService(client, mapper);
       CinemaCliRunner runner = new CinemaCliRunner(scanner, service);
       runner.run();
@@ -4,9 +4,11 @@ import com.gic.cinemas.cli.exception.BookingNotFoundCliException;
 import com.gic.cinemas.cli.exception.InvalidStartSeatCliException;
 import com.gic.cinemas.cli.exception.NoAvailableSeatsCliException;
 import com.gic.cinemas.cli.exception.SeatJustTakenCliException;
+import com.gic.cinemas.common.dto.SeatBitmapCodec;
 import com.gic.cinemas.common.dto.SeatDto;
 import com.gic.cinemas.common.dto.response.CheckBookingResponse;
 import com.gic.cinemas.common.dto.response.ReservedSeatsResponse;
+import java.util.OptionalLong;
 import java.util.Scanner;
 import java.util.regex.Pattern;
 
@@ -27,20 +29,22 @@ public class CinemaCliRunner {
     // Ensure config exists (POST find-or-create)
     cliService.createOrFetchConfig(layout.movieTitle(), layout.rowCount(), layout.seatsPerRow());
 
-    mainMenuLoop(layout);
+    // Live counts pushed by the backend; polling is only the fallback
+    try (AvailabilitySubscription availability =
+        cliService.subscribeAvailability(
+            layout.movieTitle(), layout.rowCount(), layout.seatsPerRow())) {
+      mainMenuLoop(layout, availability);
+    }
   }
 
   // ==== Menu ====
-  private void mainMenuLoop(Layout layout) throws Exception {
+  private void mainMenuLoop(Layout layout, AvailabilitySubscription availability) throws Exception {
     long availableSeatsCount = 0; // last-known value
 
     while (true) {
       // Refresh availability each loop so the number stays current
       try {
-        var latest =
-            cliService.fetchAvailability(
-                layout.movieTitle(), layout.rowCount(), layout.seatsPerRow());
-        availableSeatsCount = latest.availableSeatsCount();
+        availableSeatsCount = currentAvailability(layout, availability);
       } catch (Exception e) {
         System.out.println("(couldn't refresh availability: " + e.getMessage() + ")");
       }
@@ -59,7 +63,8 @@ public class CinemaCliRunner {
       String selection = scanner.nextLine().trim();
 
       switch (selection) {
-        case "1" -> handleCreateBooking(layout); // menu will refresh availability on next loop
+        case "1" -> handleCreateBooking(
+            layout, availability); // menu will refresh availability on next loop
         case "2" -> handleCheckBooking(layout);
         case "3" -> {
           System.out.println();
@@ -72,16 +77,14 @@ public class CinemaCliRunner {
   }
 
   // ==== Flow: Create/Change/Confirm Booking ====
-  private void handleCreateBooking(Layout layout) throws Exception {
+  private void handleCreateBooking(Layout layout, AvailabilitySubscription availability)
+      throws Exception {
     while (true) {
       Integer tickets = promptTickets(layout);
       if (tickets == null) return; // back to main menu
 
-      // Re-check availability just before reserving
-      long available =
-          cliService
-              .fetchAvailability(layout.movieTitle(), layout.rowCount(), layout.seatsPerRow())
-              .availableSeatsCount();
+      // Re-check availability just before reserving, directly: a push may still be on its way
+      long available = fetchAvailability(layout, availability);
 
       if (available == 0) {
         System.out.println("Sorry, there are no seats available.");
@@ -95,6 +98,7 @@ public class CinemaCliRunner {
       }
 
       // Reserve via service
+      availability.localWrite();
       ReservedSeatsResponse reserve =
           cliService.reserveSeats(
               layout.movieTitle(), layout.rowCount(), layout.seatsPerRow(), tickets);
@@ -102,55 +106,72 @@ public class CinemaCliRunner {
       renderBookingSnapshot(layout, tickets, reserve);
 
       // Allow user to adjust selection before confirming
-      previewChangeLoop(layout, reserve);
+      previewChangeLoop(layout, availability, reserve);
       break;
     }
   }
 
-  private void previewChangeLoop(Layout layout, ReservedSeatsResponse snapshot) {
+  private void previewChangeLoop(
+      Layout layout, AvailabilitySubscription availability, ReservedSeatsResponse snapshot) {
     final String bookingId = snapshot.bookingId();
+    boolean done = false;
+    try {
+      while (true) {
+        System.out.println();
+        System.out.print(
+            "Enter blank to accept seat selection, enter new seating position, or enter X to"
+                + " cancel:\n> ");
+        String line = scanner.nextLine().strip();
+
+        if (line.isEmpty()) {
+          done = true;
+          tryConfirm(bookingId);
+          return;
+        }
 
-    while (true) {
-      System.out.println();
-      System.out.print("Enter blank to accept seat selection, or enter new seating position:\n> ");
-      String line = scanner.nextLine().strip();
-
-      if (line.isEmpty()) {
-        tryConfirm(bookingId);
-        return;
-      }
+        if (line.equalsIgnoreCase("X")) {
+          done = true;
+          tryCancel(availability, bookingId);
+          return;
+        }
 
-      if (!isValidSeatCode(line, layout.rowCount(), layout.seatsPerRow())) {
-        System.out.println("Invalid seat label. Use like B03 (row letter + digits within bounds).");
-        continue;
-      }
+        if (!isValidSeatCode(line, layout.rowCount(), layout.seatsPerRow())) {
+          System.out.println(
+              "Invalid seat label. Use like B03 (row letter + digits within bounds).");
+          continue;
+        }
 
-      SeatDto anchor = parseSeatCode(line);
-      try {
-        snapshot = cliService.changeSeats(bookingId, anchor);
-        System.out.printf("%nBooking id: %s%nSelected seats:%n%n", bookingId);
-        SeatMapPrinter.print(
-            layout.rowCount(),
-            layout.seatsPerRow(),
-            snapshot.takenSeats(),
-            snapshot.reservedSeats());
-      } catch (SeatJustTakenCliException e) {
-        System.out.println();
-        System.out.println(
-            "The selected seat was just taken by another user. Please choose a different position.");
-      } catch (NoAvailableSeatsCliException e) {
-        System.out.println();
-        System.out.println("Not enough seats are available to complete this change.");
-      } catch (InvalidStartSeatCliException e) {
-        System.out.println();
-        System.out.println("Start seat is invalid. Please enter a valid one.");
-      } catch (BookingNotFoundCliException e) {
-        System.out.println();
-        System.out.println("The booking could not be found. Please check your booking ID.");
-      } catch (Exception e) {
-        System.out.println();
-        System.out.println("Could not update seats. Try another position.");
+        SeatDto anchor = parseSeatCode(line);
+        try {
+          availability.localWrite();
+          snapshot = cliService.changeSeats(bookingId, anchor);
+          System.out.printf("%nBooking id: %s%nSelected seats:%n%n", bookingId);
+          SeatMapPrinter.print(
+              layout.rowCount(),
+              layout.seatsPerRow(),
+              snapshot.takenSeatMasks(layout.rowCount()),
+              SeatBitmapCodec.toRowMasks(snapshot.reservedSeats(), layout.rowCount()));
+        } catch (SeatJustTakenCliException e) {
+          System.out.println();
+          System.out.println(
+              "The selected seat was just taken by another user. Please choose a different position.");
+        } catch (NoAvailableSeatsCliException e) {
+          System.out.println();
+          System.out.println("Not enough seats are available to complete this change.");
+        } catch (InvalidStartSeatCliException e) {
+          System.out.println();
+          System.out.println("Start seat is invalid. Please enter a valid one.");
+        } catch (BookingNotFoundCliException e) {
+          System.out.println();
+          System.out.println("The booking could not be found. Please check your booking ID.");
+        } catch (Exception e) {
+          System.out.println();
+          System.out.println("Could not update seats. Try another position.");
+        }
       }
+    } finally {
+      // backing out any other way (e.g. end of input) must not leave the seats held
+      if (!done) tryCancel(availability, bookingId);
     }
   }
 
@@ -163,6 +184,16 @@ public class CinemaCliRunner {
     }
   }
 
+  private void tryCancel(AvailabilitySubscription availability, String bookingId) {
+    try {
+      availability.localWrite();
+      cliService.cancelBooking(bookingId);
+      System.out.printf("%nBooking id: %s cancelled.%n%n", bookingId);
+    } catch (Exception e) {
+      System.out.println("Cancellation failed: " + e.getMessage());
+    }
+  }
+
   // ==== Flow: Check Booking ====
   private void handleCheckBooking(Layout layout) {
     while (true) {
@@ -176,7 +207,10 @@ public class CinemaCliRunner {
         System.out.println("\nBooking id: " + dto.bookingId());
         System.out.println("Selected seats:");
         SeatMapPrinter.print(
-            layout.rowCount(), layout.seatsPerRow(), dto.takenSeats(), dto.bookedSeats());
+            layout.rowCount(),
+            layout.seatsPerRow(),
+            dto.takenSeatMasks(layout.rowCount()),
+            SeatBitmapCodec.toRowMasks(dto.bookedSeats(), layout.rowCount()));
       } catch (BookingNotFoundCliException e) {
         System.out.println();
         System.out.println("No booking found for " + bookingId + ".");
@@ -186,6 +220,28 @@ public class CinemaCliRunner {
     }
   }
 
+  /**
+   * Pushed count when the stream is live and none of this client's writes is outstanding, otherwise
+   * a fresh request.
+   */
+  private long currentAvailability(Layout layout, AvailabilitySubscription availability)
+      throws Exception {
+    OptionalLong pushed = availability.availableSeats();
+    if (pushed.isPresent()) return pushed.getAsLong();
+    return fetchAvailability(layout, availability);
+  }
+
+  /** Fresh request; a conditional GET, so cheap when nothing changed. */
+  private long fetchAvailability(Layout layout, AvailabilitySubscription availability)
+      throws Exception {
+    long available =
+        cliService
+            .fetchAvailability(layout.movieTitle(), layout.rowCount(), layout.seatsPerRow())
+            .availableSeatsCount();
+    availability.revalidated();
+    return available;
+  }
+
   // ==== Prompts & Parsing ====
   private Layout promptLayout() {
     while (true) {
@@ -267,8 +323,8 @@ public class CinemaCliRunner {
     SeatMapPrinter.print(
         layout.rowCount(),
         layout.seatsPerRow(),
-        reserve.takenSeats(), // seats taken by others
-        reserve.reservedSeats()); // your temporary hold
+        reserve.takenSeatMasks(layout.rowCount()), // seats taken by others
+        SeatBitmapCodec.toRowMasks(reserve.reservedSeats(), layout.rowCount())); // your hold
   }
 
   // ==== Small types ====
@@ -41,6 +41,15 @@ public class CinemaCliService {
     return parse(resp, SeatingAvailabilityResponse.class);
   }
 
+  // --- Follow availability pushed by the backend (SSE) ---
+  public AvailabilitySubscription subscribeAvailability(
+      String movieTitle, int rowCount, int seatsPerRow) {
+    AvailabilitySubscription subscription =
+        new AvailabilitySubscription(cinemaApiClient, mapper, movieTitle, rowCount, seatsPerRow);
+    subscription.start();
+    return subscription;
+  }
+
   // --- Reserve seats (POST) ---
   public ReservedSeatsResponse reserveSeats(
       String movieTitle, int rowCount, int seatsPerRow, int tickets) throws Exception {
@@ -85,6 +94,11 @@ public class CinemaCliService {
     validateResponse(resp, "confirm booking");
   }
 
+  public void cancelBooking(String bookingId) throws Exception {
+    HttpResponse<String> resp = cinemaApiClient.postCancelBooking(bookingId);
+    validateResponse(resp, "cancel booking");
+  }
+
   public CheckBookingResponse getBookings(String bookingId) throws Exception {
     HttpResponse<String> resp = cinemaApiClient.getBookingById(bookingId);
     int status = resp.statusCode();
@@ -1,8 +1,6 @@
 package com.gic.cinemas.cli;
 
-import com.gic.cinemas.common.dto.SeatDto;
-import java.util.*;
-import java.util.List;
+import com.gic.cinemas.common.dto.SeatBitmapCodec;
 
 public final class SeatMapPrinter {
 
@@ -12,12 +10,8 @@ public final class SeatMapPrinter {
 
   private SeatMapPrinter() {}
 
-  public static void print(
-      int rowCount, int seatsPerRow, List<SeatDto> bookedSeats, List<SeatDto> reservedSeats) {
-
-    Set<String> booked = toLabels(bookedSeats);
-    Set<String> reserved = toLabels(reservedSeats);
-
+  /** Prints from per-row bitmasks, row A at index 0; see {@link SeatBitmapCodec}. */
+  public static void print(int rowCount, int seatsPerRow, long[] booked, long[] reserved) {
     printHeader(seatsPerRow);
     printGrid(rowCount, seatsPerRow, booked, reserved);
     printFooter(seatsPerRow);
@@ -56,8 +50,7 @@ public final class SeatMapPrinter {
     System.out.println("--" + "-".repeat(seatAreaWidth(seatsPerRow)) + "--");
   }
 
-  private static void printGrid(
-      int rowCount, int seatsPerRow, Set<String> booked, Set<String> reserved) {
+  private static void printGrid(int rowCount, int seatsPerRow, long[] booked, long[] reserved) {
 
     int extra = gridExtraIndent(seatsPerRow);
 
@@ -69,11 +62,11 @@ public final class SeatMapPrinter {
       sb.append(" ".repeat(extra)); // center grid when screen is wider
 
       for (int c = 1; c <= seatsPerRow; c++) {
-        String key = rowChar + String.format("%02d", c); // internal normalized key
+        long bit = 1L << (c - 1);
 
         char cell = '.';
-        if (booked.contains(key)) cell = '#';
-        if (reserved.contains(key)) cell = 'o';
+        if ((booked[r] & bit) != 0) cell = '#';
+        if ((reserved[r] & bit) != 0) cell = 'o';
 
         sb.append(cell);
         if (c < seatsPerRow) sb.append(SEAT_GAP);
@@ -101,16 +94,4 @@ public final class SeatMapPrinter {
 
     System.out.println(axis);
   }
-
-  // -------------------- utils --------------------
-
-  private static Set<String> toLabels(List<SeatDto> seats) {
-    Set<String> set = new HashSet<>();
-    if (seats != null) {
-      for (SeatDto s : seats) {
-        set.add(s.rowLabel().toUpperCase() + String.format("%02d", s.seatNumber()));
-      }
-    }
-    return set;
-  }
 }
@@ -0,0 +1,84 @@
+package com.gic.cinemas.common.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact wire format for a seat map: one lowercase hex mask per row, row A first, rows separated
+ * by {@code '.'}. Bit {@code c} of a row's mask is seat {@code c + 1}, so a 3-row hall where row A
+ * has seats 1 and 2 taken and row C has seat 10 taken encodes as {@code "3.0.200"}.
+ *
+ * <p>A full 26 x 50 hall is at most a few hundred characters, against tens of kilobytes for the
+ * same seats as {@link SeatDto}s.
+ */
+public final class SeatBitmapCodec {
+
+  public static final char ROW_SEPARATOR = '.';
+
+  private SeatBitmapCodec() {}
+
+  public static String encode(long[] rowMasks) {
+    StringBuilder sb = new StringBuilder(rowMasks.length * 4);
+    for (int r = 0; r < rowMasks.length; r++) {
+      if (r > 0) sb.append(ROW_SEPARATOR);
+      sb.append(Long.toHexString(rowMasks[r]));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Decodes {@code bitmap} into {@code rowCount} row masks. Missing trailing rows are empty.
+   *
+   * @throws IllegalArgumentException if the bitmap has more than {@code rowCount} rows or a row is
+   *     not a valid hex mask
+   */
+  public static long[] decode(String bitmap, int rowCount) {
+    long[] rowMasks = new long[rowCount];
+    if (bitmap == null || bitmap.isEmpty()) return rowMasks;
+
+    int row = 0;
+    int start = 0;
+    while (start <= bitmap.length()) {
+      int end = bitmap.indexOf(ROW_SEPARATOR, start);
+      if (end < 0) end = bitmap.length();
+      if (row >= rowCount) {
+        throw new IllegalArgumentException(
+            "Seat bitmap has more than " + rowCount + " rows: " + bitmap);
+      }
+      rowMasks[row++] = parseRow(bitmap, start, end);
+      start = end + 1;
+    }
+    return rowMasks;
+  }
+
+  /** Row masks for {@code seats}; row labels are letters with row A at index 0. */
+  public static long[] toRowMasks(List<SeatDto> seats, int rowCount) {
+    long[] rowMasks = new long[rowCount];
+    if (seats == null) return rowMasks;
+    for (SeatDto seat : seats) {
+      int row = Character.toUpperCase(seat.rowLabel().charAt(0)) - 'A';
+      rowMasks[row] |= 1L << (seat.seatNumber() - 1);
+    }
+    return rowMasks;
+  }
+
+  /** Seats set in {@code rowMasks}, row A first and left to right within a row. */
+  public static List<SeatDto> toSeatDtos(long[] rowMasks) {
+    List<SeatDto> seats = new ArrayList<>();
+    for (int r = 0; r < rowMasks.length; r++) {
+      String rowLabel = String.valueOf((char) ('A' + r));
+      for (long mask = rowMasks[r]; mask != 0; mask &= mask - 1) {
+        seats.add(new SeatDto(rowLabel, Long.numberOfTrailingZeros(mask) + 1));
+      }
+    }
+    return seats;
+  }
+
+  private static long parseRow(String bitmap, int start, int end) {
+    try {
+      return Long.parseUnsignedLong(bitmap, start, end, 16);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid seat bitmap row: " + bitmap, e);
+    }
+  }
+}
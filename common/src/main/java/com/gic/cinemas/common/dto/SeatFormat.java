@@ -0,0 +1,32 @@
+package com.gic.cinemas.common.dto;
+
+import java.util.Locale;
+
+/**
+ * How seat maps are returned by the reserve, change-booking and check endpoints. Clients pick one
+ * with the {@code seatFormat} query parameter or a {@code seat-format} parameter on the {@code
+ * Accept} media type; {@link #LIST} is the default.
+ */
+public enum SeatFormat {
+  /** Every seat as a {@link SeatDto}. */
+  LIST,
+  /** Other bookings' seats as a {@link SeatBitmapCodec} string, own seats as {@link SeatDto}s. */
+  BITMAP;
+
+  public static final String PARAMETER = "seatFormat";
+  public static final String MEDIA_TYPE_PARAMETER = "seat-format";
+
+  /** Parses a parameter value case-insensitively; {@code null} if blank or unrecognised. */
+  public static SeatFormat fromValue(String value) {
+    if (value == null || value.isBlank()) return null;
+    return switch (value.trim().toLowerCase(Locale.ROOT)) {
+      case "list" -> LIST;
+      case "bitmap" -> BITMAP;
+      default -> null;
+    };
+  }
+
+  public String value() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,9 @@
+package com.gic.cinemas.common.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record ReserveSeatsBatchRequest(
+    @NotNull @Size(min = 1, max = 500) List<@Valid ReserveSeatsRequest> reservations) {}
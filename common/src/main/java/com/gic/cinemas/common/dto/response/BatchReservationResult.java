@@ -0,0 +1,11 @@
+package com.gic.cinemas.common.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a batch reservation: exactly one of {@code reservation} and {@code error}
+ * is present. {@code index} is the item's position in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchReservationResult(
+    int index, ReservedSeatsResponse reservation, ErrorResponse error) {}
@@ -0,0 +1,16 @@
+package com.gic.cinemas.common.dto.response;
+
+import com.gic.cinemas.common.dto.BookingStatus;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Result of a cancel request. Cancelling a booking that is already cancelled or expired changes
+ * nothing: {@code status} is then its current status and no seats are released.
+ */
+public record BookingCancelledResponse(
+    @NotBlank String bookingId,
+    @NotBlank String movieTitle,
+    @NotNull BookingStatus status,
+    @Min(0) int releasedSeats) {}
@@ -1,5 +1,7 @@
 package com.gic.cinemas.common.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.gic.cinemas.common.dto.SeatBitmapCodec;
 import com.gic.cinemas.common.dto.SeatDto;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -7,7 +9,27 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.util.List;
 
+/**
+ * Seats owned by a booking and the seats held by everyone else. Other seats come either as {@code
+ * takenSeats} or, in the bitmap seat format, as a {@link SeatBitmapCodec} string in {@code
+ * takenSeatsBitmap}; the other field is omitted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record CheckBookingResponse(
     @NotBlank String bookingId,
     @NotNull @Size(min = 1) List<@Valid SeatDto> bookedSeats,
-    @NotNull List<@Valid SeatDto> takenSeats) {}
+    List<@Valid SeatDto> takenSeats,
+    String takenSeatsBitmap) {
+
+  public CheckBookingResponse(
+      String bookingId, List<SeatDto> bookedSeats, List<SeatDto> takenSeats) {
+    this(bookingId, bookedSeats, takenSeats, null);
+  }
+
+  /** Other bookings' seats as row masks, whichever format the response was sent in. */
+  public long[] takenSeatMasks(int rowCount) {
+    return takenSeatsBitmap != null
+        ? SeatBitmapCodec.decode(takenSeatsBitmap, rowCount)
+        : SeatBitmapCodec.toRowMasks(takenSeats, rowCount);
+  }
+}
@@ -0,0 +1,6 @@
+package com.gic.cinemas.common.dto.response;
+
+import java.util.List;
+
+/** One result per requested reservation, in request order. */
+public record ReserveSeatsBatchResponse(List<BatchReservationResult> results) {}
@@ -1,5 +1,7 @@
 package com.gic.cinemas.common.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.gic.cinemas.common.dto.SeatBitmapCodec;
 import com.gic.cinemas.common.dto.SeatDto;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -7,7 +9,27 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.util.List;
 
+/**
+ * Seats held by a booking and the seats already taken by others. Taken seats come either as {@code
+ * takenSeats} or, in the bitmap seat format, as a {@link SeatBitmapCodec} string in {@code
+ * takenSeatsBitmap}; the other field is omitted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record ReservedSeatsResponse(
     @NotBlank String bookingId,
-    @NotNull List<@Valid SeatDto> takenSeats,
-    @NotNull @Size(min = 1) List<@Valid SeatDto> reservedSeats) {}
+    List<@Valid SeatDto> takenSeats,
+    @NotNull @Size(min = 1) List<@Valid SeatDto> reservedSeats,
+    String takenSeatsBitmap) {
+
+  public ReservedSeatsResponse(
+      String bookingId, List<SeatDto> takenSeats, List<SeatDto> reservedSeats) {
+    this(bookingId, takenSeats, reservedSeats, null);
+  }
+
+  /** Taken seats as row masks, whichever format the response was sent in. */
+  public long[] takenSeatMasks(int rowCount) {
+    return takenSeatsBitmap != null
+        ? SeatBitmapCodec.decode(takenSeatsBitmap, rowCount)
+        : SeatBitmapCodec.toRowMasks(takenSeats, rowCount);
+  }
+}
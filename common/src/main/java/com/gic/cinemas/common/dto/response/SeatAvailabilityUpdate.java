@@ -0,0 +1,20 @@
+package com.gic.cinemas.common.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.gic.cinemas.common.dto.SeatBitmapCodec;
+
+/**
+ * One event on the seating-availability stream. The first event after subscribing carries the full
+ * {@code takenSeatsBitmap}; later events carry the seats released and claimed since the previous
+ * event, to be applied in that order. Seat maps use the {@link SeatBitmapCodec} format; absent
+ * fields are omitted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SeatAvailabilityUpdate(
+    long availableSeatsCount,
+    String takenSeatsBitmap,
+    String releasedSeatsBitmap,
+    String claimedSeatsBitmap) {
+
+  public static final String EVENT_NAME = "availability";
+}
@@ -0,0 +1,50 @@
+package com.gic.cinemas.common.dto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SeatBitmapCodecTest {
+
+  @Test
+  void encodesOneHexMaskPerRowStartingWithRowA() {
+    long[] rows = SeatBitmapCodec.toRowMasks(List.of(seat("A", 1), seat("A", 2), seat("C", 10)), 3);
+
+    assertEquals("3.0.200", SeatBitmapCodec.encode(rows));
+  }
+
+  @Test
+  void roundTripsFullRowsOfEverySupportedWidth() {
+    long[] rows = {(1L << 50) - 1, 0, -1L, 1L << 63};
+
+    assertArrayEquals(rows, SeatBitmapCodec.decode(SeatBitmapCodec.encode(rows), rows.length));
+  }
+
+  @Test
+  void decodesToTheSameSeatsAsTheListFormat() {
+    List<SeatDto> seats = List.of(seat("A", 3), seat("B", 1), seat("B", 50), seat("Z", 7));
+
+    long[] rows =
+        SeatBitmapCodec.decode(SeatBitmapCodec.encode(SeatBitmapCodec.toRowMasks(seats, 26)), 26);
+
+    assertEquals(seats, SeatBitmapCodec.toSeatDtos(rows));
+  }
+
+  @Test
+  void missingTrailingRowsAreEmpty() {
+    assertArrayEquals(new long[] {5, 0, 0}, SeatBitmapCodec.decode("5", 3));
+    assertArrayEquals(new long[] {0, 0}, SeatBitmapCodec.decode("", 2));
+  }
+
+  @Test
+  void rejectsMalformedBitmaps() {
+    assertThrows(IllegalArgumentException.class, () -> SeatBitmapCodec.decode("1.2.3", 2));
+    assertThrows(IllegalArgumentException.class, () -> SeatBitmapCodec.decode("1..3", 3));
+    assertThrows(IllegalArgumentException.class, () -> SeatBitmapCodec.decode("xyz", 1));
+  }
+
+  private static SeatDto seat(String row, int number) {
+    return new SeatDto(row, number);
+  }
+}
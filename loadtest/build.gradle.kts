@@ -0,0 +1,33 @@
+plugins {
+    id("java")
+    application
+}
+
+group = "com.gic.cinemas.loadtest"
+version = "1.0-SNAPSHOT"
+
+repositories {
+    mavenCentral()
+}
+
+application {
+    mainClass.set("com.gic.cinemas.loadtest.LoadTest")
+}
+
+dependencies {
+    implementation(project(":cli"))
+    implementation(project(":common"))
+    implementation("com.fasterxml.jackson.core:jackson-databind:2.18.1")
+    testImplementation(platform("org.junit:junit-bom:5.10.0"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
+
+// e.g. ./gradlew :loadtest:run --args='--users=5000 --arrival-rate=200 --shows=20 --skew=1.2'
+tasks.named<JavaExec>("run") {
+    workingDir = rootProject.projectDir
+}
@@ -0,0 +1,46 @@
+#!/bin/sh
+# Runs the same load test against each reservation concurrency mode on one hot show and prints
+# the client-side summary (throughput, latency, 409 rate) plus the server-side seat conflicts:
+# claims re-planned after losing a race (retries) and races still lost after every retry
+# (exhausted). Modes default to OPTIMISTIC and PESSIMISTIC; set MODES to compare others, e.g.
+#   MODES="OPTIMISTIC PESSIMISTIC LANES CAS" loadtest/compare-concurrency-modes.sh --users=5000
+set -e
+cd "$(dirname "$0")/.."
+
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+PORT="${PORT:-18080}"
+MANAGEMENT_PORT=$((PORT + 1))
+MODES="${MODES:-OPTIMISTIC PESSIMISTIC}"
+# one show that everyone wants, with no pauses: every claim contends with the ones around it
+DEFAULTS="--users=3000 --arrival-rate=300 --threads=400 --shows=1 --rows=26 --seats-per-row=50 --think-ms=0"
+
+sh ./gradlew -q :backend:bootJar :loadtest:installDist
+mkdir -p build
+JAR=$(ls backend/build/libs/backend-*.jar | grep -v plain | head -1)
+
+for mode in $MODES; do
+  "$JAVA" -jar "$JAR" --cinemas.booking.concurrency-mode="$mode" --server.port="$PORT" \
+    --management.server.port="$MANAGEMENT_PORT" --spring.jpa.show-sql=false \
+    > "build/loadtest-$mode.log" 2>&1 &
+  backend=$!
+  trap 'kill $backend 2>/dev/null' EXIT
+
+  # any HTTP status means the server is up
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/api/booking/check/GIC0000")" != 000 ]; do
+    kill -0 $backend 2>/dev/null || { cat "build/loadtest-$mode.log"; exit 1; }
+    sleep 1
+  done
+
+  echo "=== $mode ==="
+  loadtest/build/install/loadtest/bin/loadtest \
+    --api.base="http://localhost:$PORT/api" --report="build/loadtest-$mode.json" $DEFAULTS "$@"
+  echo "seat conflicts on the server:"
+  curl -s "http://127.0.0.1:$MANAGEMENT_PORT/actuator/prometheus" \
+    | grep -E '^cinemas_booking_claim_(retries|exhausted)_total' || true
+
+  kill $backend
+  wait $backend 2>/dev/null || true
+  trap - EXIT
+done
+
+echo "Reports: $(for mode in $MODES; do printf 'build/loadtest-%s.json ' "$mode"; done)"
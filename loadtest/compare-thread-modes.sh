@@ -0,0 +1,41 @@
+#!/bin/sh
+# Runs the same load test against the backend on platform threads and on virtual threads and
+# prints both summaries. Both modes run on the JDK in JAVA_HOME, which must be 21+ for the
+# virtual-threads run to differ. Extra arguments go to the load test, e.g.
+#   loadtest/compare-thread-modes.sh --users=10000 --arrival-rate=1000 --threads=4000
+set -e
+cd "$(dirname "$0")/.."
+
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+PORT="${PORT:-18080}"
+# many users in flight at once, each pausing between steps like a slow client
+DEFAULTS="--users=5000 --arrival-rate=500 --threads=3000 --shows=20 --skew=1.2 --think-ms=500"
+
+sh ./gradlew -q :backend:bootJar :loadtest:installDist
+mkdir -p build
+JAR=$(ls backend/build/libs/backend-*.jar | grep -v plain | head -1)
+
+for mode in platform virtual-threads; do
+  profile=""
+  [ "$mode" = virtual-threads ] && profile="--spring.profiles.active=virtual-threads"
+  "$JAVA" -jar "$JAR" $profile --server.port="$PORT" --management.server.port=0 \
+    --spring.jpa.show-sql=false > "build/loadtest-$mode.log" 2>&1 &
+  backend=$!
+  trap 'kill $backend 2>/dev/null' EXIT
+
+  # any HTTP status means the server is up
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/api/booking/check/GIC0000")" != 000 ]; do
+    kill -0 $backend 2>/dev/null || { cat "build/loadtest-$mode.log"; exit 1; }
+    sleep 1
+  done
+
+  echo "=== $mode ==="
+  loadtest/build/install/loadtest/bin/loadtest \
+    --api.base="http://localhost:$PORT/api" --report="build/loadtest-$mode.json" $DEFAULTS "$@"
+
+  kill $backend
+  wait $backend 2>/dev/null || true
+  trap - EXIT
+done
+
+echo "Reports: build/loadtest-platform.json build/loadtest-virtual-threads.json"
@@ -0,0 +1,78 @@
+package com.gic.cinemas.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and response codes of one operation. Every sample is kept, so percentiles are exact; a
+ * run of a few thousand users is a few tens of thousands of longs.
+ */
+final class LatencyStats {
+
+  /** Status recorded for a request that got no HTTP response (timeout, connection refused). */
+  static final int NO_RESPONSE = 0;
+
+  private long[] nanos = new long[1024];
+  private int count;
+  private final Map<Integer, Integer> statusCounts = new TreeMap<>();
+
+  synchronized void record(int status, long latencyNanos) {
+    if (count == nanos.length) nanos = Arrays.copyOf(nanos, count * 2);
+    nanos[count++] = latencyNanos;
+    statusCounts.merge(status, 1, Integer::sum);
+  }
+
+  /** Adds every sample of this operation to {@code target}. */
+  synchronized void copyInto(LatencyStats target) {
+    synchronized (target) {
+      target.nanos =
+          Arrays.copyOf(target.nanos, Math.max(target.nanos.length, target.count + count));
+      System.arraycopy(nanos, 0, target.nanos, target.count, count);
+      target.count += count;
+      statusCounts.forEach((status, n) -> target.statusCounts.merge(status, n, Integer::sum));
+    }
+  }
+
+  synchronized Summary summarize(double elapsedSeconds) {
+    long[] sorted = Arrays.copyOf(nanos, count);
+    Arrays.sort(sorted);
+    return new Summary(
+        count,
+        count / elapsedSeconds,
+        millis(percentile(sorted, 0.50)),
+        millis(percentile(sorted, 0.95)),
+        millis(percentile(sorted, 0.99)),
+        millis(count == 0 ? 0 : sorted[count - 1]),
+        rate(400),
+        rate(409),
+        new TreeMap<>(statusCounts));
+  }
+
+  private double rate(int status) {
+    return count == 0 ? 0 : statusCounts.getOrDefault(status, 0) / (double) count;
+  }
+
+  /** Nearest-rank percentile: the sample at rank {@code ceil(p * n)}, or the first for p = 0. */
+  static long percentile(long[] sorted, double p) {
+    if (sorted.length == 0) return 0;
+    int rank = (int) Math.ceil(p * sorted.length);
+    return sorted[Math.max(0, rank - 1)];
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+
+  /** One operation's results; latencies in milliseconds, rates as a share of its requests. */
+  record Summary(
+      int requests,
+      double throughputPerSecond,
+      double p50Ms,
+      double p95Ms,
+      double p99Ms,
+      double maxMs,
+      double rate400,
+      double rate409,
+      Map<Integer, Integer> statusCounts) {}
+}
@@ -0,0 +1,85 @@
+package com.gic.cinemas.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gic.cinemas.cli.CinemaApiClient;
+import java.net.http.HttpResponse;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open-model load generator for a running backend. Virtual users arrive as a Poisson process at
+ * {@code --arrival-rate} per second, pick a show by Zipf popularity and run the CLI booking flow
+ * through {@link CinemaApiClient}. Arrivals do not wait for earlier users, so a slow backend shows
+ * up as latency and conflicts rather than as a lower request rate.
+ *
+ * <p>Halls are created fresh for every run (titles carry a run id), so results do not depend on
+ * seats left over from earlier runs.
+ */
+public final class LoadTest {
+
+  private LoadTest() {}
+
+  public static void main(String[] args) throws Exception {
+    LoadTestConfig config = LoadTestConfig.fromArgs(args);
+    ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+    // one attempt per POST: a silent retry would be timed, and counted, as one slow request
+    CinemaApiClient client = new CinemaApiClient(config.apiBase(), mapper, false, 1);
+
+    String runId = Long.toString(System.currentTimeMillis(), 36);
+    String[] shows = new String[config.shows()];
+    for (int i = 0; i < shows.length; i++) {
+      shows[i] = "Show %d (load test %s)".formatted(i + 1, runId);
+      HttpResponse<String> created =
+          client.postSeatingConfig(shows[i], config.rowCount(), config.seatsPerRow());
+      if (created.statusCode() != 200) {
+        throw new IllegalStateException(
+            "Could not create show (HTTP " + created.statusCode() + "): " + created.body());
+      }
+    }
+
+    ShowPopularity popularity = new ShowPopularity(config.shows(), config.skew());
+    LoadTestResults results = new LoadTestResults();
+    SplittableRandom random = new SplittableRandom(config.seed());
+    ExecutorService users = Executors.newFixedThreadPool(config.threads(), daemonThreads());
+
+    long start = System.nanoTime();
+    long nextArrival = start;
+    for (int u = 0; u < config.users(); u++) {
+      nextArrival += (long) (-Math.log(1 - random.nextDouble()) / config.arrivalRate() * 1e9);
+      long wait = nextArrival - System.nanoTime();
+      if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+
+      String show = shows[popularity.pick(random)];
+      users.execute(
+          new VirtualUser(client, mapper, config, results, show, nextArrival, random.split()));
+    }
+    users.shutdown();
+    boolean drained = users.awaitTermination(1, TimeUnit.HOURS);
+    int neverStarted = drained ? 0 : users.shutdownNow().size();
+    double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+    LoadTestResults.Report report = results.summarize(config, elapsedSeconds);
+    report.printText(System.out);
+    report.writeJson(config.jsonReport());
+    System.out.printf("JSON summary: %s%n", config.jsonReport().toAbsolutePath());
+    if (!drained) {
+      throw new IllegalStateException(
+          ("Virtual users were still running after 1 h (%d never started); "
+                  + "the results above are incomplete")
+              .formatted(neverStarted));
+    }
+  }
+
+  private static ThreadFactory daemonThreads() {
+    AtomicInteger next = new AtomicInteger();
+    return r -> {
+      Thread t = new Thread(r, "virtual-user-" + next.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    };
+  }
+}
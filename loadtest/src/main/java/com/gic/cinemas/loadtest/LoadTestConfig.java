@@ -0,0 +1,83 @@
+package com.gic.cinemas.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, from {@code --name=value} program arguments.
+ *
+ * @param apiBase backend base URL
+ * @param users virtual users to start in total; each runs one booking session
+ * @param arrivalRate mean new users per second (Poisson arrivals)
+ * @param threads sessions in flight at most; arrivals beyond it queue and are reported as late
+ * @param shows number of shows (seating configs) users choose from
+ * @param skew Zipf exponent of show popularity: 0 spreads users evenly, 1+ crowds the top shows
+ * @param rowCount rows per hall
+ * @param seatsPerRow seats per hall row
+ * @param maxTickets each user asks for 1..maxTickets tickets
+ * @param changeRate share of users who move their seats once before deciding
+ * @param abandonRate share of users who back out (cancel) instead of confirming
+ * @param thinkTimeMillis mean pause between a user's steps (exponentially distributed)
+ * @param seed random seed, so runs can be repeated
+ * @param jsonReport where the JSON summary is written
+ */
+public record LoadTestConfig(
+    String apiBase,
+    int users,
+    double arrivalRate,
+    int threads,
+    int shows,
+    double skew,
+    int rowCount,
+    int seatsPerRow,
+    int maxTickets,
+    double changeRate,
+    double abandonRate,
+    long thinkTimeMillis,
+    long seed,
+    Path jsonReport) {
+
+  public static LoadTestConfig fromArgs(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+      }
+      int eq = arg.indexOf('=');
+      options.put(arg.substring(2, eq), arg.substring(eq + 1));
+    }
+
+    LoadTestConfig config =
+        new LoadTestConfig(
+            options.getOrDefault("api.base", "http://localhost:8080/api"),
+            Integer.parseInt(options.getOrDefault("users", "2000")),
+            Double.parseDouble(options.getOrDefault("arrival-rate", "100")),
+            Integer.parseInt(options.getOrDefault("threads", "256")),
+            Integer.parseInt(options.getOrDefault("shows", "10")),
+            Double.parseDouble(options.getOrDefault("skew", "1.0")),
+            Integer.parseInt(options.getOrDefault("rows", "20")),
+            Integer.parseInt(options.getOrDefault("seats-per-row", "30")),
+            Integer.parseInt(options.getOrDefault("max-tickets", "6")),
+            Double.parseDouble(options.getOrDefault("change-rate", "0.3")),
+            Double.parseDouble(options.getOrDefault("abandon-rate", "0.2")),
+            Long.parseLong(options.getOrDefault("think-ms", "200")),
+            Long.parseLong(options.getOrDefault("seed", "42")),
+            Path.of(options.getOrDefault("report", "build/loadtest-report.json")));
+    config.validate();
+    return config;
+  }
+
+  private void validate() {
+    if (users < 1 || arrivalRate <= 0 || threads < 1 || shows < 1 || maxTickets < 1) {
+      throw new IllegalArgumentException(
+          "users, arrival-rate, threads, shows and max-tickets must be positive");
+    }
+    if (rowCount < 1 || rowCount > 26 || seatsPerRow < 1 || seatsPerRow > 50) {
+      throw new IllegalArgumentException("rows must be 1..26 and seats-per-row 1..50");
+    }
+    if (skew < 0 || changeRate < 0 || changeRate > 1 || abandonRate < 0 || abandonRate > 1) {
+      throw new IllegalArgumentException("skew must be >= 0, change/abandon rates within 0..1");
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.gic.cinemas.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Collects every virtual user's requests and renders the run's text and JSON summaries. */
+final class LoadTestResults {
+
+  private static final List<String> OPERATIONS =
+      List.of(
+          VirtualUser.RESERVE,
+          VirtualUser.CHANGE,
+          VirtualUser.CONFIRM,
+          VirtualUser.CANCEL,
+          VirtualUser.CHECK);
+
+  private final Map<String, LatencyStats> operations = new ConcurrentHashMap<>();
+  private final LatencyStats startDelays = new LatencyStats();
+
+  void record(String operation, int status, long latencyNanos) {
+    operations.computeIfAbsent(operation, k -> new LatencyStats()).record(status, latencyNanos);
+  }
+
+  /** How late a user started against its scheduled arrival; high values mean too few threads. */
+  void startDelay(long nanos) {
+    startDelays.record(LatencyStats.NO_RESPONSE, nanos);
+  }
+
+  Report summarize(LoadTestConfig config, double elapsedSeconds) {
+    Map<String, LatencyStats.Summary> byOperation = new LinkedHashMap<>();
+    LatencyStats all = new LatencyStats();
+    for (String operation : OPERATIONS) {
+      LatencyStats stats = operations.get(operation);
+      if (stats != null) byOperation.put(operation, stats.summarize(elapsedSeconds));
+    }
+    operations.values().forEach(stats -> stats.copyInto(all));
+    LatencyStats.Summary startDelay = startDelays.summarize(elapsedSeconds);
+    return new Report(
+        config, elapsedSeconds, all.summarize(elapsedSeconds), byOperation, startDelay.p99Ms());
+  }
+
+  /**
+   * @param overall every request of the run
+   * @param operations per operation, in flow order
+   * @param startDelayP99Ms 99th percentile of how late users started
+   */
+  record Report(
+      LoadTestConfig config,
+      double elapsedSeconds,
+      LatencyStats.Summary overall,
+      Map<String, LatencyStats.Summary> operations,
+      double startDelayP99Ms) {
+
+    void printText(PrintStream out) {
+      out.printf(
+          "%nLoad test: %d users at %.1f/s over %d show(s), skew %.2f, %.1f s%n%n",
+          config.users(), config.arrivalRate(), config.shows(), config.skew(), elapsedSeconds);
+      out.printf(
+          "%-9s %9s %9s %9s %9s %9s %9s %7s %7s%n",
+          "operation", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "400", "409");
+      operations.forEach((operation, summary) -> printRow(out, operation, summary));
+      printRow(out, "all", overall);
+      out.printf("%nstatus codes: %s%n", overall.statusCounts());
+      if (startDelayP99Ms > 100) {
+        out.printf(
+            "warning: p99 user start delay %.1f ms, raise --threads for the arrival rate%n",
+            startDelayP99Ms);
+      }
+    }
+
+    void writeJson(Path file) throws IOException {
+      if (file.getParent() != null) Files.createDirectories(file.getParent());
+      new ObjectMapper()
+          .findAndRegisterModules()
+          .enable(SerializationFeature.INDENT_OUTPUT)
+          .writeValue(file.toFile(), this);
+    }
+
+    private static void printRow(PrintStream out, String name, LatencyStats.Summary s) {
+      out.printf(
+          "%-9s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %6.2f%% %6.2f%%%n",
+          name,
+          s.requests(),
+          s.throughputPerSecond(),
+          s.p50Ms(),
+          s.p95Ms(),
+          s.p99Ms(),
+          s.maxMs(),
+          s.rate400() * 100,
+          s.rate409() * 100);
+    }
+  }
+}
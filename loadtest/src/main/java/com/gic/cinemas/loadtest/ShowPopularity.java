@@ -0,0 +1,32 @@
+package com.gic.cinemas.loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf-distributed choice of show: show {@code k} (1-based) is picked with weight {@code 1 /
+ * k^skew}. A premiere is show 1.
+ */
+final class ShowPopularity {
+
+  private final double[] cumulative;
+
+  ShowPopularity(int shows, double skew) {
+    cumulative = new double[shows];
+    double total = 0;
+    for (int k = 1; k <= shows; k++) {
+      total += 1 / Math.pow(k, skew);
+      cumulative[k - 1] = total;
+    }
+    for (int i = 0; i < shows; i++) {
+      cumulative[i] /= total;
+    }
+  }
+
+  /** 0-based index of the chosen show. */
+  int pick(RandomGenerator random) {
+    int i = Arrays.binarySearch(cumulative, random.nextDouble());
+    int show = i >= 0 ? i : -i - 1;
+    return Math.min(show, cumulative.length - 1);
+  }
+}
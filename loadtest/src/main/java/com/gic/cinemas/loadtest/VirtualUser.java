@@ -0,0 +1,111 @@
+package com.gic.cinemas.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gic.cinemas.cli.CinemaApiClient;
+import com.gic.cinemas.common.dto.SeatDto;
+import com.gic.cinemas.common.dto.response.ReservedSeatsResponse;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One simulated CLI user: reserve, maybe move the seats once, then confirm or back out, then check
+ * the booking. Each step is timed as its own operation. A user whose reserve is refused (no seats,
+ * seat race) goes home, as a real user would.
+ */
+final class VirtualUser implements Runnable {
+
+  static final String RESERVE = "reserve";
+  static final String CHANGE = "change";
+  static final String CONFIRM = "confirm";
+  static final String CANCEL = "cancel";
+  static final String CHECK = "check";
+
+  private final CinemaApiClient client;
+  private final ObjectMapper mapper;
+  private final LoadTestConfig config;
+  private final LoadTestResults results;
+  private final String movieTitle;
+  private final long scheduledAtNanos;
+  private final SplittableRandom random;
+
+  VirtualUser(
+      CinemaApiClient client,
+      ObjectMapper mapper,
+      LoadTestConfig config,
+      LoadTestResults results,
+      String movieTitle,
+      long scheduledAtNanos,
+      SplittableRandom random) {
+    this.client = client;
+    this.mapper = mapper;
+    this.config = config;
+    this.results = results;
+    this.movieTitle = movieTitle;
+    this.scheduledAtNanos = scheduledAtNanos;
+    this.random = random;
+  }
+
+  @Override
+  public void run() {
+    results.startDelay(System.nanoTime() - scheduledAtNanos);
+    try {
+      int tickets = 1 + random.nextInt(config.maxTickets());
+      HttpResponse<String> reserved =
+          timed(
+              RESERVE,
+              () ->
+                  client.postReserveBooking(
+                      movieTitle, config.rowCount(), config.seatsPerRow(), tickets));
+      if (reserved.statusCode() != 200) return;
+      String bookingId = mapper.readValue(reserved.body(), ReservedSeatsResponse.class).bookingId();
+
+      think();
+      if (random.nextDouble() < config.changeRate()) {
+        SeatDto startSeat =
+            new SeatDto(
+                String.valueOf((char) ('A' + random.nextInt(config.rowCount()))),
+                1 + random.nextInt(config.seatsPerRow()));
+        timed(CHANGE, () -> client.postChangeBooking(bookingId, startSeat));
+        think();
+      }
+
+      if (random.nextDouble() < config.abandonRate()) {
+        timed(CANCEL, () -> client.postCancelBooking(bookingId));
+      } else {
+        timed(CONFIRM, () -> client.postConfirmBooking(bookingId));
+      }
+      timed(CHECK, () -> client.getBookingById(bookingId));
+    } catch (IOException e) {
+      // recorded as NO_RESPONSE by timed(); this user gives up
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private HttpResponse<String> timed(String operation, Call call)
+      throws IOException, InterruptedException {
+    long start = System.nanoTime();
+    try {
+      HttpResponse<String> resp = call.send();
+      results.record(operation, resp.statusCode(), System.nanoTime() - start);
+      return resp;
+    } catch (IOException e) {
+      results.record(operation, LatencyStats.NO_RESPONSE, System.nanoTime() - start);
+      throw e;
+    }
+  }
+
+  /** Exponentially distributed pause with the configured mean, like a user reading the seat map. */
+  private void think() throws InterruptedException {
+    if (config.thinkTimeMillis() <= 0) return;
+    double pause = -Math.log(1 - random.nextDouble()) * config.thinkTimeMillis();
+    TimeUnit.MICROSECONDS.sleep((long) (pause * 1000));
+  }
+
+  @FunctionalInterface
+  private interface Call {
+    HttpResponse<String> send() throws IOException, InterruptedException;
+  }
+}
@@ -0,0 +1,59 @@
+package com.gic.cinemas.loadtest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class LatencyStatsTest {
+
+  private static final long[] ONE_TO_HUNDRED = LongStream.rangeClosed(1, 100).toArray();
+
+  @Test
+  void percentileOfNoSamplesIsZero() {
+    assertEquals(0, LatencyStats.percentile(new long[0], 0.5));
+  }
+
+  @Test
+  void everyPercentileOfOneSampleIsThatSample() {
+    long[] one = {42};
+
+    assertEquals(42, LatencyStats.percentile(one, 0.0));
+    assertEquals(42, LatencyStats.percentile(one, 0.5));
+    assertEquals(42, LatencyStats.percentile(one, 1.0));
+  }
+
+  @Test
+  void percentileIsTheSampleAtTheCeilingRank() {
+    assertEquals(50, LatencyStats.percentile(ONE_TO_HUNDRED, 0.50));
+    assertEquals(95, LatencyStats.percentile(ONE_TO_HUNDRED, 0.95));
+    assertEquals(99, LatencyStats.percentile(ONE_TO_HUNDRED, 0.99));
+    assertEquals(2, LatencyStats.percentile(new long[] {1, 2, 3}, 0.50)); // rank ceil(1.5) = 2
+  }
+
+  @Test
+  void extremePercentilesAreTheMinimumAndMaximum() {
+    assertEquals(1, LatencyStats.percentile(ONE_TO_HUNDRED, 0.0));
+    assertEquals(1, LatencyStats.percentile(ONE_TO_HUNDRED, 0.001));
+    assertEquals(100, LatencyStats.percentile(ONE_TO_HUNDRED, 0.991));
+    assertEquals(100, LatencyStats.percentile(ONE_TO_HUNDRED, 1.0));
+  }
+
+  @Test
+  void summaryReportsMillisecondsAndStatusRates() {
+    LatencyStats stats = new LatencyStats();
+    for (long ms = 1; ms <= 100; ms++) {
+      stats.record(ms <= 10 ? 409 : 200, ms * 1_000_000);
+    }
+
+    LatencyStats.Summary summary = stats.summarize(2.0);
+
+    assertEquals(100, summary.requests());
+    assertEquals(50.0, summary.throughputPerSecond());
+    assertEquals(50.0, summary.p50Ms());
+    assertEquals(99.0, summary.p99Ms());
+    assertEquals(100.0, summary.maxMs());
+    assertEquals(0.1, summary.rate409());
+    assertEquals(0.0, summary.rate400());
+  }
+}
@@ -0,0 +1,73 @@
+package com.gic.cinemas.loadtest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+class ShowPopularityTest {
+
+  @Test
+  void singleShowIsAlwaysPicked() {
+    ShowPopularity popularity = new ShowPopularity(1, 1.2);
+
+    assertEquals(0, popularity.pick(fixed(0.0)));
+    assertEquals(0, popularity.pick(fixed(0.5)));
+    assertEquals(0, popularity.pick(fixed(Math.nextDown(1.0))));
+  }
+
+  @Test
+  void zeroSkewSplitsTheUnitIntervalEvenly() {
+    ShowPopularity popularity = new ShowPopularity(4, 0);
+
+    assertEquals(0, popularity.pick(fixed(0.0)));
+    assertEquals(0, popularity.pick(fixed(0.25)));
+    assertEquals(1, popularity.pick(fixed(Math.nextUp(0.25))));
+    assertEquals(2, popularity.pick(fixed(0.74)));
+    assertEquals(3, popularity.pick(fixed(0.76)));
+    assertEquals(3, popularity.pick(fixed(Math.nextDown(1.0))));
+  }
+
+  @Test
+  void weightsFallOffAsOneOverRank() {
+    // weights 1, 1/2, 1/3: cumulative 6/11, 9/11, 1
+    ShowPopularity popularity = new ShowPopularity(3, 1);
+
+    assertEquals(0, popularity.pick(fixed(6 / 11.0 - 1e-9)));
+    assertEquals(1, popularity.pick(fixed(6 / 11.0 + 1e-9)));
+    assertEquals(1, popularity.pick(fixed(9 / 11.0 - 1e-9)));
+    assertEquals(2, popularity.pick(fixed(9 / 11.0 + 1e-9)));
+    assertEquals(2, popularity.pick(fixed(Math.nextDown(1.0))));
+  }
+
+  @Test
+  void premiereDrawsItsShareOfPicks() {
+    ShowPopularity popularity = new ShowPopularity(3, 1);
+    SplittableRandom random = new SplittableRandom(7);
+    int picks = 110_000;
+    int[] counts = new int[3];
+    for (int i = 0; i < picks; i++) {
+      counts[popularity.pick(random)]++;
+    }
+
+    assertEquals(6 / 11.0, counts[0] / (double) picks, 0.01);
+    assertEquals(3 / 11.0, counts[1] / (double) picks, 0.01);
+    assertEquals(2 / 11.0, counts[2] / (double) picks, 0.01);
+  }
+
+  /** A generator whose every {@code nextDouble()} is {@code value}. */
+  private static RandomGenerator fixed(double value) {
+    return new RandomGenerator() {
+      @Override
+      public long nextLong() {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public double nextDouble() {
+        return value;
+      }
+    };
+  }
+}
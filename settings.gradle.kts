@@ -1,2 +1,2 @@
 rootProject.name = "gic-cinemas"
-include("backend", "cli", "common")
+include("backend", "cli", "common", "benchmarks", "loadtest")